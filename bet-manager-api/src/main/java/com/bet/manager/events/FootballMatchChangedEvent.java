@@ -0,0 +1,47 @@
+package com.bet.manager.events;
+
+import com.bet.manager.model.projection.FootballMatchView;
+import org.springframework.context.ApplicationEvent;
+
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Published by {@link com.bet.manager.services.FootballMatchService} when matches are created, updated or deleted.
+ * The listeners are notified after the transaction commits.
+ */
+public class FootballMatchChangedEvent extends ApplicationEvent {
+
+	private static final long serialVersionUID = -3279471926618012455L;
+
+	private final List<MatchChange> changes;
+	private final boolean allMatches;
+
+	public FootballMatchChangedEvent(Object source, List<MatchChange> changes) {
+		this(source, changes, false);
+	}
+
+	private FootballMatchChangedEvent(Object source, List<MatchChange> changes, boolean allMatches) {
+		super(source);
+		this.changes = Collections.unmodifiableList(changes);
+		this.allMatches = allMatches;
+	}
+
+	/**
+	 * Event for change which cannot be described match by match, e.g. deleting all of them.
+	 */
+	public static FootballMatchChangedEvent allMatches(Object source) {
+		return new FootballMatchChangedEvent(source, Collections.emptyList(), true);
+	}
+
+	public List<MatchChange> getChanges() {
+		return changes;
+	}
+
+	/**
+	 * @return true if every match could be changed and {@link #getChanges()} is not complete
+	 */
+	public boolean isAllMatches() {
+		return allMatches;
+	}
+}
@@ -0,0 +1,39 @@
+package com.bet.manager.events;
+
+import com.bet.manager.model.projection.FootballMatchView;
+
+/**
+ * State of a single match before and after a change. Before is null for created
+ * match and after is null for deleted one.
+ */
+public final class MatchChange {
+
+	private final FootballMatchView before;
+	private final FootballMatchView after;
+
+	public MatchChange(FootballMatchView before, FootballMatchView after) {
+		this.before = before;
+		this.after = after;
+	}
+
+	public FootballMatchView getBefore() {
+		return before;
+	}
+
+	public FootballMatchView getAfter() {
+		return after;
+	}
+
+	public boolean isCreated() {
+		return before == null;
+	}
+
+	public boolean isDeleted() {
+		return after == null;
+	}
+
+	@Override
+	public String toString() {
+		return "MatchChange [before=" + before + ", after=" + after + " ]";
+	}
+}
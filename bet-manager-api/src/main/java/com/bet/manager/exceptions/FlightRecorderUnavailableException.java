@@ -0,0 +1,16 @@
+package com.bet.manager.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class FlightRecorderUnavailableException extends RuntimeException {
+
+	public FlightRecorderUnavailableException(String message) {
+		super(message);
+	}
+
+	public FlightRecorderUnavailableException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
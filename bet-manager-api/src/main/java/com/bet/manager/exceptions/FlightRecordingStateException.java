@@ -0,0 +1,12 @@
+package com.bet.manager.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.CONFLICT)
+public class FlightRecordingStateException extends RuntimeException {
+
+	public FlightRecordingStateException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,16 @@
+package com.bet.manager.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.BAD_REQUEST)
+public class InvalidSearchParameterException extends RuntimeException {
+
+	public InvalidSearchParameterException(String message, Throwable cause) {
+		super(message, cause);
+	}
+
+	public InvalidSearchParameterException(String message) {
+		super(message);
+	}
+}
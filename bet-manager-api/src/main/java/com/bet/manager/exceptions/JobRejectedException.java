@@ -0,0 +1,12 @@
+package com.bet.manager.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.SERVICE_UNAVAILABLE)
+public class JobRejectedException extends RuntimeException {
+
+	public JobRejectedException(String message, Throwable cause) {
+		super(message, cause);
+	}
+}
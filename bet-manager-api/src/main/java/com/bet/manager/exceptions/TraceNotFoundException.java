@@ -0,0 +1,12 @@
+package com.bet.manager.exceptions;
+
+import org.springframework.http.HttpStatus;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+@ResponseStatus(HttpStatus.NOT_FOUND)
+public class TraceNotFoundException extends RuntimeException {
+
+	public TraceNotFoundException(String message) {
+		super(message);
+	}
+}
@@ -0,0 +1,61 @@
+package com.bet.manager.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.lang.management.ManagementFactory;
+import java.lang.management.ThreadMXBean;
+
+/**
+ * Measures the heap allocated by the request thread while serving each REST endpoint,
+ * including the response serialization, and publish it as histogram in the {@link MetricRegistry}.
+ */
+public class AllocationMetricsInterceptor extends HandlerInterceptorAdapter {
+
+	private static final String ALLOCATED_BYTES_ATTR = AllocationMetricsInterceptor.class.getName() + ".allocatedBytes";
+
+	@Autowired
+	private MetricRegistry metricRegistry;
+
+	private final com.sun.management.ThreadMXBean threadMXBean;
+
+	public AllocationMetricsInterceptor() {
+		ThreadMXBean bean = ManagementFactory.getThreadMXBean();
+
+		this.threadMXBean = bean instanceof com.sun.management.ThreadMXBean &&
+				((com.sun.management.ThreadMXBean) bean).isThreadAllocatedMemorySupported() ?
+				(com.sun.management.ThreadMXBean) bean : null;
+	}
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+		if (threadMXBean != null && handler instanceof HandlerMethod)
+			request.setAttribute(ALLOCATED_BYTES_ATTR, allocatedBytes());
+
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+
+		Long allocatedBefore = (Long) request.getAttribute(ALLOCATED_BYTES_ATTR);
+
+		if (allocatedBefore == null)
+			return;
+
+		HandlerMethod handlerMethod = (HandlerMethod) handler;
+
+		metricRegistry.histogram(MetricRegistry.name(handlerMethod.getBeanType(),
+				handlerMethod.getMethod().getName(), "allocated-bytes"))
+				.update(allocatedBytes() - allocatedBefore);
+	}
+
+	private long allocatedBytes() {
+		return threadMXBean.getThreadAllocatedBytes(Thread.currentThread().getId());
+	}
+}
@@ -0,0 +1,37 @@
+package com.bet.manager.metrics;
+
+import com.bet.manager.core.CrawlTelemetry;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.health.HealthCheck;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Health of single crawled source based on the recent requests to it. The source is never crawled by the check.
+ */
+public class CrawlSourceHealthCheck extends HealthCheck {
+
+	private static final double MAX_ERROR_RATIO = 0.5;
+
+	private final CrawlTelemetry telemetry;
+
+	public CrawlSourceHealthCheck(CrawlTelemetry telemetry) {
+		this.telemetry = telemetry;
+	}
+
+	@Override
+	protected Result check() throws Exception {
+		if (telemetry.getLatency().getCount() == 0)
+			return Result.healthy("No requests to %s yet", telemetry.getHost());
+
+		double errorRatio = telemetry.errorRatio().getValue();
+		if (errorRatio > MAX_ERROR_RATIO)
+			return Result.unhealthy("Error ratio of %s is %s, last error: %s", telemetry.getHost(), errorRatio,
+					telemetry.getLastError());
+
+		Snapshot latency = telemetry.getLatency().getSnapshot();
+		return Result.healthy("Error ratio of %s is %s, median latency %s ms, p99 %s ms", telemetry.getHost(), errorRatio,
+				TimeUnit.NANOSECONDS.toMillis((long) latency.getMedian()),
+				TimeUnit.NANOSECONDS.toMillis((long) latency.get99thPercentile()));
+	}
+}
@@ -0,0 +1,48 @@
+package com.bet.manager.metrics;
+
+import com.codahale.metrics.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.web.method.HandlerMethod;
+import org.springframework.web.servlet.handler.HandlerInterceptorAdapter;
+
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Times each REST endpoint, including the response serialization, and publish it as timer in the
+ * {@link MetricRegistry}. The requests failed with exception which is not resolved are counted by separate meter.
+ */
+public class EndpointTimerInterceptor extends HandlerInterceptorAdapter {
+
+	private static final String START_NANOS_ATTR = EndpointTimerInterceptor.class.getName() + ".startNanos";
+
+	@Autowired
+	private MetricRegistry metricRegistry;
+
+	@Override
+	public boolean preHandle(HttpServletRequest request, HttpServletResponse response, Object handler) {
+
+		if (handler instanceof HandlerMethod)
+			request.setAttribute(START_NANOS_ATTR, System.nanoTime());
+
+		return true;
+	}
+
+	@Override
+	public void afterCompletion(HttpServletRequest request, HttpServletResponse response, Object handler, Exception ex) {
+
+		Long start = (Long) request.getAttribute(START_NANOS_ATTR);
+
+		if (start == null)
+			return;
+
+		HandlerMethod handlerMethod = (HandlerMethod) handler;
+		String name = MetricRegistry.name(handlerMethod.getBeanType(), handlerMethod.getMethod().getName());
+
+		metricRegistry.timer(MetricRegistry.name(name, "requests")).update(System.nanoTime() - start, TimeUnit.NANOSECONDS);
+
+		if (ex != null)
+			metricRegistry.meter(MetricRegistry.name(name, "errors")).mark();
+	}
+}
@@ -1,5 +1,7 @@
 package com.bet.manager.metrics;
 
+import com.bet.manager.core.CrawlSource;
+import com.bet.manager.core.CrawlTelemetry;
 import com.codahale.metrics.MetricRegistry;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import com.codahale.metrics.servlets.HealthCheckServlet;
@@ -24,8 +26,15 @@ public class HealthChecksSpringContextListener extends HealthCheckServlet.Contex
 	@Override
 	public void contextInitialized(ServletContextEvent event) {
 		this.context = WebApplicationContextUtils.getRequiredWebApplicationContext(event.getServletContext());
-		event.getServletContext().setAttribute(HealthCheckServlet.HEALTH_CHECK_REGISTRY,
-				context.getBean(HealthCheckRegistry.class));
+		HealthCheckRegistry healthCheckRegistry = context.getBean(HealthCheckRegistry.class);
+		// The sources served from the same host, like a stub server, share the health check
+		for (CrawlSource source : CrawlSource.values()) {
+			String name = "crawl-source-" + source.getHost();
+			if (!healthCheckRegistry.getNames().contains(name))
+				healthCheckRegistry.register(name, new CrawlSourceHealthCheck(CrawlTelemetry.forHost(source.getHost())));
+		}
+
+		event.getServletContext().setAttribute(HealthCheckServlet.HEALTH_CHECK_REGISTRY, healthCheckRegistry);
 		event.getServletContext().setAttribute(MetricsServlet.METRICS_REGISTRY,
 				context.getBean(MetricRegistry.class));
 	}
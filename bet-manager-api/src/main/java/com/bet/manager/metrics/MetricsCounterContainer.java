@@ -1,86 +1,104 @@
 package com.bet.manager.metrics;
 
 import com.bet.manager.services.FootballMatchService;
-import com.codahale.metrics.Counter;
 import com.codahale.metrics.MetricRegistry;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import javax.annotation.PostConstruct;
 import javax.inject.Inject;
+import java.util.concurrent.TimeUnit;
 
+/**
+ * Meters of the outcomes of the matches, the metadata and the predictions. Besides the rates they count
+ * the outcomes of the recent window for the success ratios, so a degraded source shows up within minutes.
+ */
 @Service
 public class MetricsCounterContainer {
 
+	private static final int WINDOW_BUCKETS = 15;
+
 	@Inject
 	private MetricRegistry metricRegistry;
 
-	private Counter matchesSuccess;
-	private Counter matchesFailures;
+	@Value("${metrics.success.window.minutes}")
+	private long windowMinutes;
+
+	private WindowedMeter matchesSuccess;
+	private WindowedMeter matchesFailures;
 
-	private Counter metadataSuccess;
-	private Counter metadataFailures;
+	private WindowedMeter metadataSuccess;
+	private WindowedMeter metadataFailures;
 
-	private Counter predictionsSuccess;
-	private Counter predictionsFailures;
+	private WindowedMeter predictionsSuccess;
+	private WindowedMeter predictionsFailures;
 
 	@PostConstruct
 	public void init() {
 
-		matchesSuccess = metricRegistry.counter(MetricRegistry.name(FootballMatchService.class, "matches-successes"));
-		matchesFailures = metricRegistry.counter(MetricRegistry.name(FootballMatchService.class, "matches-failures"));
+		matchesSuccess = windowedMeter(MetricRegistry.name(FootballMatchService.class, "matches-successes"));
+		matchesFailures = windowedMeter(MetricRegistry.name(FootballMatchService.class, "matches-failures"));
+
+		metadataSuccess = windowedMeter(MetricRegistry.name(FootballMatchService.class, "meta-data-successes"));
+		metadataFailures = windowedMeter(MetricRegistry.name(FootballMatchService.class, "meta-data-failures"));
 
-		metadataSuccess = metricRegistry.counter(MetricRegistry.name(FootballMatchService.class, "meta-data-successes"));
-		metadataFailures = metricRegistry.counter(MetricRegistry.name(FootballMatchService.class, "meta-data-failures"));
+		predictionsSuccess = windowedMeter(MetricRegistry.name(FootballMatchService.class, "predictions-successes"));
+		predictionsFailures = windowedMeter(MetricRegistry.name(FootballMatchService.class, "predictions-failures"));
+	}
 
-		predictionsSuccess = metricRegistry.counter(MetricRegistry.name(FootballMatchService.class, "predictions-successes"));
-		predictionsFailures = metricRegistry.counter(MetricRegistry.name(FootballMatchService.class, "predictions-failures"));
+	private WindowedMeter windowedMeter(String name) {
+		return metricRegistry.register(name, new WindowedMeter(windowMinutes, TimeUnit.MINUTES, WINDOW_BUCKETS));
 	}
 
-	public Counter getMatchesSuccess() {
+	public WindowedMeter getMatchesSuccess() {
 		return matchesSuccess;
 	}
 
-	public Counter getMatchesFailures() {
+	public WindowedMeter getMatchesFailures() {
 		return matchesFailures;
 	}
 
-	public Counter getMetadataSuccess() {
+	public WindowedMeter getMetadataSuccess() {
 		return metadataSuccess;
 	}
 
-	public Counter getMetadataFailures() {
+	public WindowedMeter getMetadataFailures() {
 		return metadataFailures;
 	}
 
-	public Counter getPredictionsSuccess() {
+	public WindowedMeter getPredictionsSuccess() {
 		return predictionsSuccess;
 	}
 
-	public Counter getPredictionsFailures() {
+	public WindowedMeter getPredictionsFailures() {
 		return predictionsFailures;
 	}
 
 	public void incMatchesSuccesses() {
-		matchesSuccess.inc();
+		matchesSuccess.mark();
+	}
+
+	public void incMatchesSuccesses(long count) {
+		matchesSuccess.mark(count);
 	}
 
 	public void incMatchesFailures() {
-		matchesFailures.inc();
+		matchesFailures.mark();
 	}
 
 	public void incMetadataSuccesses() {
-		metadataSuccess.inc();
+		metadataSuccess.mark();
 	}
 
 	public void incMetadataFailures() {
-		metadataFailures.inc();
+		metadataFailures.mark();
 	}
 
 	public void incPredictionsSuccesses() {
-		predictionsSuccess.inc();
+		predictionsSuccess.mark();
 	}
 
 	public void incPredictionsFailures() {
-		predictionsFailures.inc();
+		predictionsFailures.mark();
 	}
 }
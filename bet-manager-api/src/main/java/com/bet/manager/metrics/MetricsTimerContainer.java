@@ -0,0 +1,60 @@
+package com.bet.manager.metrics;
+
+import com.bet.manager.services.FootballMatchService;
+import com.bet.manager.services.UpdateManagerService;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.inject.Inject;
+
+/**
+ * Timers of the update stages. The crawling is timed by {@link com.bet.manager.core.WebCrawler} itself
+ * and the REST endpoints by {@link EndpointTimerInterceptor}.
+ */
+@Service
+public class MetricsTimerContainer {
+
+	@Inject
+	private MetricRegistry metricRegistry;
+
+	private Timer parse;
+	private Histogram parsedMatches;
+
+	private Timer metadata;
+	private Timer prediction;
+	private Timer dbSave;
+
+	@PostConstruct
+	public void init() {
+
+		parse = metricRegistry.timer(MetricRegistry.name(UpdateManagerService.class, "parse"));
+		parsedMatches = metricRegistry.histogram(MetricRegistry.name(UpdateManagerService.class, "parsed-matches"));
+
+		metadata = metricRegistry.timer(MetricRegistry.name(UpdateManagerService.class, "metadata"));
+		prediction = metricRegistry.timer(MetricRegistry.name(UpdateManagerService.class, "prediction"));
+		dbSave = metricRegistry.timer(MetricRegistry.name(FootballMatchService.class, "db-save"));
+	}
+
+	public Timer getParse() {
+		return parse;
+	}
+
+	public Histogram getParsedMatches() {
+		return parsedMatches;
+	}
+
+	public Timer getMetadata() {
+		return metadata;
+	}
+
+	public Timer getPrediction() {
+		return prediction;
+	}
+
+	public Timer getDbSave() {
+		return dbSave;
+	}
+}
@@ -0,0 +1,41 @@
+package com.bet.manager.metrics;
+
+import com.bet.manager.core.PrometheusTextWriter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.servlets.MetricsServlet;
+
+import javax.servlet.ServletException;
+import javax.servlet.http.HttpServlet;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
+import java.io.Writer;
+
+/**
+ * Publishes the metrics registry set by {@link HealthChecksSpringContextListener} in the Prometheus text format.
+ */
+public class PrometheusServlet extends HttpServlet {
+
+	private static final String CONTENT_TYPE = "text/plain; version=0.0.4; charset=utf-8";
+
+	private final PrometheusTextWriter textWriter = new PrometheusTextWriter();
+
+	private transient MetricRegistry registry;
+
+	@Override
+	public void init() throws ServletException {
+		registry = (MetricRegistry) getServletContext().getAttribute(MetricsServlet.METRICS_REGISTRY);
+		if (registry == null)
+			throw new ServletException("No metrics registry in the servlet context");
+	}
+
+	@Override
+	protected void doGet(HttpServletRequest req, HttpServletResponse resp) throws IOException {
+		resp.setContentType(CONTENT_TYPE);
+		resp.setHeader("Cache-Control", "must-revalidate,no-cache,no-store");
+
+		Writer writer = resp.getWriter();
+		textWriter.write(registry, writer);
+		writer.flush();
+	}
+}
@@ -1,25 +1,28 @@
 package com.bet.manager.metrics;
 
-import com.codahale.metrics.Counter;
 import com.codahale.metrics.RatioGauge;
 
+/**
+ * Success ratio of the outcomes in the time window of the meters, so recent failures are not diluted by
+ * the whole uptime. Without outcomes in the window the ratio is one.
+ */
 public class SuccessRatioGauge extends RatioGauge {
 
-	private final Counter success;
-	private final Counter fail;
+	private final WindowedMeter success;
+	private final WindowedMeter fail;
 
-	public SuccessRatioGauge(Counter success, Counter fail) {
+	public SuccessRatioGauge(WindowedMeter success, WindowedMeter fail) {
 		this.success = success;
 		this.fail = fail;
 	}
 
 	@Override
 	protected Ratio getRatio() {
-		long successes = this.success.getCount();
-		long failures = this.fail.getCount();
+		long successes = this.success.getWindowCount();
+		long failures = this.fail.getWindowCount();
 
-		double nominator = (double) successes;
-		double denominator = (double) (successes + failures);
+		double nominator = successes;
+		double denominator = successes + failures;
 
 		if (nominator == 0 && denominator == 0)
 			nominator = 1;
@@ -27,4 +30,8 @@ public class SuccessRatioGauge extends RatioGauge {
 		denominator = denominator == 0 ? 1 : denominator;
 		return Ratio.of(nominator, denominator);
 	}
+
+	public long getWindowMinutes() {
+		return success.getWindowMinutes();
+	}
 }
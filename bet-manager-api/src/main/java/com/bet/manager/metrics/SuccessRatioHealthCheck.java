@@ -1,13 +1,12 @@
 package com.bet.manager.metrics;
 
-import com.codahale.metrics.RatioGauge;
 import com.codahale.metrics.health.HealthCheck;
 
 public class SuccessRatioHealthCheck extends HealthCheck {
 
-	final RatioGauge successRatio;
+	final SuccessRatioGauge successRatio;
 
-	public SuccessRatioHealthCheck(RatioGauge successRatio) {
+	public SuccessRatioHealthCheck(SuccessRatioGauge successRatio) {
 		this.successRatio = successRatio;
 	}
 
@@ -15,9 +14,10 @@ public class SuccessRatioHealthCheck extends HealthCheck {
 	protected Result check() throws Exception {
 		double ratio = successRatio.getValue();
 		if (ratio >= 0.2) {
-			return Result.healthy("Success ratio is %s", ratio);
+			return Result.healthy("Success ratio of the last %s minutes is %s", successRatio.getWindowMinutes(), ratio);
 		}
 
-		return Result.unhealthy("Bet manager api is UNHEALTHY, success ratio is %s", ratio);
+		return Result.unhealthy("Bet manager api is UNHEALTHY, success ratio of the last %s minutes is %s",
+				successRatio.getWindowMinutes(), ratio);
 	}
 }
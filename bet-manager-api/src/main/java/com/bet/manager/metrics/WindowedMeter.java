@@ -0,0 +1,76 @@
+package com.bet.manager.metrics;
+
+import com.codahale.metrics.Clock;
+import com.codahale.metrics.Meter;
+
+import java.util.Arrays;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Meter which also counts the marks of a sliding time window, in a ring of buckets. Unlike the decaying
+ * rates the count drops to zero when nothing is marked for the whole window.
+ */
+public class WindowedMeter extends Meter {
+
+	private final Clock clock;
+	private final long bucketNanos;
+	private final long windowMinutes;
+
+	private final long[] counts;
+	private final long[] bucketIds;
+
+	/**
+	 * @param buckets number of the buckets the window is divided to, the window slides by one bucket
+	 */
+	public WindowedMeter(long window, TimeUnit unit, int buckets) {
+		this(window, unit, buckets, Clock.defaultClock());
+	}
+
+	public WindowedMeter(long window, TimeUnit unit, int buckets, Clock clock) {
+		super(clock);
+		if (window <= 0 || buckets <= 0)
+			throw new IllegalArgumentException("Window and buckets should be positive");
+
+		this.clock = clock;
+		this.bucketNanos = Math.max(1, unit.toNanos(window) / buckets);
+		this.windowMinutes = unit.toMinutes(window);
+		this.counts = new long[buckets];
+		this.bucketIds = new long[buckets];
+		Arrays.fill(bucketIds, Long.MIN_VALUE);
+	}
+
+	@Override
+	public void mark(long n) {
+		super.mark(n);
+
+		long bucket = Math.floorDiv(clock.getTick(), bucketNanos);
+		int index = (int) Math.floorMod(bucket, (long) counts.length);
+
+		synchronized (counts) {
+			if (bucketIds[index] != bucket) {
+				bucketIds[index] = bucket;
+				counts[index] = 0;
+			}
+			counts[index] += n;
+		}
+	}
+
+	/**
+	 * @return number of the marks in the window
+	 */
+	public long getWindowCount() {
+		long oldest = Math.floorDiv(clock.getTick(), bucketNanos) - counts.length;
+
+		long count = 0;
+		synchronized (counts) {
+			for (int i = 0; i < counts.length; i++)
+				if (bucketIds[i] > oldest)
+					count += counts[i];
+		}
+		return count;
+	}
+
+	public long getWindowMinutes() {
+		return windowMinutes;
+	}
+}
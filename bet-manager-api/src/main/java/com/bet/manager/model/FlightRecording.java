@@ -0,0 +1,53 @@
+package com.bet.manager.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import java.time.Instant;
+
+/**
+ * Flight recording started through the api, the file is known once the recording is stopped.
+ */
+public class FlightRecording {
+
+	private final String name;
+	private final String settings;
+
+	@JsonFormat(shape = JsonFormat.Shape.STRING)
+	private final Instant started;
+
+	@JsonFormat(shape = JsonFormat.Shape.STRING)
+	private volatile Instant stopped;
+
+	private volatile String file;
+
+	public FlightRecording(String name, String settings, Instant started) {
+		this.name = name;
+		this.settings = settings;
+		this.started = started;
+	}
+
+	public void stopped(String file) {
+		this.stopped = Instant.now();
+		this.file = file;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	public String getSettings() {
+		return settings;
+	}
+
+	public Instant getStarted() {
+		return started;
+	}
+
+	public Instant getStopped() {
+		return stopped;
+	}
+
+	public String getFile() {
+		return file;
+	}
+}
@@ -0,0 +1,24 @@
+package com.bet.manager.model;
+
+/**
+ * Outcome of importing single match.
+ */
+public enum ImportOutcome {
+
+	CREATED,
+
+	/**
+	 * The match already exists in the database
+	 */
+	DUPLICATE,
+
+	/**
+	 * The line cannot be parsed or the match is not valid
+	 */
+	INVALID,
+
+	/**
+	 * The batch with the match could not be saved
+	 */
+	FAILED
+}
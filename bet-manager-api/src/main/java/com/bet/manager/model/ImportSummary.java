@@ -0,0 +1,77 @@
+package com.bet.manager.model;
+
+import java.io.Serializable;
+import java.util.ArrayList;
+import java.util.EnumMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Counts of the import outcomes together with the details of the matches which were not created.
+ * Only the first errors are kept, so the summary of huge import stays small.
+ */
+public class ImportSummary implements Serializable {
+
+	private static final long serialVersionUID = -6046526130916412743L;
+
+	private final Map<ImportOutcome, Long> outcomes = new EnumMap<>(ImportOutcome.class);
+	private final List<ItemError> errors = new ArrayList<>();
+	private final int maxErrors;
+
+	public ImportSummary(int maxErrors) {
+		this.maxErrors = maxErrors;
+
+		for (ImportOutcome outcome : ImportOutcome.values())
+			outcomes.put(outcome, 0L);
+	}
+
+	public void add(long line, ImportOutcome outcome, String message) {
+		outcomes.merge(outcome, 1L, Long::sum);
+
+		if (outcome != ImportOutcome.CREATED && errors.size() < maxErrors)
+			errors.add(new ItemError(line, outcome, message));
+	}
+
+	public Map<ImportOutcome, Long> getOutcomes() {
+		return outcomes;
+	}
+
+	public long getTotal() {
+		return outcomes.values().stream().mapToLong(Long::longValue).sum();
+	}
+
+	public List<ItemError> getErrors() {
+		return errors;
+	}
+
+	public boolean isErrorsTruncated() {
+		return getTotal() - outcomes.get(ImportOutcome.CREATED) > errors.size();
+	}
+
+	public static class ItemError implements Serializable {
+
+		private static final long serialVersionUID = 4410591807390751826L;
+
+		private final long line;
+		private final ImportOutcome outcome;
+		private final String message;
+
+		public ItemError(long line, ImportOutcome outcome, String message) {
+			this.line = line;
+			this.outcome = outcome;
+			this.message = message;
+		}
+
+		public long getLine() {
+			return line;
+		}
+
+		public ImportOutcome getOutcome() {
+			return outcome;
+		}
+
+		public String getMessage() {
+			return message;
+		}
+	}
+}
@@ -0,0 +1,154 @@
+package com.bet.manager.model;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Progress of a long running task. The task reports the processed items and checks
+ * {@link #isCancelRequested()} between them, the rest is maintained by the job manager.
+ */
+public class Job {
+
+	private final String id;
+	private final String type;
+
+	@JsonFormat(shape = JsonFormat.Shape.STRING)
+	private final Instant submitted = Instant.now();
+
+	private volatile JobStatus status = JobStatus.QUEUED;
+
+	@JsonFormat(shape = JsonFormat.Shape.STRING)
+	private volatile Instant started;
+
+	@JsonFormat(shape = JsonFormat.Shape.STRING)
+	private volatile Instant finished;
+
+	private volatile String error;
+	private volatile boolean cancelRequested;
+
+	private final AtomicLong total = new AtomicLong(-1);
+	private final AtomicLong done = new AtomicLong();
+	private final AtomicLong failed = new AtomicLong();
+
+	public Job(String id, String type) {
+		this.id = id;
+		this.type = type;
+	}
+
+	public void setTotal(long total) {
+		this.total.set(total);
+	}
+
+	public void itemDone() {
+		done.incrementAndGet();
+	}
+
+	public void itemsDone(long items) {
+		done.addAndGet(items);
+	}
+
+	public void itemFailed() {
+		failed.incrementAndGet();
+	}
+
+	public boolean isCancelRequested() {
+		return cancelRequested;
+	}
+
+	public void requestCancel() {
+		cancelRequested = true;
+	}
+
+	public void started() {
+		started = Instant.now();
+		status = JobStatus.RUNNING;
+	}
+
+	public void finished(JobStatus status, String error) {
+		this.error = error;
+		this.finished = Instant.now();
+		this.status = status;
+	}
+
+	public String getId() {
+		return id;
+	}
+
+	public String getType() {
+		return type;
+	}
+
+	public JobStatus getStatus() {
+		return status;
+	}
+
+	public Instant getSubmitted() {
+		return submitted;
+	}
+
+	public Instant getStarted() {
+		return started;
+	}
+
+	public Instant getFinished() {
+		return finished;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	/**
+	 * @return number of items to process or -1 if not known yet
+	 */
+	public long getTotal() {
+		return total.get();
+	}
+
+	public long getDone() {
+		return done.get();
+	}
+
+	public long getFailed() {
+		return failed.get();
+	}
+
+	/**
+	 * @return processed items per second since the job started
+	 */
+	public double getThroughput() {
+		long elapsed = elapsedMillis();
+		return elapsed == 0 ? 0 : (getDone() + getFailed()) * 1000.0 / elapsed;
+	}
+
+	/**
+	 * @return estimated seconds to finish or null if it cannot be estimated
+	 */
+	public Long getEtaSeconds() {
+		double throughput = getThroughput();
+		long remaining = getTotal() - getDone() - getFailed();
+
+		if (status != JobStatus.RUNNING || getTotal() < 0 || throughput == 0)
+			return null;
+
+		return (long) Math.ceil(Math.max(remaining, 0) / throughput);
+	}
+
+	@JsonIgnore
+	public long elapsedMillis() {
+		if (started == null)
+			return 0;
+
+		return Duration.between(started, finished == null ? Instant.now() : finished).toMillis();
+	}
+
+	@Override
+	public String toString() {
+		return "Job [id=" + id + ", type=" + type + ", status=" + status +
+				", done=" + getDone() + ", failed=" + getFailed() + ", total=" + getTotal() + " ]";
+	}
+}
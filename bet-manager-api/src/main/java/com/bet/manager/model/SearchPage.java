@@ -0,0 +1,28 @@
+package com.bet.manager.model;
+
+import java.io.Serializable;
+import java.util.List;
+
+public class SearchPage<T> implements Serializable {
+
+	private static final long serialVersionUID = -3106446587302418519L;
+
+	private final List<T> items;
+	private final String continuationToken;
+
+	public SearchPage(List<T> items, String continuationToken) {
+		this.items = items;
+		this.continuationToken = continuationToken;
+	}
+
+	public List<T> getItems() {
+		return items;
+	}
+
+	/**
+	 * @return token pointing after the last item of the page or null if there are no more items
+	 */
+	public String getContinuationToken() {
+		return continuationToken;
+	}
+}
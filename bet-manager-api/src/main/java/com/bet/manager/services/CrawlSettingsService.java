@@ -0,0 +1,59 @@
+package com.bet.manager.services;
+
+import com.bet.manager.core.CrawlSource;
+import com.bet.manager.core.WebCrawler;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+
+/**
+ * Applies the base urls of the sources and the sleep between the crawled pages from the configuration.
+ */
+@Service
+public class CrawlSettingsService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(CrawlSettingsService.class);
+
+	@Value("${crawl.bundesliga.base.url}")
+	private String bundesligaBaseUrl;
+
+	@Value("${crawl.espnfc.base.url}")
+	private String espnfcBaseUrl;
+
+	@Value("${crawl.resultdb.base.url}")
+	private String resultDBBaseUrl;
+
+	@Value("${crawl.football-data.base.url}")
+	private String footballDataBaseUrl;
+
+	@Value("${crawl.sleep.min.millis}")
+	private int minSleepMillis;
+
+	@Value("${crawl.sleep.max.millis}")
+	private int maxSleepMillis;
+
+	@PostConstruct
+	public void init() {
+
+		CrawlSource.BUNDESLIGA.setBaseUrl(bundesligaBaseUrl);
+		CrawlSource.ESPNFC.setBaseUrl(espnfcBaseUrl);
+		CrawlSource.RESULTDB.setBaseUrl(resultDBBaseUrl);
+		CrawlSource.FOOTBALL_DATA.setBaseUrl(footballDataBaseUrl);
+
+		for (CrawlSource source : CrawlSource.values()) {
+			if (!source.getBaseUrl().equals(source.getDefaultBaseUrl()))
+				LOG.warn("Crawling {} from {}", source, source.getBaseUrl());
+		}
+
+		WebCrawler.setSleep(minSleepMillis, maxSleepMillis);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		CrawlSource.resetBaseUrls();
+	}
+}
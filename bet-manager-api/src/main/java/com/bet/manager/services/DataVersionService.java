@@ -0,0 +1,35 @@
+package com.bet.manager.services;
+
+import com.bet.manager.events.FootballMatchChangedEvent;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Version of the matches data used as strong ETag of the read endpoints. The version is incremented
+ * after every committed change, the epoch makes the tags issued before restart invalid.
+ */
+@Service
+public class DataVersionService {
+
+	private final long epoch = System.currentTimeMillis();
+	private final AtomicLong version = new AtomicLong();
+
+	// After the cached responses are invalidated, new tag is never served with old response
+	@Order(Ordered.LOWEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMatchesChanged(FootballMatchChangedEvent event) {
+		increment();
+	}
+
+	public void increment() {
+		version.incrementAndGet();
+	}
+
+	public String etag() {
+		return "\"" + Long.toString(epoch, 36) + "-" + version.get() + "\"";
+	}
+}
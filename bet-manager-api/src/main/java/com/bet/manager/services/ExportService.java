@@ -0,0 +1,92 @@
+package com.bet.manager.services;
+
+import com.bet.manager.model.projection.FootballMatchView;
+import com.bet.manager.model.search.MatchSearchFilter;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.SerializationFeature;
+import org.hibernate.ScrollMode;
+import org.hibernate.ScrollableResults;
+import org.hibernate.SessionFactory;
+import org.hibernate.StatelessSession;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.persistence.EntityManagerFactory;
+import java.io.IOException;
+import java.io.OutputStream;
+
+/**
+ * Streams the matches as newline delimited JSON. The rows are read with forward only cursor of stateless
+ * session and written one by one, the memory used does not depend on the number of matches.
+ */
+@Service
+public class ExportService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ExportService.class);
+
+	@Autowired
+	private EntityManagerFactory entityManagerFactory;
+
+	@Autowired
+	private MetricRegistry metricRegistry;
+
+	@Value("${export.fetch.size}")
+	private int fetchSize;
+
+	private final ObjectMapper objectMapper = Jackson2ObjectMapperBuilder.json()
+			.featuresToDisable(SerializationFeature.FLUSH_AFTER_WRITE_VALUE, JsonGenerator.Feature.AUTO_CLOSE_TARGET)
+			.build();
+
+	private Meter exportedMatches;
+
+	@PostConstruct
+	public void init() {
+		exportedMatches = metricRegistry.meter(MetricRegistry.name(ExportService.class, "exported-matches"));
+	}
+
+	/**
+	 * Write the matches satisfying the filter ordered by year, round and id, one JSON object per line.
+	 *
+	 * @return number of written matches
+	 */
+	public long exportMatches(MatchSearchFilter filter, OutputStream out) throws IOException {
+
+		SessionFactory sessionFactory = entityManagerFactory.unwrap(SessionFactory.class);
+		long exported = 0;
+
+		try (StatelessSession session = sessionFactory.openStatelessSession();
+			 JsonGenerator generator = objectMapper.getFactory().createGenerator(out)) {
+
+			// Every value is followed by new line instead of separated with space
+			generator.setRootValueSeparator(null);
+
+			ScrollableResults results = SearchService.bindFilter(session.createQuery(
+					SearchService.searchQuery(SearchService.VIEW_SELECT, filter, null), FootballMatchView.class), filter)
+					.setReadOnly(true)
+					.setFetchSize(fetchSize)
+					.scroll(ScrollMode.FORWARD_ONLY);
+
+			try {
+				while (results.next()) {
+					objectMapper.writeValue(generator, results.get(0));
+					generator.writeRaw('\n');
+					exported++;
+				}
+			} finally {
+				results.close();
+				exportedMatches.mark(exported);
+			}
+		}
+
+		LOG.info("Exported {} matches with filter [{}]", exported, filter);
+		return exported;
+	}
+}
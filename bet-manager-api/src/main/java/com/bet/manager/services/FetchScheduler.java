@@ -0,0 +1,169 @@
+package com.bet.manager.services;
+
+import com.bet.manager.exceptions.JobRejectedException;
+import com.bet.manager.model.Job;
+import com.bet.manager.model.repository.FootballMatchRepository;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Plans the fetches around the kick-off times of the stored matches. While a match is played and
+ * until its result is expected the matches are fetched every live interval, otherwise every idle
+ * interval or at the next kick-off when it is earlier. The next fetch is planned from the start of the
+ * triggered fetch job. The scheduled fetches never exceed the daily budget, zero budget turns them off.
+ * Triggers merged into an already queued fetch are not charged.
+ */
+@Service
+public class FetchScheduler {
+
+	private static final Logger LOG = LoggerFactory.getLogger(FetchScheduler.class);
+
+	private static final Duration BUDGET_WINDOW = Duration.ofDays(1);
+
+	@Autowired
+	private PipelineCoordinator pipelineCoordinator;
+
+	@Autowired
+	private FootballMatchRepository footballMatchRepository;
+
+	@Autowired
+	private MetricRegistry metricRegistry;
+
+	@Value("${fetch.live.interval.minutes}")
+	private long liveIntervalMinutes;
+
+	@Value("${fetch.idle.interval.minutes}")
+	private long idleIntervalMinutes;
+
+	@Value("${fetch.match.duration.minutes}")
+	private long matchDurationMinutes;
+
+	@Value("${fetch.result.grace.minutes}")
+	private long resultGraceMinutes;
+
+	@Value("${fetch.budget.per.day}")
+	private int budgetPerDay;
+
+	// Times of the scheduled fetches in the last budget window
+	private final Deque<Instant> requests = new ArrayDeque<>();
+
+	private volatile Instant nextFetch = Instant.EPOCH;
+
+	// Fetch job the next fetch is planned from once it has run
+	private volatile Job fetchJob;
+
+	private Meter fetches;
+	private Meter overBudget;
+
+	@PostConstruct
+	public void init() {
+
+		if (budgetPerDay < 0)
+			throw new IllegalArgumentException("fetch.budget.per.day should not be negative, but is " + budgetPerDay);
+		if (budgetPerDay == 0)
+			LOG.warn("Fetch budget per day is zero, the scheduled fetches are turned off");
+
+		fetches = metricRegistry.meter(MetricRegistry.name(FetchScheduler.class, "fetches"));
+		overBudget = metricRegistry.meter(MetricRegistry.name(FetchScheduler.class, "over-budget"));
+
+		metricRegistry.register(MetricRegistry.name(FetchScheduler.class, "budget-remaining"),
+				(Gauge<Integer>) () -> remainingBudget(Instant.now()));
+		metricRegistry.register(MetricRegistry.name(FetchScheduler.class, "next-fetch-seconds"),
+				(Gauge<Long>) () -> Math.max(0, Duration.between(Instant.now(), nextFetch).getSeconds()));
+	}
+
+	@Scheduled(initialDelay = 5 * 1000, fixedDelay = 60 * 1000)
+	public void tick() {
+
+		Instant now = Instant.now();
+
+		Job job = fetchJob;
+		if (job != null) {
+			if (!job.getStatus().isFinished() && !job.isCancelRequested())
+				return;
+
+			fetchJob = null;
+			nextFetch = plan(job.getStarted() != null ? job.getStarted() : now);
+			LOG.info("Next fetch planned at {}", nextFetch);
+		}
+
+		if (now.isBefore(nextFetch))
+			return;
+
+		if (budgetPerDay == 0) {
+			LOG.debug("Scheduled fetch skipped, the fetch budget per day is zero");
+			return;
+		}
+
+		synchronized (requests) {
+			if (remainingBudget(now) == 0) {
+				overBudget.mark();
+				nextFetch = requests.peekFirst().plus(BUDGET_WINDOW);
+				LOG.warn("Fetch budget of {} per day is used up, next fetch at {}", budgetPerDay, nextFetch);
+				return;
+			}
+		}
+
+		PipelineCoordinator.Triggered triggered;
+		try {
+			triggered = pipelineCoordinator.submit(PipelineStage.FETCH);
+		} catch (JobRejectedException e) {
+			LOG.warn("Scheduled fetch rejected", e);
+			nextFetch = plan(now);
+			return;
+		}
+
+		if (!triggered.isMerged()) {
+			synchronized (requests) {
+				requests.addLast(now);
+			}
+			fetches.mark();
+		}
+
+		fetchJob = triggered.getJob();
+	}
+
+	private Instant plan(Instant now) {
+
+		LocalDateTime nowUtc = LocalDateTime.ofInstant(now, ZoneOffset.UTC);
+		Duration liveWindow = Duration.ofMinutes(matchDurationMinutes + resultGraceMinutes);
+		Instant idle = now.plus(Duration.ofMinutes(idleIntervalMinutes));
+
+		List<LocalDateTime> kickOffs = footballMatchRepository.findStartDatesBetween(
+				nowUtc.minus(liveWindow), LocalDateTime.ofInstant(idle, ZoneOffset.UTC));
+
+		if (kickOffs.isEmpty())
+			return idle;
+
+		// Started match whose result is still expected
+		if (!kickOffs.get(0).isAfter(nowUtc))
+			return now.plus(Duration.ofMinutes(liveIntervalMinutes));
+
+		return kickOffs.get(0).toInstant(ZoneOffset.UTC);
+	}
+
+	private int remainingBudget(Instant now) {
+		synchronized (requests) {
+			while (!requests.isEmpty() && !requests.peekFirst().plus(BUDGET_WINDOW).isAfter(now))
+				requests.removeFirst();
+
+			return Math.max(0, budgetPerDay - requests.size());
+		}
+	}
+}
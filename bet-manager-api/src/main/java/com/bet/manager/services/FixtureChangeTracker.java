@@ -0,0 +1,137 @@
+package com.bet.manager.services;
+
+import com.bet.manager.events.FootballMatchChangedEvent;
+import com.bet.manager.events.MatchChange;
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.entity.MatchStatus;
+import com.bet.manager.model.projection.FootballMatchView;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+
+/**
+ * Keeps the fetched fields of every known fixture, so the fixtures which did not change since the
+ * previous fetch are dropped before any database work. Changes made by anything else than fetch are
+ * tracked from the change events.
+ */
+@Service
+public class FixtureChangeTracker {
+
+	@Autowired
+	private MetricRegistry metricRegistry;
+
+	// Match summary to the fields of the fixture as stored
+	private final Map<String, FixtureState> states = new ConcurrentHashMap<>();
+
+	private Meter changedFixtures;
+	private Meter unchangedFixtures;
+
+	@PostConstruct
+	public void init() {
+		changedFixtures = metricRegistry.meter(MetricRegistry.name(FixtureChangeTracker.class, "changed"));
+		unchangedFixtures = metricRegistry.meter(MetricRegistry.name(FixtureChangeTracker.class, "unchanged"));
+	}
+
+	/**
+	 * @return the fixtures which are new or differ from the stored ones
+	 */
+	public List<FootballMatch> changed(List<FootballMatch> fixtures) {
+
+		List<FootballMatch> changed = fixtures.stream()
+				.filter(m -> !FixtureState.of(m).equals(states.get(m.getSummary())))
+				.collect(Collectors.toList());
+
+		changedFixtures.mark(changed.size());
+		unchangedFixtures.mark(fixtures.size() - changed.size());
+		return changed;
+	}
+
+	/**
+	 * Must be called only with the fixtures which are stored or found up to date, the failed ones are
+	 * compared again on the next fetch.
+	 */
+	public void remember(List<FootballMatch> fixtures) {
+		fixtures.forEach(m -> states.put(m.getSummary(), FixtureState.of(m)));
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMatchesChanged(FootballMatchChangedEvent event) {
+
+		if (event.isAllMatches()) {
+			states.clear();
+			return;
+		}
+
+		for (MatchChange change : event.getChanges()) {
+			if (change.isDeleted()) {
+				states.remove(change.getBefore().getSummary());
+			} else {
+				FootballMatchView after = change.getAfter();
+				states.put(after.getSummary(), new FixtureState(after.getHomeTeam(), after.getAwayTeam(),
+						after.getYear(), after.getRound(), after.getStartDate(), after.getMatchStatus(), after.getResult()));
+			}
+		}
+	}
+
+	/**
+	 * The compared fields of the fixture
+	 */
+	private static final class FixtureState {
+
+		private final String homeTeam;
+		private final String awayTeam;
+		private final int year;
+		private final int round;
+		private final LocalDateTime startDate;
+		private final MatchStatus matchStatus;
+		private final String result;
+
+		private FixtureState(String homeTeam, String awayTeam, int year, int round, LocalDateTime startDate,
+				MatchStatus matchStatus, String result) {
+			this.homeTeam = homeTeam;
+			this.awayTeam = awayTeam;
+			this.year = year;
+			this.round = round;
+			this.startDate = startDate;
+			this.matchStatus = matchStatus;
+			this.result = result;
+		}
+
+		private static FixtureState of(FootballMatch m) {
+			return new FixtureState(m.getHomeTeam(), m.getAwayTeam(), m.getYear(), m.getRound(), m.getStartDate(),
+					m.getMatchStatus(), m.getResult());
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o)
+				return true;
+			if (!(o instanceof FixtureState))
+				return false;
+
+			FixtureState that = (FixtureState) o;
+			return year == that.year &&
+					round == that.round &&
+					Objects.equals(homeTeam, that.homeTeam) &&
+					Objects.equals(awayTeam, that.awayTeam) &&
+					Objects.equals(startDate, that.startDate) &&
+					matchStatus == that.matchStatus &&
+					Objects.equals(result, that.result);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(homeTeam, awayTeam, year, round, startDate, matchStatus, result);
+		}
+	}
+}
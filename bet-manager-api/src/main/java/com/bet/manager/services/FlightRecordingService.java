@@ -0,0 +1,102 @@
+package com.bet.manager.services;
+
+import com.bet.manager.commons.jfr.FlightEvents;
+import com.bet.manager.commons.jfr.FlightRecordingControl;
+import com.bet.manager.exceptions.FlightRecorderUnavailableException;
+import com.bet.manager.exceptions.FlightRecordingStateException;
+import com.bet.manager.model.FlightRecording;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Path;
+import java.nio.file.Paths;
+import java.text.ParseException;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+
+/**
+ * Starts and stops Java Flight Recorder recording of the running application, at most one at a time.
+ * The recording contains the custom events of {@link FlightEvents} and is dumped to file when stopped.
+ * The jdk.jfr api is used only through {@link FlightEvents}, so the service starts on JVMs without it.
+ */
+@Service
+public class FlightRecordingService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(FlightRecordingService.class);
+
+	private static final String RECORDING_NAME = "bet-manager";
+	private static final DateTimeFormatter FILE_DATE_FORMAT = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss");
+
+	@Value("${jfr.recordings.dir}")
+	private String recordingsDir;
+
+	@Value("${jfr.default.settings}")
+	private String defaultSettings;
+
+	private FlightRecordingControl recording;
+	private FlightRecording current;
+
+	public synchronized FlightRecording start(String settings) {
+
+		if (!FlightEvents.isAvailable())
+			throw new FlightRecorderUnavailableException("Flight Recorder is not supported by this JVM");
+
+		if (recording != null)
+			throw new FlightRecordingStateException("Recording started at " + current.getStarted() + " is running");
+
+		String settingsName = StringUtils.isBlank(settings) ? defaultSettings : settings;
+
+		FlightRecordingControl started;
+		try {
+			started = FlightEvents.startRecording(RECORDING_NAME, settingsName);
+		} catch (IOException | ParseException e) {
+			throw new FlightRecorderUnavailableException("Cannot load settings '" + settingsName + "'", e);
+		} catch (UnsupportedOperationException | IllegalStateException | SecurityException e) {
+			throw new FlightRecorderUnavailableException("Cannot start recording", e);
+		}
+
+		recording = started;
+		current = new FlightRecording(RECORDING_NAME, settingsName, started.getStartTime());
+		LOG.info("Flight recording with settings '{}' started", settingsName);
+		return current;
+	}
+
+	public synchronized FlightRecording stop() {
+
+		if (recording == null)
+			throw new FlightRecordingStateException("No recording is running");
+
+		Path file = Paths.get(recordingsDir,
+				RECORDING_NAME + "-" + LocalDateTime.now().format(FILE_DATE_FORMAT) + ".jfr").toAbsolutePath();
+		try {
+			recording.stop(file);
+		} catch (IOException e) {
+			throw new FlightRecorderUnavailableException("Cannot dump recording to " + file, e);
+		} finally {
+			recording.close();
+			recording = null;
+		}
+
+		current.stopped(file.toString());
+		LOG.info("Flight recording dumped to {}", file);
+		return current;
+	}
+
+	/**
+	 * @return the running or the last stopped recording, null if none was started
+	 */
+	public synchronized FlightRecording getRecording() {
+		return current;
+	}
+
+	@PreDestroy
+	public synchronized void shutdown() {
+		if (recording != null)
+			recording.close();
+	}
+}
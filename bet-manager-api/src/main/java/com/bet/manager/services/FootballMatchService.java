@@ -1,27 +1,50 @@
 package com.bet.manager.services;
 
+import com.bet.manager.commons.trace.Span;
+import com.bet.manager.commons.trace.Tracer;
+import com.bet.manager.events.FootballMatchChangedEvent;
+import com.bet.manager.events.MatchChange;
 import com.bet.manager.exceptions.FootballMatchAlreadyExistException;
 import com.bet.manager.exceptions.FootballMatchNotFoundExceptions;
 import com.bet.manager.metrics.MetricsCounterContainer;
+import com.bet.manager.metrics.MetricsTimerContainer;
 import com.bet.manager.metrics.SuccessRatioGauge;
 import com.bet.manager.metrics.SuccessRatioHealthCheck;
+import com.bet.manager.model.ImportOutcome;
 import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.entity.MatchMetaData;
 import com.bet.manager.model.entity.MatchStatus;
+import com.bet.manager.model.entity.PredictionType;
+import com.bet.manager.model.projection.FootballMatchView;
 import com.bet.manager.model.repository.FootballMatchRepository;
 import com.bet.manager.model.util.FootballMatchBuilder;
 import com.codahale.metrics.MetricRegistry;
-import com.codahale.metrics.RatioGauge;
+import com.codahale.metrics.Timer;
 import com.codahale.metrics.health.HealthCheckRegistry;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.ApplicationEventPublisher;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+import org.springframework.transaction.support.TransactionTemplate;
 
 import javax.annotation.PostConstruct;
 import javax.transaction.Transactional;
+import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
+import java.util.function.Function;
 
+/**
+ * Creates, updates and deletes the matches and publishes the changes. The crawled batches are saved with
+ * one transaction per match, so a failed match does not roll back the others, the validated import batches
+ * are saved in single transaction.
+ */
 @Service
 @Transactional
 public class FootballMatchService {
@@ -34,24 +57,41 @@ public class FootballMatchService {
 	@Autowired
 	private MetricsCounterContainer metricsCounterHolder;
 
+	@Autowired
+	private MetricsTimerContainer metricsTimerContainer;
+
 	@Autowired
 	private MetricRegistry metricRegistry;
 
 	@Autowired
 	private HealthCheckRegistry healthCheckRegistry;
 
+	@Autowired
+	private PredictionInfoService predictionInfoService;
+
+	@Autowired
+	private ApplicationEventPublisher eventPublisher;
+
+	@Autowired
+	private PlatformTransactionManager transactionManager;
+
+	private TransactionTemplate matchTransaction;
+
 	@PostConstruct
 	public void init() {
 
-		RatioGauge successMatchesRatio = metricRegistry.register(
+		matchTransaction = new TransactionTemplate(transactionManager);
+		matchTransaction.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+
+		SuccessRatioGauge successMatchesRatio = metricRegistry.register(
 				MetricRegistry.name(FootballMatchService.class, "success-matches-ratio"),
 				new SuccessRatioGauge(metricsCounterHolder.getMatchesSuccess(), metricsCounterHolder.getMatchesFailures()));
 
-		RatioGauge successMetadataRatio = metricRegistry.register(
+		SuccessRatioGauge successMetadataRatio = metricRegistry.register(
 				MetricRegistry.name(FootballMatchService.class, "success-meta-data-ratio"),
 				new SuccessRatioGauge(metricsCounterHolder.getMetadataSuccess(), metricsCounterHolder.getMetadataFailures()));
 
-		RatioGauge successPredictionsRatio = metricRegistry.register(
+		SuccessRatioGauge successPredictionsRatio = metricRegistry.register(
 				MetricRegistry.name(FootballMatchService.class, "success-predictions-ratio"),
 				new SuccessRatioGauge(metricsCounterHolder.getPredictionsSuccess(), metricsCounterHolder.getPredictionsFailures()));
 
@@ -60,17 +100,34 @@ public class FootballMatchService {
 		healthCheckRegistry.register("success-predictions-ratio-check", new SuccessRatioHealthCheck(successPredictionsRatio));
 	}
 
-	public void createMatches(List<FootballMatch> matches) {
+	/**
+	 * Every match is created in its own transaction, the failed ones are logged and skipped.
+	 *
+	 * @return the given matches which are created
+	 */
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
+	public List<FootballMatch> createMatches(List<FootballMatch> matches) {
+
+		List<FootballMatch> succeeded = new ArrayList<>(matches.size());
+		List<MatchChange> changes = new ArrayList<>();
 
 		for (FootballMatch match : matches) {
 			try {
-				FootballMatch validatedMatch = new FootballMatchBuilder(match).build();
+				FootballMatch created = matchTransaction.execute(status -> {
+					FootballMatch validatedMatch = new FootballMatchBuilder(match).build();
+
+					if (footballMatchRepository.exist(validatedMatch))
+						throw new FootballMatchAlreadyExistException(
+								String.format("Football Match '%s' already exist", match.getSummary()));
 
-				if (footballMatchRepository.exist(validatedMatch))
-					throw new FootballMatchAlreadyExistException(
-							String.format("Football Match '%s' already exist", match.getSummary()));
+					FootballMatch saved = save(validatedMatch);
+					predictionInfoService.predictionTypeChanged(PredictionType.NOT_PREDICTED, saved.getPredictionType());
+					return saved;
+				});
 
-				footballMatchRepository.save(validatedMatch);
+				// Committed
+				succeeded.add(match);
+				changes.add(new MatchChange(null, FootballMatchView.of(created)));
 				metricsCounterHolder.incMatchesSuccesses();
 				LOG.info("Successfully created MATCH {}", match.getSummary());
 
@@ -79,46 +136,172 @@ public class FootballMatchService {
 				LOG.warn("Failed to save football match in the database", e);
 			}
 		}
+
+		publishChanges(changes);
+		return succeeded;
 	}
 
-	public void updateMatches(List<FootballMatch> matches) {
+	/**
+	 * Save matches which are already validated, all of them in single transaction. Failure of any save
+	 * is propagated and the whole batch is rolled back, the matches are counted as successes only after
+	 * the commit.
+	 *
+	 * @return outcome for every match in the same order
+	 */
+	public List<ImportOutcome> createValidatedMatches(List<FootballMatch> matches) {
 
-		int updatedMatches = 0;
+		List<ImportOutcome> outcomes = new ArrayList<>(matches.size());
+		List<MatchChange> changes = new ArrayList<>();
 
 		for (FootballMatch match : matches) {
+			if (footballMatchRepository.exist(match)) {
+				outcomes.add(ImportOutcome.DUPLICATE);
+				continue;
+			}
 
-			try {
-				if (!footballMatchRepository.exist(match))
-					throw new FootballMatchNotFoundExceptions(
-							String.format("Cannot update football match %s. Doesnt exist in the data base", match.getSummary()));
+			FootballMatch created = save(match);
+			changes.add(new MatchChange(null, FootballMatchView.of(created)));
+			predictionInfoService.predictionTypeChanged(PredictionType.NOT_PREDICTED, created.getPredictionType());
+			outcomes.add(ImportOutcome.CREATED);
+		}
 
-				// Retrieve the match from the data base
-				FootballMatch retrievedMatch = footballMatchRepository.retrieve(match);
+		int createdCount = changes.size();
+		afterCommit(() -> metricsCounterHolder.incMatchesSuccesses(createdCount));
 
-				if (isMatchFinishedAndPredicted(retrievedMatch)) {
-					LOG.debug("The match {} in the db is considered finished. No changes will apply", retrievedMatch.getSummary());
-					continue;
-				}
+		publishChanges(changes);
+		return outcomes;
+	}
+
+	/**
+	 * Every match is updated in its own transaction, the failed ones are logged and skipped.
+	 *
+	 * @return the given matches which are updated or are already up to date
+	 */
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
+	public List<FootballMatch> updateMatches(List<FootballMatch> matches) {
+
+		List<FootballMatch> succeeded = new ArrayList<>(matches.size());
+		List<MatchChange> changes = new ArrayList<>();
 
-				FootballMatch updated = new FootballMatchBuilder(retrievedMatch)
-						.updateStartDate(match.getStartDate())
-						.updatedStatus(match.getMatchStatus())
-						.updatedMetadata(match.getMatchMetaData())
-						.updatedPrediction(match.getPrediction())
-						.updatedResult(match.getResult())
-						.build();
-
-				if (!updated.equals(retrievedMatch)) {
-					footballMatchRepository.save(updated);
-					updatedMatches++;
-					LOG.debug("--MATCH {} updated.", updated.getSummary());
+		for (FootballMatch match : matches) {
+
+			try {
+				StoredUpdate update = matchTransaction.execute(status -> updateMatch(match, match.getMatchMetaData(),
+						stored -> new FootballMatchBuilder(stored)
+								.updateStartDate(match.getStartDate())
+								.updatedStatus(match.getMatchStatus())
+								.updatedPrediction(match.getPrediction())
+								.updatedResult(match.getResult())));
+
+				// Committed
+				succeeded.add(match);
+				if (update.change != null) {
+					changes.add(update.change);
+					LOG.debug("--MATCH {} updated.", match.getSummary());
 				}
 			} catch (Exception e) {
 				LOG.error("Failed to update match {}", match.getSummary(), e);
 			}
 		}
 
-		LOG.info("Successfully updated {} matches", updatedMatches);
+		publishChanges(changes);
+		LOG.info("Successfully updated {} matches", changes.size());
+		return succeeded;
+	}
+
+	/**
+	 * Set the metadata of the stored match, the other fields are kept as they are stored. The match is
+	 * looked up by its id, or by the teams, year and round when it has no id.
+	 *
+	 * @return the stored match or null if the update failed, the failure is logged
+	 */
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
+	public FootballMatch updateMetaData(FootballMatch match, MatchMetaData metaData) {
+		return updateStored(match, metaData, FootballMatchBuilder::new);
+	}
+
+	/**
+	 * Set the prediction of the stored match, the other fields are kept as they are stored.
+	 *
+	 * @return the stored match or null if the update failed, the failure is logged
+	 * @see #updateMetaData
+	 */
+	@Transactional(Transactional.TxType.NOT_SUPPORTED)
+	public FootballMatch updatePrediction(FootballMatch match, String prediction) {
+		return updateStored(match, null, stored -> new FootballMatchBuilder(stored).setPrediction(prediction));
+	}
+
+	private FootballMatch updateStored(FootballMatch match, MatchMetaData metaData,
+			Function<FootballMatch, FootballMatchBuilder> changes) {
+
+		StoredUpdate update;
+		try {
+			update = matchTransaction.execute(status -> updateMatch(match, metaData, changes));
+		} catch (Exception e) {
+			LOG.error("Failed to update match {}", match.getSummary(), e);
+			return null;
+		}
+
+		if (update.change != null)
+			publishChanges(Collections.singletonList(update.change));
+
+		return update.match;
+	}
+
+	/**
+	 * @param metaData new metadata or null to keep the stored one
+	 * @param changes  applies the changes to the builder of the stored match
+	 */
+	private StoredUpdate updateMatch(FootballMatch match, MatchMetaData metaData,
+			Function<FootballMatch, FootballMatchBuilder> changes) {
+
+		FootballMatch retrievedMatch = match.getId() != null
+				? footballMatchRepository.findOne(match.getId())
+				: footballMatchRepository.retrieve(match);
+
+		if (retrievedMatch == null)
+			throw new FootballMatchNotFoundExceptions(
+					String.format("Cannot update football match %s. Doesnt exist in the data base", match.getSummary()));
+
+		if (isMatchFinishedAndPredicted(retrievedMatch)) {
+			LOG.debug("The match {} in the db is considered finished. No changes will apply", retrievedMatch.getSummary());
+			return new StoredUpdate(retrievedMatch, null);
+		}
+
+		boolean metaDataChanged = metaData != null && !metaData.equals(retrievedMatch.getMatchMetaData());
+		FootballMatch updated = changes.apply(retrievedMatch).build();
+
+		if (!metaDataChanged && updated.equals(retrievedMatch))
+			return new StoredUpdate(retrievedMatch, null);
+
+		if (metaDataChanged)
+			updated.setMatchMetaData(replaceMetaData(retrievedMatch.getMatchMetaData(), metaData));
+
+		PredictionType previousPredictionType = retrievedMatch.getPredictionType();
+		FootballMatchView before = FootballMatchView.of(retrievedMatch);
+		FootballMatch saved = save(updated);
+		predictionInfoService.predictionTypeChanged(previousPredictionType, updated.getPredictionType());
+		return new StoredUpdate(saved, new MatchChange(before, FootballMatchView.of(saved)));
+	}
+
+	/**
+	 * The new metadata is copied into the stored one, otherwise the stored row would be left without a match.
+	 */
+	private static MatchMetaData replaceMetaData(MatchMetaData stored, MatchMetaData created) {
+
+		if (stored == null)
+			return created;
+
+		stored.setFirstTeamMetaData(created.getFirstTeamMetaData());
+		stored.setSecondTeamMetaData(created.getSecondTeamMetaData());
+		return stored;
+	}
+
+	private FootballMatch save(FootballMatch match) {
+		try (Timer.Context ignored = metricsTimerContainer.getDbSave().time();
+			 Span span = Tracer.startSpan("persist").tag("match", match.getSummary())) {
+			return footballMatchRepository.save(match);
+		}
 	}
 
 	private boolean isMatchFinishedAndPredicted(FootballMatch match) {
@@ -138,11 +321,48 @@ public class FootballMatchService {
 					String.format("Cannot delete football match %s. Doesnt exist in the data base", match.getSummary()));
 
 		footballMatchRepository.delete(retrievedMatch);
+		predictionInfoService.predictionTypeChanged(retrievedMatch.getPredictionType(), PredictionType.NOT_PREDICTED);
+		publishChanges(Collections.singletonList(new MatchChange(FootballMatchView.of(retrievedMatch), null)));
 		LOG.info("Successfully deleted match [{}]", match.getSummary());
 	}
 
 	public void deleteAll() {
 		footballMatchRepository.deleteAll();
+		predictionInfoService.reset();
+		eventPublisher.publishEvent(FootballMatchChangedEvent.allMatches(this));
 		LOG.info("All matches are deleted successfully");
 	}
+
+	private static void afterCommit(Runnable action) {
+		if (!TransactionSynchronizationManager.isActualTransactionActive()) {
+			action.run();
+			return;
+		}
+
+		TransactionSynchronizationManager.registerSynchronization(new TransactionSynchronizationAdapter() {
+			@Override
+			public void afterCommit() {
+				action.run();
+			}
+		});
+	}
+
+	private void publishChanges(List<MatchChange> changes) {
+		if (!changes.isEmpty())
+			eventPublisher.publishEvent(new FootballMatchChangedEvent(this, changes));
+	}
+
+	/**
+	 * Stored match after the update and the change, which is null if nothing changed
+	 */
+	private static final class StoredUpdate {
+
+		private final FootballMatch match;
+		private final MatchChange change;
+
+		private StoredUpdate(FootballMatch match, MatchChange change) {
+			this.match = match;
+			this.change = change;
+		}
+	}
 }
@@ -0,0 +1,153 @@
+package com.bet.manager.services;
+
+import com.bet.manager.metrics.MetricsCounterContainer;
+import com.bet.manager.model.ImportOutcome;
+import com.bet.manager.model.ImportSummary;
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.util.FootballMatchBuilder;
+import com.fasterxml.jackson.databind.ObjectReader;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.stereotype.Service;
+
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Collectors;
+
+/**
+ * Imports matches from newline delimited JSON. The input is read line by line and processed in batches,
+ * only one batch is held in memory. The lines of a batch are parsed and validated in parallel and the
+ * valid matches are saved in one transaction.
+ */
+@Service
+public class ImportService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ImportService.class);
+
+	@Autowired
+	private FootballMatchService footballMatchService;
+
+	@Autowired
+	private MetricsCounterContainer metricsCounterHolder;
+
+	@Value("${import.batch.size}")
+	private int batchSize;
+
+	@Value("${import.max.reported.errors}")
+	private int maxReportedErrors;
+
+	private final ObjectReader matchReader = Jackson2ObjectMapperBuilder.json().build().readerFor(FootballMatch.class);
+
+	public ImportSummary importMatches(InputStream in) throws IOException {
+
+		ImportSummary summary = new ImportSummary(maxReportedErrors);
+		BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+		List<Line> batch = new ArrayList<>(batchSize);
+		long lineNumber = 0;
+		String line;
+
+		while ((line = reader.readLine()) != null) {
+			lineNumber++;
+
+			if (StringUtils.isBlank(line))
+				continue;
+
+			batch.add(new Line(lineNumber, line));
+
+			if (batch.size() == batchSize) {
+				importBatch(batch, summary);
+				batch.clear();
+			}
+		}
+
+		if (!batch.isEmpty())
+			importBatch(batch, summary);
+
+		LOG.info("Imported {} lines with outcomes {}", summary.getTotal(), summary.getOutcomes());
+		return summary;
+	}
+
+	private void importBatch(List<Line> batch, ImportSummary summary) {
+
+		List<Line> parsed = batch.parallelStream()
+				.map(this::parse)
+				.collect(Collectors.toList());
+
+		List<Line> valid = new ArrayList<>(parsed.size());
+
+		for (Line line : parsed) {
+			if (line.match != null) {
+				valid.add(line);
+			} else {
+				metricsCounterHolder.incMatchesFailures();
+				summary.add(line.number, ImportOutcome.INVALID, line.error);
+			}
+		}
+
+		if (valid.isEmpty())
+			return;
+
+		try {
+			List<ImportOutcome> outcomes = footballMatchService.createValidatedMatches(
+					valid.stream().map(line -> line.match).collect(Collectors.toList()));
+
+			for (int i = 0; i < valid.size(); i++)
+				summary.add(valid.get(i).number, outcomes.get(i), outcomes.get(i) == ImportOutcome.DUPLICATE ?
+						String.format("Football Match '%s' already exist", valid.get(i).match.getSummary()) : null);
+
+		} catch (Exception e) {
+			LOG.error("Failed to save batch of {} matches starting at line {}", valid.size(), valid.get(0).number, e);
+
+			for (Line line : valid) {
+				metricsCounterHolder.incMatchesFailures();
+				summary.add(line.number, ImportOutcome.FAILED, e.getMessage());
+			}
+		}
+	}
+
+	private Line parse(Line line) {
+		try {
+			FootballMatch match = matchReader.readValue(line.content);
+			return line.parsed(new FootballMatchBuilder(match).build());
+		} catch (Exception e) {
+			return line.invalid(e.getMessage());
+		}
+	}
+
+	private static final class Line {
+
+		private final long number;
+		private final String content;
+		private final FootballMatch match;
+		private final String error;
+
+		private Line(long number, String content) {
+			this(number, content, null, null);
+		}
+
+		private Line(long number, String content, FootballMatch match, String error) {
+			this.number = number;
+			this.content = content;
+			this.match = match;
+			this.error = error;
+		}
+
+		private Line parsed(FootballMatch match) {
+			return new Line(number, null, match, null);
+		}
+
+		private Line invalid(String error) {
+			return new Line(number, null, null, error);
+		}
+	}
+}
@@ -0,0 +1,120 @@
+package com.bet.manager.services;
+
+import com.bet.manager.commons.trace.Span;
+import com.bet.manager.commons.trace.Tracer;
+import com.bet.manager.exceptions.JobNotFoundException;
+import com.bet.manager.model.Job;
+import com.bet.manager.model.JobStatus;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.stereotype.Service;
+
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+
+/**
+ * Registry of the long running jobs which could be watched and cancelled. Only the latest jobs are kept.
+ */
+@Service
+public class JobManager {
+
+	private static final Logger LOG = LoggerFactory.getLogger(JobManager.class);
+
+	private static final int MAX_KEPT_JOBS = 100;
+
+	private final Map<String, Job> jobs = new LinkedHashMap<String, Job>() {
+		@Override
+		protected boolean removeEldestEntry(Map.Entry<String, Job> eldest) {
+			return size() > MAX_KEPT_JOBS && eldest.getValue().getStatus().isFinished();
+		}
+	};
+
+	@FunctionalInterface
+	public interface JobTask {
+		void run(Job job) throws Exception;
+	}
+
+	/**
+	 * Register new queued job.
+	 */
+	public Job create(String type) {
+
+		Job job = new Job(UUID.randomUUID().toString(), type);
+
+		synchronized (jobs) {
+			jobs.put(job.getId(), job);
+		}
+
+		return job;
+	}
+
+	/**
+	 * Run the task of the job in the current thread, unless the job is cancelled already.
+	 */
+	public void execute(Job job, JobTask task) {
+
+		synchronized (job) {
+			if (job.isCancelRequested()) {
+				job.finished(JobStatus.CANCELLED, null);
+				return;
+			}
+
+			job.started();
+		}
+
+		LOG.info("Job {} [{}] started", job.getType(), job.getId());
+
+		try (Span trace = Tracer.startTrace("job " + job.getType()).tag("job", job.getId())) {
+			try {
+				task.run(job);
+				job.finished(job.isCancelRequested() ? JobStatus.CANCELLED : JobStatus.SUCCEEDED, null);
+			} catch (Exception e) {
+				LOG.error("Job {} [{}] failed", job.getType(), job.getId(), e);
+				job.finished(JobStatus.FAILED, e.getMessage());
+				trace.tag("error", e.getMessage());
+			}
+		}
+
+		LOG.info("{} finished in {} ms", job, job.elapsedMillis());
+	}
+
+	public Job getJob(String id) {
+
+		Job job;
+		synchronized (jobs) {
+			job = jobs.get(id);
+		}
+
+		if (job == null)
+			throw new JobNotFoundException(String.format("Job with id '%s' does not exist", id));
+
+		return job;
+	}
+
+	public List<Job> getJobs() {
+		synchronized (jobs) {
+			return new ArrayList<>(jobs.values());
+		}
+	}
+
+	/**
+	 * Cancel the job. Queued job is cancelled immediately, the running one stops after the item
+	 * it is currently processing.
+	 */
+	public Job cancel(String id) {
+
+		Job job = getJob(id);
+
+		synchronized (job) {
+			job.requestCancel();
+
+			if (job.getStatus() == JobStatus.QUEUED)
+				job.finished(JobStatus.CANCELLED, null);
+		}
+
+		return job;
+	}
+}
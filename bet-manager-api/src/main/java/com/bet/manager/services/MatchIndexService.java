@@ -0,0 +1,125 @@
+package com.bet.manager.services;
+
+import com.bet.manager.events.FootballMatchChangedEvent;
+import com.bet.manager.events.MatchChange;
+import com.bet.manager.model.projection.FootballMatchView;
+import com.bet.manager.model.repository.FootballMatchRepository;
+import com.bet.manager.model.search.MatchIndex;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Holds the {@link MatchIndex} of all matches. The index is built when the application starts.
+ * The committed changes are collected and the first reader after them applies all at once, so
+ * a sweep which commits the matches one by one does not create new index for every match.
+ */
+@Service
+public class MatchIndexService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(MatchIndexService.class);
+
+	@Autowired
+	private FootballMatchRepository footballMatchRepository;
+
+	@Autowired
+	private MetricRegistry metricRegistry;
+
+	private volatile MatchIndex index;
+
+	// Changes not applied to the index yet by match id, the deleted matches have null
+	private final Map<Long, FootballMatchView> pending = new HashMap<>();
+	private volatile boolean dirty;
+
+	@PostConstruct
+	public void init() {
+		metricRegistry.register(MetricRegistry.name(MatchIndexService.class, "size"), (Gauge<Integer>) () -> {
+			MatchIndex current = getIndex();
+			return current == null ? 0 : current.size();
+		});
+	}
+
+	@EventListener
+	public void onContextRefreshed(ContextRefreshedEvent event) {
+		// Load the index when the root context is ready, the searches before that fall back to the database
+		if (event.getApplicationContext().getParent() == null)
+			rebuild();
+	}
+
+	/**
+	 * Must be collected before the cached responses are invalidated, otherwise they could be filled from the old index.
+	 */
+	@Order(Ordered.HIGHEST_PRECEDENCE)
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onMatchesChanged(FootballMatchChangedEvent event) {
+
+		if (index == null)
+			return;
+
+		if (event.isAllMatches()) {
+			rebuild();
+			return;
+		}
+
+		for (MatchChange change : event.getChanges()) {
+			if (change.isDeleted())
+				pending.put(change.getBefore().getId(), null);
+			else
+				pending.put(change.getAfter().getId(), change.getAfter());
+		}
+
+		dirty = !pending.isEmpty();
+	}
+
+	public synchronized void rebuild() {
+		long start = System.currentTimeMillis();
+		// The database already has the pending changes
+		pending.clear();
+		dirty = false;
+		index = MatchIndex.build(footballMatchRepository.findAllViews());
+		LOG.info("Match index with {} matches built in {} ms", index.size(), System.currentTimeMillis() - start);
+	}
+
+	/**
+	 * @return the current index with all committed changes or null if it is not built yet
+	 */
+	public MatchIndex getIndex() {
+		if (dirty)
+			applyPending();
+		return index;
+	}
+
+	private synchronized void applyPending() {
+
+		if (!dirty)
+			return;
+
+		List<Long> removedIds = new ArrayList<>();
+		List<FootballMatchView> upserted = new ArrayList<>();
+
+		pending.forEach((id, match) -> {
+			if (match == null)
+				removedIds.add(id);
+			else
+				upserted.add(match);
+		});
+
+		index = index.withChanges(removedIds, upserted);
+		pending.clear();
+		dirty = false;
+	}
+}
@@ -0,0 +1,264 @@
+package com.bet.manager.services;
+
+import com.bet.manager.commons.trace.Span;
+import com.bet.manager.commons.trace.Tracer;
+import com.bet.manager.core.data.DataManager;
+import com.bet.manager.metrics.MetricsCounterContainer;
+import com.bet.manager.metrics.MetricsTimerContainer;
+import com.bet.manager.model.entity.FootballMatch;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.Lock;
+
+/**
+ * Takes the new and changed matches found by fetch through metadata creation and prediction without
+ * waiting for the periodic sweep. Every stage has a bounded queue and own workers, full queue blocks the
+ * stage before it. The matches in the pipeline are skipped by the sweep, and the items are handled under
+ * {@link PipelineCoordinator#getPipelineItemLock()}, so they never run while the sweep handles a match.
+ */
+@Service
+public class MatchPipeline {
+
+	private static final Logger LOG = LoggerFactory.getLogger(MatchPipeline.class);
+
+	@Autowired
+	private FootballMatchService footballMatchService;
+
+	@Autowired
+	private DataManager<FootballMatch> dataManager;
+
+	@Autowired
+	private PredictionService predictionService;
+
+	@Autowired
+	private MetricsCounterContainer metricsCounterContainer;
+
+	@Autowired
+	private MetricsTimerContainer metricsTimerContainer;
+
+	@Autowired
+	private MetaDataRetryService metaDataRetryService;
+
+	@Autowired
+	private MetricRegistry metricRegistry;
+
+	@Autowired
+	private PipelineCoordinator pipelineCoordinator;
+
+	@Value("${pipeline.metadata.workers}")
+	private int metadataWorkers;
+
+	@Value("${pipeline.metadata.queue.capacity}")
+	private int metadataQueueCapacity;
+
+	@Value("${pipeline.prediction.workers}")
+	private int predictionWorkers;
+
+	@Value("${pipeline.prediction.queue.capacity}")
+	private int predictionQueueCapacity;
+
+	// Summaries of the matches in the pipeline, the summary identifies the match
+	private final Set<String> inFlight = ConcurrentHashMap.newKeySet();
+
+	private Stage metadataStage;
+	private Stage predictionStage;
+
+	@PostConstruct
+	public void init() {
+
+		predictionStage = new Stage("prediction", predictionWorkers, predictionQueueCapacity, this::predict, null);
+		metadataStage = new Stage("metadata", metadataWorkers, metadataQueueCapacity, this::createMetadata,
+				predictionStage);
+
+		metricRegistry.register(MetricRegistry.name(MatchPipeline.class, "in-flight"), (Gauge<Integer>) inFlight::size);
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		metadataStage.stop();
+		predictionStage.stop();
+	}
+
+	/**
+	 * Put the match in the pipeline, blocks while the metadata queue is full. Match which is already in
+	 * the pipeline is ignored, as well as the one blocked by {@link MetaDataRetryService}.
+	 */
+	public void submit(FootballMatch match) throws InterruptedException {
+		submit(new Item(match.getSummary(), match, false));
+	}
+
+	/**
+	 * Put match whose metadata is stale in the pipeline, it is predicted again even when it has prediction.
+	 * Blocks while the metadata queue is full, the blocked match is ignored as in {@link #submit(FootballMatch)}.
+	 */
+	public void recompute(FootballMatch match) throws InterruptedException {
+		submit(new Item(match.getSummary(), match, true));
+	}
+
+	private void submit(Item item) throws InterruptedException {
+
+		// Failed match waits for its backoff, it is taken by the sweep after that
+		if (metaDataRetryService.isBlocked(item.match)) {
+			LOG.debug("Match {} is not submitted, its metadata creation is blocked after failure", item.key);
+			return;
+		}
+
+		if (inFlight.add(item.key))
+			metadataStage.put(item);
+	}
+
+	public boolean isInFlight(FootballMatch match) {
+		return inFlight.contains(match.getSummary());
+	}
+
+	/**
+	 * Only the metadata of the stored match is updated, the item could be taken before a later fetch.
+	 *
+	 * @return the item for prediction or null if it is done
+	 */
+	private Item createMetadata(Item item) {
+
+		FootballMatch withMetadata;
+		FootballMatch stored;
+
+		try {
+			try (Timer.Context ignored = metricsTimerContainer.getMetadata().time()) {
+				withMetadata = dataManager.createData(item.match);
+			}
+
+			stored = footballMatchService.updateMetaData(item.match, withMetadata.getMatchMetaData());
+			if (stored == null)
+				throw new IllegalStateException("Metadata of match " + item.key + " is not stored");
+
+			metricsCounterContainer.incMetadataSuccesses();
+			metaDataRetryService.succeeded(Collections.singletonList(stored));
+		} catch (Exception e) {
+			metricsCounterContainer.incMetadataFailures();
+			metaDataRetryService.failed(item.match, e);
+			inFlight.remove(item.key);
+			LOG.error("Error occur during creating metadata for match {}", item.match.getSummary(), e);
+			return null;
+		}
+
+		if (item.repredict || StringUtils.isBlank(stored.getPrediction()))
+			return new Item(item.key, withMetadata, item.repredict);
+
+		inFlight.remove(item.key);
+		return null;
+	}
+
+	private Item predict(Item item) {
+		try {
+			predictionService.predict(item.match);
+		} finally {
+			inFlight.remove(item.key);
+		}
+
+		return null;
+	}
+
+	private static final class Item {
+
+		private final String key;
+		private final FootballMatch match;
+		private final boolean repredict;
+
+		private Item(String key, FootballMatch match, boolean repredict) {
+			this.key = key;
+			this.match = match;
+			this.repredict = repredict;
+		}
+	}
+
+	/**
+	 * Handles the item and returns the item for the next stage or null
+	 */
+	@FunctionalInterface
+	private interface ItemHandler {
+		Item handle(Item item);
+	}
+
+	/**
+	 * Bounded queue with workers taking the items from it.
+	 */
+	private final class Stage {
+
+		private final String name;
+		private final BlockingQueue<Item> queue;
+		private final Stage next;
+		private final List<Thread> workers = new ArrayList<>();
+		private final Timer timer;
+
+		private Stage(String name, int workerCount, int capacity, ItemHandler handler, Stage next) {
+			this.name = name;
+			this.queue = new ArrayBlockingQueue<>(capacity);
+			this.next = next;
+			this.timer = metricRegistry.timer(MetricRegistry.name(MatchPipeline.class, name, "process"));
+
+			metricRegistry.register(MetricRegistry.name(MatchPipeline.class, name, "queue-size"),
+					(Gauge<Integer>) queue::size);
+
+			for (int i = 1; i <= workerCount; i++) {
+				Thread worker = new Thread(() -> work(handler), "pipeline-" + name + "-" + i);
+				worker.setDaemon(true);
+				worker.start();
+				workers.add(worker);
+			}
+		}
+
+		private void put(Item item) throws InterruptedException {
+			queue.put(item);
+		}
+
+		private void work(ItemHandler handler) {
+			Lock itemLock = pipelineCoordinator.getPipelineItemLock();
+
+			try {
+				while (!Thread.currentThread().isInterrupted()) {
+					Item item = queue.take();
+					Item nextItem = null;
+
+					itemLock.lockInterruptibly();
+					try (Timer.Context ignored = timer.time();
+						 Span trace = Tracer.startTrace(name + " " + item.key)) {
+						nextItem = handler.handle(item);
+					} catch (RuntimeException e) {
+						inFlight.remove(item.key);
+						LOG.error("Pipeline stage {} failed for match {}", name, item.key, e);
+					} finally {
+						itemLock.unlock();
+					}
+
+					// Outside of the lock, full queue of the next stage must not block a waiting sweep
+					if (nextItem != null)
+						next.put(nextItem);
+				}
+			} catch (InterruptedException e) {
+				Thread.currentThread().interrupt();
+			}
+
+			LOG.info("Pipeline stage {} worker stopped", name);
+		}
+
+		private void stop() {
+			workers.forEach(Thread::interrupt);
+		}
+	}
+}
@@ -0,0 +1,176 @@
+package com.bet.manager.services;
+
+import com.bet.manager.commons.ResultMessages;
+import com.bet.manager.core.data.DataManager;
+import com.bet.manager.events.FootballMatchChangedEvent;
+import com.bet.manager.events.MatchChange;
+import com.bet.manager.model.dependency.MetaDataDependencyGraph;
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.entity.MatchStatus;
+import com.bet.manager.model.projection.FootballMatchView;
+import com.bet.manager.model.repository.FootballMatchRepository;
+import com.bet.manager.model.util.FootballMatchBuilder;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.context.event.ContextRefreshedEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * Recomputes the metadata and the prediction of the matches which depend on a final result when the
+ * result comes late or is corrected, see {@link MetaDataDependencyGraph}. The stale matches are put in the
+ * {@link MatchPipeline} from background thread, so the committing thread is never blocked. The crawled
+ * pages are cleared there too, once for all the results changed since the last recompute.
+ * <p>
+ * Only the later matches of the two teams are recomputed. The result moves other teams in the standings
+ * too, their positions in the metadata stay stale until the metadata is created again.
+ */
+@Service
+public class MetaDataDependencyService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(MetaDataDependencyService.class);
+
+	@Autowired
+	private FootballMatchRepository footballMatchRepository;
+
+	@Autowired
+	private DataManager<FootballMatch> dataManager;
+
+	@Autowired
+	private MatchPipeline matchPipeline;
+
+	@Autowired
+	private MetricRegistry metricRegistry;
+
+	private final MetaDataDependencyGraph graph = new MetaDataDependencyGraph();
+
+	// Ids of the stale matches, the set keeps every id queued at most once
+	private final BlockingQueue<Long> stale = new LinkedBlockingQueue<>();
+	private final Set<Long> staleIds = ConcurrentHashMap.newKeySet();
+
+	// Set when a result changed, the crawled pages are cleared once by the worker before it recomputes
+	private final AtomicBoolean staleCache = new AtomicBoolean();
+
+	private Thread worker;
+	private Meter staleMatches;
+
+	@PostConstruct
+	public void init() {
+
+		staleMatches = metricRegistry.meter(MetricRegistry.name(MetaDataDependencyService.class, "stale-matches"));
+		metricRegistry.register(MetricRegistry.name(MetaDataDependencyService.class, "pending"),
+				(Gauge<Integer>) stale::size);
+
+		worker = new Thread(this::recomputeStale, "metadata-recompute");
+		worker.setDaemon(true);
+		worker.start();
+	}
+
+	@PreDestroy
+	public void shutdown() {
+		worker.interrupt();
+	}
+
+	@EventListener
+	public void onContextRefreshed(ContextRefreshedEvent event) {
+		// The graph is built once, for the root context and not again for the web child context
+		if (event.getApplicationContext().getParent() == null)
+			rebuild();
+	}
+
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onMatchesChanged(FootballMatchChangedEvent event) {
+
+		if (event.isAllMatches()) {
+			rebuild();
+			return;
+		}
+
+		for (MatchChange change : event.getChanges()) {
+			if (!change.isCreated())
+				graph.remove(change.getBefore());
+			if (change.isDeleted())
+				continue;
+
+			graph.add(change.getAfter());
+
+			if (!change.isCreated() && resultChanged(change)) {
+				Set<Long> dependents = graph.dependentsOf(change.getAfter());
+				LOG.info("Result of {} changed, {} dependent matches are stale", change.getAfter().getSummary(),
+						dependents.size());
+
+				staleCache.set(true);
+				dependents.stream().filter(staleIds::add).forEach(stale::add);
+				staleMatches.mark(dependents.size());
+			}
+		}
+	}
+
+	/**
+	 * Live scores of the started matches are ignored, only the final result which is new or corrected counts
+	 */
+	private boolean resultChanged(MatchChange change) {
+		FootballMatchView before = change.getBefore();
+		FootballMatchView after = change.getAfter();
+
+		if (after.getMatchStatus() != MatchStatus.FINISHED || ResultMessages.UNKNOWN_RESULT.equals(after.getResult()))
+			return false;
+
+		return before.getMatchStatus() != MatchStatus.FINISHED || !Objects.equals(before.getResult(), after.getResult());
+	}
+
+	private synchronized void rebuild() {
+		graph.clear();
+		footballMatchRepository.findAllViews().forEach(graph::add);
+	}
+
+	private void recomputeStale() {
+		try {
+			while (!Thread.currentThread().isInterrupted()) {
+				Long id = stale.take();
+				staleIds.remove(id);
+
+				// The pages crawled before the result changed are stale as well
+				if (staleCache.getAndSet(false))
+					dataManager.clearCache();
+
+				recompute(id);
+			}
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		}
+	}
+
+	private void recompute(Long id) throws InterruptedException {
+
+		FootballMatch match;
+		try {
+			match = footballMatchRepository.findOne(id);
+		} catch (RuntimeException e) {
+			LOG.error("Cannot load stale match [{}]", id, e);
+			return;
+		}
+
+		// Matches without metadata get it from the sweep, finished and predicted ones are never changed
+		if (match == null || match.getMatchMetaData() == null ||
+				(match.getMatchStatus() == MatchStatus.FINISHED && !StringUtils.isBlank(match.getPrediction())))
+			return;
+
+		matchPipeline.recompute(new FootballMatchBuilder(match).setMatchMetaData(null).build());
+	}
+}
@@ -0,0 +1,160 @@
+package com.bet.manager.services;
+
+import com.bet.manager.events.FootballMatchChangedEvent;
+import com.bet.manager.events.MatchChange;
+import com.bet.manager.exceptions.MetaDataFailureNotFoundException;
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.entity.MetaDataFailure;
+import com.bet.manager.model.exceptions.MetaDataCreationException;
+import com.bet.manager.model.repository.FootballMatchRepository;
+import com.bet.manager.model.repository.MetaDataFailureRepository;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import javax.transaction.Transactional;
+import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Set;
+
+/**
+ * Persistent retry queue of the failed metadata creation. The failed matches are retried with exponential
+ * backoff. Permanent failures and the matches which fail too many times are quarantined and never retried
+ * until the failure is deleted.
+ */
+@Service
+@Transactional
+public class MetaDataRetryService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(MetaDataRetryService.class);
+
+	@Autowired
+	private MetaDataFailureRepository metaDataFailureRepository;
+
+	@Autowired
+	private FootballMatchRepository footballMatchRepository;
+
+	@Autowired
+	private MetricRegistry metricRegistry;
+
+	@Value("${retry.initial.backoff.minutes}")
+	private long initialBackoffMinutes;
+
+	@Value("${retry.max.backoff.minutes}")
+	private long maxBackoffMinutes;
+
+	@Value("${retry.max.attempts}")
+	private int maxAttempts;
+
+	private Meter quarantined;
+
+	@PostConstruct
+	public void init() {
+		quarantined = metricRegistry.meter(MetricRegistry.name(MetaDataRetryService.class, "quarantined"));
+	}
+
+	/**
+	 * @return ids of the matches whose metadata must not be created now
+	 */
+	public Set<Long> getBlockedMatchIds() {
+		return new HashSet<>(metaDataFailureRepository.findBlockedMatchIds(LocalDateTime.now()));
+	}
+
+	/**
+	 * @return true if the match is quarantined or its backoff has not expired yet
+	 */
+	public boolean isBlocked(FootballMatch match) {
+
+		Long matchId = resolveId(match);
+		MetaDataFailure failure = matchId == null ? null : metaDataFailureRepository.findOne(matchId);
+
+		return failure != null && (failure.isQuarantined()
+				|| (failure.getNextAttempt() != null && failure.getNextAttempt().isAfter(LocalDateTime.now())));
+	}
+
+	public void failed(FootballMatch match, Exception e) {
+
+		Long matchId = resolveId(match);
+		if (matchId == null) {
+			LOG.warn("Cannot record failure of match {}, it is not in the db", match.getSummary());
+			return;
+		}
+
+		MetaDataFailure failure = metaDataFailureRepository.findOne(matchId);
+		if (failure == null)
+			failure = new MetaDataFailure(matchId, match.getSummary());
+
+		boolean permanent = e instanceof MetaDataCreationException || failure.getAttempts() + 1 >= maxAttempts;
+
+		if (permanent) {
+			failure.failed(e.getMessage(), null);
+			quarantined.mark();
+			LOG.warn("Match {} quarantined after {} attempts", match.getSummary(), failure.getAttempts());
+		} else {
+			long backoff = Math.min(maxBackoffMinutes, initialBackoffMinutes << Math.min(failure.getAttempts(), 30));
+			failure.failed(e.getMessage(), LocalDateTime.now().plusMinutes(backoff));
+		}
+
+		metaDataFailureRepository.save(failure);
+	}
+
+	public void succeeded(Collection<FootballMatch> matches) {
+		for (FootballMatch match : matches) {
+			Long matchId = resolveId(match);
+			if (matchId != null && metaDataFailureRepository.exists(matchId))
+				metaDataFailureRepository.delete(matchId);
+		}
+	}
+
+	public List<MetaDataFailure> getFailures(Boolean quarantined) {
+		return quarantined == null
+				? metaDataFailureRepository.findAllByOrderByLastFailureDesc()
+				: metaDataFailureRepository.findByQuarantinedOrderByLastFailureDesc(quarantined);
+	}
+
+	/**
+	 * Delete the failure, so the metadata of the match is created by the next sweep.
+	 */
+	public MetaDataFailure release(Long matchId) {
+
+		MetaDataFailure failure = metaDataFailureRepository.findOne(matchId);
+		if (failure == null)
+			throw new MetaDataFailureNotFoundException(String.format("No failure for match [%s]", matchId));
+
+		metaDataFailureRepository.delete(failure);
+		return failure;
+	}
+
+	// The transaction which published the event is already committed
+	@Transactional(Transactional.TxType.REQUIRES_NEW)
+	@TransactionalEventListener(fallbackExecution = true)
+	public void onMatchesChanged(FootballMatchChangedEvent event) {
+
+		if (event.isAllMatches()) {
+			metaDataFailureRepository.deleteAllInBatch();
+			return;
+		}
+
+		for (MatchChange change : event.getChanges()) {
+			if (change.isDeleted() && metaDataFailureRepository.exists(change.getBefore().getId()))
+				metaDataFailureRepository.delete(change.getBefore().getId());
+		}
+	}
+
+	private Long resolveId(FootballMatch match) {
+
+		if (match.getId() != null)
+			return match.getId();
+
+		FootballMatch stored = footballMatchRepository.retrieve(match);
+		return stored == null ? null : stored.getId();
+	}
+}
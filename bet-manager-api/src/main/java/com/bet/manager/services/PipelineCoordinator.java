@@ -0,0 +1,210 @@
+package com.bet.manager.services;
+
+import com.bet.manager.exceptions.JobRejectedException;
+import com.bet.manager.model.Job;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.core.task.AsyncTaskExecutor;
+import org.springframework.core.task.TaskRejectedException;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import java.time.Duration;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Single entry point for the runs of the update pipeline, both scheduled and triggered through the REST api.
+ * <ul>
+ * <li>Runs of each stage are serialised. Fetch runs on its own thread, so it is not held up by a long sweep,
+ * the process and predict sweeps share one.</li>
+ * <li>Trigger of a stage which is already queued is merged into the queued job.</li>
+ * <li>Queued sweeps run in the pipeline order, process before predict, whatever order they were
+ * triggered in.</li>
+ * <li>The items of {@link MatchPipeline} are handled under the shared side of the pipeline lock and every
+ * match of the process and predict sweeps under the exclusive one, so the pipeline and a sweep never work
+ * on the same match at once.</li>
+ * </ul>
+ */
+@Service
+public class PipelineCoordinator {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PipelineCoordinator.class);
+
+	@Autowired
+	private UpdateManagerService updateManagerService;
+
+	@Autowired
+	private JobManager jobManager;
+
+	@Autowired
+	@Qualifier("fetchExecutor")
+	private AsyncTaskExecutor fetchExecutor;
+
+	@Autowired
+	@Qualifier("sweepExecutor")
+	private AsyncTaskExecutor sweepExecutor;
+
+	@Autowired
+	private MetricRegistry metricRegistry;
+
+	// Queued jobs not started yet, at most one for each stage
+	private final Map<PipelineStage, Job> queued = new EnumMap<>(PipelineStage.class);
+
+	private final ReadWriteLock pipelineLock = new ReentrantReadWriteLock();
+
+	private final Map<PipelineStage, Timer> waitTimers = new EnumMap<>(PipelineStage.class);
+	private final Map<PipelineStage, Timer> runTimers = new EnumMap<>(PipelineStage.class);
+	private Meter mergedTriggers;
+
+	@PostConstruct
+	public void init() {
+
+		for (PipelineStage stage : PipelineStage.values()) {
+			waitTimers.put(stage, metricRegistry.timer(MetricRegistry.name(PipelineCoordinator.class, stage.getJobType(), "wait")));
+			runTimers.put(stage, metricRegistry.timer(MetricRegistry.name(PipelineCoordinator.class, stage.getJobType(), "run")));
+		}
+
+		mergedTriggers = metricRegistry.meter(MetricRegistry.name(PipelineCoordinator.class, "merged-triggers"));
+	}
+
+	/**
+	 * Reconciliation sweep, the new matches are handled by {@link MatchPipeline} right after fetch.
+	 * This picks up the matches the pipeline failed on or which were imported. Fetch is planned
+	 * by {@link FetchScheduler}.
+	 */
+	@Scheduled(initialDelay = 5 * 1000, fixedDelay = 60 * 60 * 1000)
+	public void runPipeline() {
+		trigger(PipelineStage.PROCESS);
+		trigger(PipelineStage.PREDICT);
+	}
+
+	/**
+	 * Request run of the stage.
+	 *
+	 * @return the queued job of the stage, new one or the one the request is merged into
+	 */
+	public Job trigger(PipelineStage stage) {
+		return submit(stage).getJob();
+	}
+
+	/**
+	 * Same as {@link #trigger} but tells whether the request is merged into already queued job.
+	 */
+	public synchronized Triggered submit(PipelineStage stage) {
+
+		Job job = queued.get(stage);
+
+		if (job != null && !job.isCancelRequested()) {
+			mergedTriggers.mark();
+			LOG.debug("Trigger of {} merged into queued job [{}]", stage, job.getId());
+			return new Triggered(job, true);
+		}
+
+		job = jobManager.create(stage.getJobType());
+
+		try {
+			executor(stage).execute(() -> runNext(executor(stage)));
+		} catch (TaskRejectedException e) {
+			jobManager.cancel(job.getId());
+			throw new JobRejectedException(String.format("Cannot submit %s job, the executor is busy", stage), e);
+		}
+
+		queued.put(stage, job);
+		return new Triggered(job, false);
+	}
+
+	/**
+	 * Single thread executor which serialises the runs of the stage
+	 */
+	private AsyncTaskExecutor executor(PipelineStage stage) {
+		return stage == PipelineStage.FETCH ? fetchExecutor : sweepExecutor;
+	}
+
+	/**
+	 * Run the first queued stage of the executor in the pipeline order. It is submitted once for every
+	 * queued job.
+	 */
+	private void runNext(AsyncTaskExecutor executor) {
+
+		PipelineStage stage = null;
+		Job job;
+
+		synchronized (this) {
+			for (PipelineStage queuedStage : queued.keySet()) {
+				if (executor(queuedStage) == executor) {
+					stage = queuedStage;
+					break;
+				}
+			}
+
+			if (stage == null)
+				return;
+
+			job = queued.remove(stage);
+		}
+
+		execute(stage, job);
+	}
+
+	/**
+	 * @return lock held by {@link MatchPipeline} while it handles an item
+	 */
+	public Lock getPipelineItemLock() {
+		return pipelineLock.readLock();
+	}
+
+	private void execute(PipelineStage stage, Job job) {
+
+		switch (stage) {
+		case FETCH:
+			// Fetch feeds the pipeline, it waits for the pipeline when the queue is full
+			jobManager.execute(job, updateManagerService::fetch);
+			break;
+		case PROCESS:
+			jobManager.execute(job, j -> updateManagerService.process(j, pipelineLock.writeLock()));
+			break;
+		case PREDICT:
+			jobManager.execute(job, j -> updateManagerService.predict(j, pipelineLock.writeLock()));
+			break;
+		}
+
+		if (job.getStarted() != null) {
+			waitTimers.get(stage).update(
+					Duration.between(job.getSubmitted(), job.getStarted()).toMillis(), TimeUnit.MILLISECONDS);
+			runTimers.get(stage).update(job.elapsedMillis(), TimeUnit.MILLISECONDS);
+		}
+	}
+
+	/**
+	 * Job of a trigger and whether it is merged into the job which was already queued
+	 */
+	public static final class Triggered {
+
+		private final Job job;
+		private final boolean merged;
+
+		Triggered(Job job, boolean merged) {
+			this.job = job;
+			this.merged = merged;
+		}
+
+		public Job getJob() {
+			return job;
+		}
+
+		public boolean isMerged() {
+			return merged;
+		}
+	}
+}
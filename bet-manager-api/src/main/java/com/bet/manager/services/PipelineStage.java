@@ -0,0 +1,21 @@
+package com.bet.manager.services;
+
+/**
+ * Stages of the update pipeline in the order they depend on each other.
+ */
+public enum PipelineStage {
+
+	FETCH("fetch"),
+	PROCESS("process"),
+	PREDICT("predict");
+
+	private final String jobType;
+
+	PipelineStage(String jobType) {
+		this.jobType = jobType;
+	}
+
+	public String getJobType() {
+		return jobType;
+	}
+}
@@ -3,22 +3,56 @@ package com.bet.manager.services;
 import com.bet.manager.model.PredictionsInfo;
 import com.bet.manager.model.entity.MatchStatus;
 import com.bet.manager.model.entity.PredictionType;
+import com.bet.manager.model.projection.PredictionTypeCount;
 import com.bet.manager.model.repository.FootballMatchRepository;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.support.TransactionSynchronizationAdapter;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
 
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Keeps in memory counters of the correctly and incorrectly predicted finished matches.
+ * {@link FootballMatchService} reports every prediction type change and the counters are
+ * periodically reconciled with the database to correct any drift.
+ * <p>
+ * The changes made in a transaction are applied after its commit, so rolled back changes are not
+ * counted. The transactions hold the read lock from before their commit until the counters are
+ * updated and the reconcile holds the write lock, so the database counts and the counters are
+ * read and set without changes in between.
+ */
 @Service
 public class PredictionInfoService {
 
+	private static final Logger LOG = LoggerFactory.getLogger(PredictionInfoService.class);
+
 	@Autowired
 	private FootballMatchRepository footballMatchRepository;
 
+	@Autowired
+	private DataVersionService dataVersionService;
+
+	private final AtomicLong correctPredictions = new AtomicLong();
+	private final AtomicLong incorrectPredictions = new AtomicLong();
+
+	private final ReadWriteLock reconcileLock = new ReentrantReadWriteLock();
+
+	private volatile boolean reconciled;
+
 	public int correctPredictedMatchesCount() {
-		return footballMatchRepository.findByPredictionTypeAndMatchStatus(PredictionType.CORRECT, MatchStatus.FINISHED).size();
+		ensureReconciled();
+		return (int) correctPredictions.get();
 	}
 
 	public int incorrectPredictedMatchesCount() {
-		return footballMatchRepository.findByPredictionTypeAndMatchStatus(PredictionType.INCORRECT, MatchStatus.FINISHED).size();
+		ensureReconciled();
+		return (int) incorrectPredictions.get();
 	}
 
 	public PredictionsInfo getPredictionsInfo() {
@@ -27,4 +61,170 @@ public class PredictionInfoService {
 
 		return new PredictionsInfo(correctOnes, correctOnes + incorrectOnes);
 	}
+
+	/**
+	 * Update the counters after the prediction type of a match is changed.
+	 * Only finished matches could be predicted correctly or incorrectly. In a transaction the
+	 * counters are updated after the commit.
+	 *
+	 * @param previous prediction type before the change, NOT_PREDICTED for new matches
+	 * @param current  prediction type after the change, NOT_PREDICTED for deleted matches
+	 */
+	public void predictionTypeChanged(PredictionType previous, PredictionType current) {
+
+		if (previous == current)
+			return;
+
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			pendingChanges().add(previous, current);
+			return;
+		}
+
+		reconcileLock.readLock().lock();
+		try {
+			counterFor(previous, -1);
+			counterFor(current, 1);
+		} finally {
+			reconcileLock.readLock().unlock();
+		}
+	}
+
+	/**
+	 * Clears the counters, after the commit if called in transaction
+	 */
+	public void reset() {
+
+		if (TransactionSynchronizationManager.isActualTransactionActive()) {
+			pendingChanges().reset();
+			return;
+		}
+
+		reconcileLock.writeLock().lock();
+		try {
+			correctPredictions.set(0);
+			incorrectPredictions.set(0);
+		} finally {
+			reconcileLock.writeLock().unlock();
+		}
+	}
+
+	@Scheduled(initialDelay = 1000, fixedDelay = 15 * 60 * 1000)
+	public void reconcile() {
+
+		long correct = 0;
+		long incorrect = 0;
+		long correctDrift;
+		long incorrectDrift;
+
+		reconcileLock.writeLock().lock();
+		try {
+			for (PredictionTypeCount count : footballMatchRepository.countGroupedByPredictionType(MatchStatus.FINISHED)) {
+				if (count.getPredictionType() == PredictionType.CORRECT)
+					correct = count.getCount();
+				else if (count.getPredictionType() == PredictionType.INCORRECT)
+					incorrect = count.getCount();
+			}
+
+			correctDrift = correctPredictions.getAndSet(correct) - correct;
+			incorrectDrift = incorrectPredictions.getAndSet(incorrect) - incorrect;
+		} finally {
+			reconcileLock.writeLock().unlock();
+		}
+
+		if (correctDrift != 0 || incorrectDrift != 0) {
+			dataVersionService.increment();
+
+			if (reconciled)
+				LOG.warn("Prediction counters drifted from the database with {} correct and {} incorrect",
+						correctDrift, incorrectDrift);
+		}
+
+		reconciled = true;
+	}
+
+	private void counterFor(PredictionType predictionType, int delta) {
+		if (predictionType == PredictionType.CORRECT)
+			correctPredictions.addAndGet(delta);
+		else if (predictionType == PredictionType.INCORRECT)
+			incorrectPredictions.addAndGet(delta);
+	}
+
+	/**
+	 * @return the changes of the current transaction, registered for its completion on first use
+	 */
+	private PendingChanges pendingChanges() {
+		PendingChanges pending = (PendingChanges) TransactionSynchronizationManager.getResource(this);
+		if (pending == null) {
+			pending = new PendingChanges();
+			TransactionSynchronizationManager.bindResource(this, pending);
+			TransactionSynchronizationManager.registerSynchronization(pending);
+		}
+		return pending;
+	}
+
+	private void ensureReconciled() {
+		if (!reconciled) {
+			synchronized (this) {
+				if (!reconciled)
+					reconcile();
+			}
+		}
+	}
+
+	private final class PendingChanges extends TransactionSynchronizationAdapter {
+
+		private boolean reset;
+		private long correct;
+		private long incorrect;
+		private boolean locked;
+
+		private void add(PredictionType previous, PredictionType current) {
+			correct += delta(PredictionType.CORRECT, previous, current);
+			incorrect += delta(PredictionType.INCORRECT, previous, current);
+		}
+
+		private void reset() {
+			reset = true;
+			correct = 0;
+			incorrect = 0;
+		}
+
+		@Override
+		public void beforeCommit(boolean readOnly) {
+			// Reset changes the counters exclusively
+			(reset ? reconcileLock.writeLock() : reconcileLock.readLock()).lock();
+			locked = true;
+		}
+
+		@Override
+		public void afterCommit() {
+			if (reset) {
+				correctPredictions.set(correct);
+				incorrectPredictions.set(incorrect);
+			} else {
+				correctPredictions.addAndGet(correct);
+				incorrectPredictions.addAndGet(incorrect);
+			}
+			unlock();
+		}
+
+		@Override
+		public void afterCompletion(int status) {
+			TransactionSynchronizationManager.unbindResource(PredictionInfoService.this);
+			// Still locked if the commit failed
+			unlock();
+		}
+
+		private void unlock() {
+			if (!locked)
+				return;
+
+			locked = false;
+			(reset ? reconcileLock.writeLock() : reconcileLock.readLock()).unlock();
+		}
+
+		private long delta(PredictionType counted, PredictionType previous, PredictionType current) {
+			return (current == counted ? 1 : 0) - (previous == counted ? 1 : 0);
+		}
+	}
 }
@@ -0,0 +1,67 @@
+package com.bet.manager.services;
+
+import com.bet.manager.commons.jfr.FlightEventType;
+import com.bet.manager.commons.jfr.FlightEvents;
+import com.bet.manager.commons.jfr.FlightOperation;
+import com.bet.manager.commons.trace.Span;
+import com.bet.manager.commons.trace.Tracer;
+import com.bet.manager.core.ai.IPredictor;
+import com.bet.manager.metrics.MetricsCounterContainer;
+import com.bet.manager.metrics.MetricsTimerContainer;
+import com.bet.manager.model.entity.FootballMatch;
+import com.codahale.metrics.Timer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.stereotype.Service;
+
+/**
+ * Predicts single match for the prediction sweep and the {@link MatchPipeline}. Only the prediction
+ * of the stored match is updated, so the fields changed by a fetch meanwhile are kept.
+ */
+@Service
+public class PredictionService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(PredictionService.class);
+
+	@Autowired
+	private FootballMatchService footballMatchService;
+
+	@Autowired
+	private IPredictor predictor;
+
+	@Autowired
+	private MetricsCounterContainer metricsCounterContainer;
+
+	@Autowired
+	private MetricsTimerContainer metricsTimerContainer;
+
+	/**
+	 * @param match match with metadata
+	 * @return true if the prediction is stored, the failure is logged
+	 */
+	public boolean predict(FootballMatch match) {
+
+		try {
+			String prediction;
+			try (Timer.Context ignored = metricsTimerContainer.getPrediction().time();
+				 Span span = Tracer.startSpan("predict").tag("match", match.getSummary());
+				 FlightOperation event = FlightEvents.begin(FlightEventType.PREDICTION)
+						 .team(match.getHomeTeam() + " - " + match.getAwayTeam()).round(match.getRound())) {
+				prediction = predictor.predict(match);
+			}
+
+			if (footballMatchService.updatePrediction(match, prediction) == null) {
+				metricsCounterContainer.incPredictionsFailures();
+				return false;
+			}
+
+			metricsCounterContainer.incPredictionsSuccesses();
+			return true;
+		} catch (Exception e) {
+			metricsCounterContainer.incPredictionsFailures();
+			LOG.error("Error occur during creation prediction for match {}", match.getSummary(), e);
+			return false;
+		}
+	}
+}
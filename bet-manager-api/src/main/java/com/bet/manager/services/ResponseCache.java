@@ -0,0 +1,145 @@
+package com.bet.manager.services;
+
+import com.bet.manager.events.FootballMatchChangedEvent;
+import com.bet.manager.events.MatchChange;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.event.TransactionalEventListener;
+
+import javax.annotation.PostConstruct;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.function.Predicate;
+import java.util.function.Supplier;
+
+/**
+ * Bounded LRU cache for the responses of the read endpoints. Every entry knows which match changes
+ * affect it and is dropped by the {@link FootballMatchChangedEvent} published after such change commits.
+ */
+@Service
+public class ResponseCache {
+
+	private static final Logger LOG = LoggerFactory.getLogger(ResponseCache.class);
+
+	@Value("${response.cache.max.entries}")
+	private int maxEntries;
+
+	@Autowired
+	private MetricRegistry metricRegistry;
+
+	private Map<String, Entry> entries;
+
+	// Incremented on every change, response computed while a change commits is not stored
+	private long generation;
+
+	private Meter hits;
+	private Meter misses;
+	private Meter evictions;
+	private Meter invalidations;
+
+	@PostConstruct
+	public void init() {
+
+		entries = new LinkedHashMap<String, Entry>(16, 0.75f, true) {
+			@Override
+			protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+				boolean evict = size() > maxEntries;
+				if (evict)
+					evictions.mark();
+				return evict;
+			}
+		};
+
+		hits = metricRegistry.meter(MetricRegistry.name(ResponseCache.class, "hits"));
+		misses = metricRegistry.meter(MetricRegistry.name(ResponseCache.class, "misses"));
+		evictions = metricRegistry.meter(MetricRegistry.name(ResponseCache.class, "evictions"));
+		invalidations = metricRegistry.meter(MetricRegistry.name(ResponseCache.class, "invalidations"));
+		metricRegistry.register(MetricRegistry.name(ResponseCache.class, "size"), (Gauge<Integer>) this::size);
+	}
+
+	/**
+	 * Return the cached response for the key or compute and cache it.
+	 *
+	 * @param key        normalised request parameters, including the endpoint
+	 * @param affectedBy true for the match changes after which the response is no longer valid
+	 * @param loader     computes the response on miss, it is called without holding the cache lock
+	 */
+	@SuppressWarnings("unchecked")
+	public <T> T get(String key, Predicate<MatchChange> affectedBy, Supplier<T> loader) {
+
+		long loadGeneration;
+
+		synchronized (this) {
+			Entry entry = entries.get(key);
+			if (entry != null) {
+				hits.mark();
+				return (T) entry.value;
+			}
+
+			misses.mark();
+			loadGeneration = generation;
+		}
+
+		T value = loader.get();
+
+		synchronized (this) {
+			if (loadGeneration == generation)
+				entries.put(key, new Entry(value, affectedBy));
+		}
+
+		return value;
+	}
+
+	// After the match index has the changes, see MatchIndexService
+	@Order(Ordered.HIGHEST_PRECEDENCE + 1)
+	@TransactionalEventListener(fallbackExecution = true)
+	public synchronized void onMatchesChanged(FootballMatchChangedEvent event) {
+
+		generation++;
+
+		if (event.isAllMatches()) {
+			invalidations.mark(entries.size());
+			entries.clear();
+			return;
+		}
+
+		int invalidated = 0;
+		Iterator<Entry> iterator = entries.values().iterator();
+
+		while (iterator.hasNext()) {
+			Predicate<MatchChange> affectedBy = iterator.next().affectedBy;
+
+			if (event.getChanges().stream().anyMatch(affectedBy)) {
+				iterator.remove();
+				invalidated++;
+			}
+		}
+
+		invalidations.mark(invalidated);
+		LOG.debug("{} match changes invalidated {} cached responses", event.getChanges().size(), invalidated);
+	}
+
+	public synchronized int size() {
+		return entries.size();
+	}
+
+	private static final class Entry {
+
+		private final Object value;
+		private final Predicate<MatchChange> affectedBy;
+
+		private Entry(Object value, Predicate<MatchChange> affectedBy) {
+			this.value = value;
+			this.affectedBy = affectedBy;
+		}
+	}
+}
@@ -1,37 +1,187 @@
 package com.bet.manager.services;
 
 import com.bet.manager.commons.util.ClasspathUtils;
+import com.bet.manager.exceptions.InvalidSearchParameterException;
+import com.bet.manager.model.SearchPage;
 import com.bet.manager.model.entity.FootballMatch;
 import com.bet.manager.model.entity.MatchStatus;
 import com.bet.manager.model.entity.PredictionType;
+import com.bet.manager.model.projection.FootballMatchView;
+import com.bet.manager.model.search.MatchCursor;
+import com.bet.manager.model.search.MatchIndex;
+import com.bet.manager.model.search.MatchSearchFilter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.apache.commons.lang.StringUtils;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import javax.persistence.EntityManager;
+import javax.persistence.TypedQuery;
 import java.util.List;
+import java.util.function.Function;
 
 @Service
 public class SearchService {
 
+	// Deeper pages must be requested with continuation token, the database
+	// scans and throws away every row before the offset
+	private static final int MAX_OFFSET = 1000;
+
+	static final String VIEW_SELECT = "SELECT " + FootballMatchView.JPQL_CONSTRUCTOR + " FROM FootballMatch AS m ";
+	private static final String ENTITY_SELECT = "SELECT m FROM FootballMatch AS m LEFT JOIN FETCH m.matchMetaData ";
+
 	@Autowired
 	private EntityManager em;
 
-	@SuppressWarnings("unchecked")
-	public List<FootballMatch> retrieveMatches(String homeTeam, String awayTeam, Integer year, Integer round,
-			PredictionType predictionType, MatchStatus matchStatus, int limit, int offset) {
+	@Autowired
+	private MatchIndexService matchIndexService;
+
+	@Autowired
+	private MetricRegistry metricRegistry;
+
+	@Value("${search.index.enabled}")
+	private boolean indexEnabled;
+
+	// The sql and index timers measure the same search of the views, the one with the metadata is timed apart
+	private Timer sqlTimer;
+	private Timer indexTimer;
+	private Timer sqlWithMetaDataTimer;
+
+	@PostConstruct
+	public void init() {
+		sqlTimer = metricRegistry.timer(MetricRegistry.name(SearchService.class, "sql"));
+		indexTimer = metricRegistry.timer(MetricRegistry.name(SearchService.class, "index"));
+		sqlWithMetaDataTimer = metricRegistry.timer(MetricRegistry.name(SearchService.class, "sql-with-metadata"));
+	}
+
+	/**
+	 * Search for matches ordered by year, round and id. Paging is possible either with offset
+	 * (up to {@value MAX_OFFSET}) or with the continuation token returned with the previous page.
+	 * The matches are returned without their metadata. They are searched in the in-memory index
+	 * when it is enabled and built, otherwise in the database.
+	 *
+	 * @param continuationToken token from the previous page or null for the first one
+	 * @return page with the matches and the token for the next one
+	 */
+	public SearchPage<FootballMatchView> retrieveMatches(String homeTeam, String awayTeam, Integer year, Integer round,
+			PredictionType predictionType, MatchStatus matchStatus, int limit, int offset, String continuationToken) {
+
+		MatchIndex index = indexEnabled ? matchIndexService.getIndex() : null;
+
+		if (index == null)
+			return search(VIEW_SELECT, FootballMatchView.class, MatchCursor::after, sqlTimer,
+					homeTeam, awayTeam, year, round, predictionType, matchStatus, limit, offset, continuationToken);
+
+		validate(limit, offset, continuationToken);
+		MatchCursor cursor = decode(continuationToken);
+
+		List<FootballMatchView> matches;
+		try (Timer.Context ignored = indexTimer.time()) {
+			matches = index.search(new MatchSearchFilter(homeTeam, awayTeam, year, round, predictionType, matchStatus),
+					cursor, offset, limit);
+		}
+
+		return new SearchPage<>(matches, nextToken(matches, limit, MatchCursor::after));
+	}
+
+	/**
+	 * Same as {@link #retrieveMatches} but the matches are returned as entities with the metadata fetched.
+	 */
+	public SearchPage<FootballMatch> retrieveMatchesWithMetaData(String homeTeam, String awayTeam, Integer year,
+			Integer round, PredictionType predictionType, MatchStatus matchStatus, int limit, int offset,
+			String continuationToken) {
+
+		return search(ENTITY_SELECT, FootballMatch.class, MatchCursor::after, sqlWithMetaDataTimer,
+				homeTeam, awayTeam, year, round, predictionType, matchStatus, limit, offset, continuationToken);
+	}
+
+	private <T> SearchPage<T> search(String select, Class<T> resultClass, Function<T, MatchCursor> cursorOf, Timer timer,
+			String homeTeam, String awayTeam, Integer year, Integer round, PredictionType predictionType,
+			MatchStatus matchStatus, int limit, int offset, String continuationToken) {
+
+		validate(limit, offset, continuationToken);
+		MatchCursor cursor = decode(continuationToken);
+
+		MatchSearchFilter filter = new MatchSearchFilter(homeTeam, awayTeam, year, round, predictionType, matchStatus);
+
+		List<T> matches;
+		try (Timer.Context ignored = timer.time()) {
+			matches = bindFilter(em.createQuery(searchQuery(select, filter, cursor), resultClass), filter)
+					.setMaxResults(limit)
+					.setFirstResult(offset)
+					.getResultList();
+		}
+
+		return new SearchPage<>(matches, nextToken(matches, limit, cursorOf));
+	}
+
+	private void validate(int limit, int offset, String continuationToken) {
+
+		if (limit < 1)
+			throw new InvalidSearchParameterException("Limit should be positive number.");
+
+		if (offset < 0 || offset > MAX_OFFSET)
+			throw new InvalidSearchParameterException(
+					"Offset should be in range [0.." + MAX_OFFSET + "], use continuation token for deeper pages.");
+
+		if (!StringUtils.isBlank(continuationToken) && offset != 0)
+			throw new InvalidSearchParameterException("Offset cannot be combined with continuation token.");
+	}
+
+	private MatchCursor decode(String continuationToken) {
+
+		if (StringUtils.isBlank(continuationToken))
+			return null;
+
+		try {
+			return MatchCursor.decode(continuationToken);
+		} catch (IllegalArgumentException e) {
+			throw new InvalidSearchParameterException(e.getMessage(), e);
+		}
+	}
+
+	private <T> String nextToken(List<T> matches, int limit, Function<T, MatchCursor> cursorOf) {
+		return matches.size() < limit ? null : cursorOf.apply(matches.get(matches.size() - 1)).encode();
+	}
+
+	/**
+	 * Build JPQL query of the search, the parameters have to be bound with {@link #bindFilter}.
+	 *
+	 * @param select select and from clause with the match aliased as m
+	 */
+	static String searchQuery(String select, MatchSearchFilter filter, MatchCursor cursor) {
 
 		String matchQuery = ClasspathUtils.getContentUTF8("queries/matchSearchQuery.rq");
 
-		return (List<FootballMatch>) em.createQuery(
-				String.format(matchQuery,
-						homeTeam == null ? "homeTeam" : homeTeam,
-						awayTeam == null ? "awayTeam" : awayTeam,
-						round == null ? "round" : round,
-						year == null ? "year" : year,
-						predictionType == null ? "predictionType" : predictionType.ordinal(),
-						matchStatus == null ? "matchStatus" : matchStatus.ordinal()))
-				.setMaxResults(limit)
-				.setFirstResult(offset)
-				.getResultList();
+		return select + String.format(matchQuery,
+				filter.getHomeTeam() == null ? "m.homeTeam" : ":homeTeam",
+				filter.getAwayTeam() == null ? "m.awayTeam" : ":awayTeam",
+				filter.getRound() == null ? "m.round" : filter.getRound(),
+				filter.getYear() == null ? "m.year" : filter.getYear(),
+				filter.getPredictionType() == null ? "m.predictionType" : filter.getPredictionType().ordinal(),
+				filter.getMatchStatus() == null ? "m.matchStatus" : filter.getMatchStatus().ordinal(),
+				seekCondition(cursor));
+	}
+
+	static <Q extends TypedQuery<?>> Q bindFilter(Q query, MatchSearchFilter filter) {
+
+		if (filter.getHomeTeam() != null)
+			query.setParameter("homeTeam", filter.getHomeTeam());
+		if (filter.getAwayTeam() != null)
+			query.setParameter("awayTeam", filter.getAwayTeam());
+
+		return query;
+	}
+
+	private static String seekCondition(MatchCursor cursor) {
+
+		if (cursor == null)
+			return "";
+
+		return String.format("AND (m.year > %1$s OR (m.year = %1$s AND (m.round > %2$s OR (m.round = %2$s AND m.id > %3$s))))",
+				cursor.getYear(), cursor.getRound(), cursor.getId());
 	}
 }
@@ -0,0 +1,73 @@
+package com.bet.manager.services;
+
+import com.bet.manager.commons.trace.Trace;
+import com.bet.manager.commons.trace.TraceFileExporter;
+import com.bet.manager.commons.trace.TraceRingBuffer;
+import com.bet.manager.commons.trace.Tracer;
+import com.bet.manager.exceptions.TraceNotFoundException;
+import org.apache.commons.lang.StringUtils;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+
+import javax.annotation.PostConstruct;
+import javax.annotation.PreDestroy;
+import java.io.IOException;
+import java.nio.file.Paths;
+import java.util.List;
+
+/**
+ * Collects the traces of the match processing in memory and optionally in a file, see {@link Tracer}.
+ */
+@Service
+public class TraceService {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TraceService.class);
+
+	@Value("${trace.buffer.capacity}")
+	private int bufferCapacity;
+
+	@Value("${trace.export.file}")
+	private String exportFile;
+
+	private TraceRingBuffer buffer;
+	private TraceFileExporter exporter;
+
+	@PostConstruct
+	public void init() throws IOException {
+
+		buffer = new TraceRingBuffer(bufferCapacity);
+		Tracer.addSink(buffer);
+
+		if (!StringUtils.isBlank(exportFile)) {
+			exporter = new TraceFileExporter(Paths.get(exportFile));
+			Tracer.addSink(exporter);
+			LOG.info("Exporting traces to {}", exportFile);
+		}
+	}
+
+	@PreDestroy
+	public void shutdown() throws IOException {
+
+		Tracer.removeSink(buffer);
+
+		if (exporter != null) {
+			Tracer.removeSink(exporter);
+			exporter.close();
+		}
+	}
+
+	public List<Trace> getTraces(int limit) {
+		return buffer.recent(limit);
+	}
+
+	public Trace getTrace(String traceId) {
+
+		Trace trace = buffer.find(traceId);
+		if (trace == null)
+			throw new TraceNotFoundException(String.format("Trace with id '%s' does not exist", traceId));
+
+		return trace;
+	}
+}
@@ -1,29 +1,45 @@
 package com.bet.manager.services;
 
+import com.bet.manager.commons.trace.Span;
+import com.bet.manager.commons.trace.Tracer;
 import com.bet.manager.commons.util.PerformanceUtils;
+import com.bet.manager.core.CrawlSource;
 import com.bet.manager.core.IMatchParser;
 import com.bet.manager.core.WebCrawler;
-import com.bet.manager.core.ai.IPredictor;
 import com.bet.manager.core.data.DataManager;
 import com.bet.manager.metrics.MetricsCounterContainer;
+import com.bet.manager.metrics.MetricsTimerContainer;
+import com.bet.manager.model.Job;
 import com.bet.manager.model.entity.FootballMatch;
 import com.bet.manager.model.entity.MatchStatus;
 import com.bet.manager.model.entity.PredictionType;
 import com.bet.manager.model.repository.FootballMatchRepository;
-import com.bet.manager.model.util.FootballMatchBuilder;
+import com.bet.manager.model.util.KickOffPriorityQueue;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
+import javax.annotation.PostConstruct;
 import java.net.MalformedURLException;
 import java.net.URL;
+import java.time.Duration;
 import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.locks.Lock;
 import java.util.stream.Collectors;
 
 @Service
@@ -31,8 +47,7 @@ public class UpdateManagerService {
 
 	private static final Logger LOG = LoggerFactory.getLogger(UpdateManagerService.class);
 
-	private static final String FETCH_BASE_URL =
-			"http://api.football-data.org/v1/fixtures?league=BL1&timeFrameStart=%s&timeFrameEnd=%s";
+	private static final String FETCH_URL = "v1/fixtures?league=BL1&timeFrameStart=%s&timeFrameEnd=%s";
 
 	@Autowired
 	private FootballMatchService footballMatchService;
@@ -41,7 +56,7 @@ public class UpdateManagerService {
 	private FootballMatchRepository footballMatchRepository;
 
 	@Autowired
-	private IPredictor predictor;
+	private PredictionService predictionService;
 
 	@Autowired
 	private DataManager<FootballMatch> dataManager;
@@ -52,74 +67,215 @@ public class UpdateManagerService {
 	@Autowired
 	private MetricsCounterContainer metricsCounterContainer;
 
-	@Scheduled(initialDelay = 5 * 1000, fixedDelay = 60 * 60 * 1000)
-	public void fetch() throws MalformedURLException, InterruptedException {
+	@Autowired
+	private MetricsTimerContainer metricsTimerContainer;
+
+	@Autowired
+	private MatchPipeline matchPipeline;
+
+	@Autowired
+	private FixtureChangeTracker fixtureChangeTracker;
+
+	@Autowired
+	private MetaDataRetryService metaDataRetryService;
+
+	@Autowired
+	private MetricRegistry metricRegistry;
+
+	@Value("${fetch.match.duration.minutes}")
+	private long matchDurationMinutes;
+
+	@Value("${priority.backfill.share}")
+	private double backfillShare;
+
+	// Queues of the last runs, the matches left in them are pending
+	private volatile KickOffPriorityQueue metadataQueue;
+	private volatile KickOffPriorityQueue predictionQueue;
+
+	// Seconds from the expected final whistle to the fetch which stored the result
+	private Histogram resultLatency;
+
+	@PostConstruct
+	public void init() {
+		resultLatency = metricRegistry.histogram(MetricRegistry.name(UpdateManagerService.class, "result-latency"));
+		metricRegistry.register(MetricRegistry.name(UpdateManagerService.class, "oldest-upcoming-pending-seconds"),
+				(Gauge<Long>) this::oldestUpcomingAgeSeconds);
+	}
+
+	public void fetch(Job job) throws MalformedURLException, InterruptedException {
 
 		LocalDate now = LocalDate.now();
 
-		String matchesURL = String.format(FETCH_BASE_URL,
+		String matchesURL = String.format(CrawlSource.FOOTBALL_DATA.getBaseUrl() + FETCH_URL,
 				now.minusDays(3),
 				now.plusDays(14));
 
 		LOG.info("Starting to fetch matches from [{}]", matchesURL);
 		String matchesContentFeed = WebCrawler.crawl_UTF8(new URL(matchesURL));
 
-		updateDataBase(matchesContentFeed);
+		updateDataBase(matchesContentFeed, job);
 		LOG.info("Finished fetching");
 	}
 
-	private void updateDataBase(String matchesFeed) {
+	/**
+	 * Store the fetched matches which changed since the previous fetch. The new ones and the changed ones
+	 * still without metadata or prediction are put in the pipeline which creates them, this blocks while
+	 * the pipeline is full.
+	 */
+	private void updateDataBase(String matchesFeed, Job job) throws InterruptedException {
 
-		Map<MatchStatus, List<FootballMatch>> fixtures = matchParser.parse(matchesFeed);
+		Map<MatchStatus, List<FootballMatch>> fixtures;
+		try (Timer.Context ignored = metricsTimerContainer.getParse().time()) {
+			fixtures = matchParser.parse(matchesFeed);
+		}
 
 		List<FootballMatch> allMatches = new ArrayList<>();
 		allMatches.addAll(fixtures.get(MatchStatus.NOT_STARTED));
 		allMatches.addAll(fixtures.get(MatchStatus.STARTED));
 		allMatches.addAll(fixtures.get(MatchStatus.FINISHED));
+		job.setTotal(allMatches.size());
+		metricsTimerContainer.getParsedMatches().update(allMatches.size());
+
+		List<FootballMatch> changed = fixtureChangeTracker.changed(allMatches);
+		job.itemsDone(allMatches.size() - changed.size());
+		LOG.info("{} of {} fetched matches changed", changed.size(), allMatches.size());
 
-		footballMatchService.createMatches(
-				allMatches.stream()
-						.filter(m -> !footballMatchRepository.exist(m))
-						.collect(Collectors.toList()));
+		recordResultLatency(changed.stream()
+				.filter(m -> m.getMatchStatus() == MatchStatus.FINISHED)
+				.collect(Collectors.toList()));
 
-		footballMatchService.updateMatches(allMatches);
+		Map<Boolean, List<FootballMatch>> byExistence = changed.stream()
+				.collect(Collectors.partitioningBy(footballMatchRepository::exist));
+
+		List<FootballMatch> created = footballMatchService.createMatches(byExistence.get(false));
+		List<FootballMatch> updated = footballMatchService.updateMatches(byExistence.get(true));
+
+		// The failed fixtures are not remembered, so they are compared and stored again on the next fetch
+		List<FootballMatch> stored = new ArrayList<>(created);
+		stored.addAll(updated);
+		fixtureChangeTracker.remember(stored);
+
+		job.itemsDone(stored.size());
+		for (int i = stored.size(); i < changed.size(); i++)
+			job.itemFailed();
+
+		for (FootballMatch m : created)
+			matchPipeline.submit(m);
+		for (FootballMatch m : updated)
+			if (isIncomplete(footballMatchRepository.retrieve(m)))
+				matchPipeline.submit(m);
 	}
 
-	@Scheduled(initialDelay = 10 * 1000, fixedDelay = 60 * 60 * 1000)
-	public void process() {
+	private static boolean isIncomplete(FootballMatch stored) {
+		return stored != null
+				&& (stored.getMatchMetaData() == null || StringUtils.isBlank(stored.getPrediction()));
+	}
 
-		List<FootballMatch> matchesWithoutMetadata = new ArrayList<>();
+	private void recordResultLatency(List<FootballMatch> finished) {
 
-		long start = System.currentTimeMillis();
-		LOG.info("Starting to create metadata for the matches");
+		LocalDateTime now = LocalDateTime.now(ZoneOffset.UTC);
+
+		for (FootballMatch m : finished) {
+			FootballMatch stored = footballMatchRepository.retrieve(m);
+
+			if (stored == null || stored.getMatchStatus() == MatchStatus.FINISHED || m.getStartDate() == null)
+				continue;
+
+			LocalDateTime finalWhistle = m.getStartDate().plusMinutes(matchDurationMinutes);
+			resultLatency.update(Math.max(0, Duration.between(finalWhistle, now).getSeconds()));
+		}
+	}
 
-		footballMatchRepository.findAll().stream()
-				.filter(m -> m.getMatchMetaData() == null)
-				.forEach(m -> {
-					try {
+	/**
+	 * Create metadata for the matches without it which are not in the pipeline and are due for retry
+	 * if they failed before. The matches are taken by kick-off proximity, see {@link KickOffPriorityQueue},
+	 * and stored one by one. When the job is cancelled the metadata created so far is still stored.
+	 *
+	 * @param itemLock held for every match, it keeps {@link MatchPipeline} off the match
+	 */
+	public void process(Job job, Lock itemLock) {
 
-						FootballMatch updatedMatch = dataManager.createData(m);
-						matchesWithoutMetadata.add(updatedMatch);
+		long start = System.currentTimeMillis();
+		LOG.info("Starting to create metadata for the matches");
 
-						metricsCounterContainer.incMetadataSuccesses();
-					} catch (Exception e) {
-						metricsCounterContainer.incMetadataFailures();
-						LOG.error("Error occur during creating metadata for match {}", m.getSummary(), e);
-					}
-				});
+		Set<Long> blocked = metaDataRetryService.getBlockedMatchIds();
+
+		List<FootballMatch> matches = footballMatchRepository.findByMatchMetaDataIsNull()
+				.stream()
+				.filter(m -> !blocked.contains(m.getId()))
+				.filter(m -> !matchPipeline.isInFlight(m))
+				.collect(Collectors.toList());
+		job.setTotal(matches.size());
+
+		KickOffPriorityQueue queue = priorityQueue(matches);
+		metadataQueue = queue;
+
+		FootballMatch m;
+		while ((m = queue.poll()) != null) {
+			if (job.isCancelRequested()) {
+				LOG.info("Metadata creation cancelled");
+				break;
+			}
+
+			itemLock.lock();
+			try {
+				processMatch(m, job);
+			} finally {
+				itemLock.unlock();
+			}
+		}
 
 		long end = System.currentTimeMillis();
 		LOG.info("Metadata creation finished in {}", PerformanceUtils.convertToHumanReadable(end - start));
+	}
+
+	private void processMatch(FootballMatch m, Job job) {
 
-		footballMatchService.updateMatches(matchesWithoutMetadata);
+		// Submitted to the pipeline since the run started
+		if (matchPipeline.isInFlight(m)) {
+			job.itemDone();
+			return;
+		}
+
+		// Every match is traced on its own, the job id ties it to the trace of the job
+		try (Span trace = Tracer.startTrace("metadata " + m.getSummary()).tag("job", job.getId())) {
+			try {
+				FootballMatch updatedMatch;
+				try (Timer.Context ignored = metricsTimerContainer.getMetadata().time()) {
+					updatedMatch = dataManager.createData(m);
+				}
+
+				// Stored right away, the match which kicks off soon does not wait for the whole run. Only
+				// the metadata is stored, the match could be fetched again since the run started.
+				if (footballMatchService.updateMetaData(m, updatedMatch.getMatchMetaData()) == null)
+					throw new IllegalStateException("Metadata of match " + m.getSummary() + " is not stored");
+				metaDataRetryService.succeeded(Collections.singletonList(m));
+
+				metricsCounterContainer.incMetadataSuccesses();
+				job.itemDone();
+			} catch (Exception e) {
+				metricsCounterContainer.incMetadataFailures();
+				metaDataRetryService.failed(m, e);
+				job.itemFailed();
+				trace.tag("error", e.getMessage());
+				LOG.error("Error occur during creating metadata for match {}", m.getSummary(), e);
+			}
+		}
 	}
 
-	@Scheduled(initialDelay = 15 * 1000, fixedDelay = 60 * 60 * 1000)
-	public void predict() {
+	/**
+	 * Predict the matches which have metadata and are not in the pipeline, by kick-off proximity. Every
+	 * prediction is stored right away, when the job is cancelled the predictions made so far are kept.
+	 *
+	 * @param itemLock held for every match, it keeps {@link MatchPipeline} off the match
+	 */
+	public void predict(Job job, Lock itemLock) {
 
 		List<FootballMatch> matchesWithoutPrediction =
-				footballMatchRepository.findByPredictionType(PredictionType.NOT_PREDICTED).stream()
-						.filter(m -> m.getMatchMetaData() != null && StringUtils.isBlank(m.getPrediction()))
+				footballMatchRepository.findWithMetaDataByPredictionTypeAndMatchMetaDataIsNotNull(PredictionType.NOT_PREDICTED)
+						.stream()
+						.filter(m -> StringUtils.isBlank(m.getPrediction()))
+						.filter(m -> !matchPipeline.isInFlight(m))
 						.collect(Collectors.toList());
 
 		if (matchesWithoutPrediction.size() == 0) {
@@ -130,23 +286,49 @@ public class UpdateManagerService {
 		long start = System.currentTimeMillis();
 		LOG.info("Starting to make predictions for {} matches", matchesWithoutPrediction.size());
 
-		List<FootballMatch> predicted = new ArrayList<>();
-
-		matchesWithoutPrediction
-				.forEach(m -> {
-					try {
-						m = new FootballMatchBuilder(m).setPrediction(predictor.predict(m)).build();
-						predicted.add(m);
-						metricsCounterContainer.incPredictionsSuccesses();
-					} catch (Exception e) {
-						metricsCounterContainer.incPredictionsFailures();
-						LOG.error("Error occur during creation prediction for match {}", m.getSummary(), e);
-					}
-				});
+		job.setTotal(matchesWithoutPrediction.size());
+
+		KickOffPriorityQueue queue = priorityQueue(matchesWithoutPrediction);
+		predictionQueue = queue;
+
+		FootballMatch m;
+		while ((m = queue.poll()) != null) {
+			if (job.isCancelRequested()) {
+				LOG.info("Prediction cancelled");
+				break;
+			}
+
+			itemLock.lock();
+			// Traced per match as in process(), one trace of the whole run would keep a span of every match
+			try (Span trace = Tracer.startTrace("prediction " + m.getSummary()).tag("job", job.getId())) {
+				if (matchPipeline.isInFlight(m) || predictionService.predict(m)) {
+					job.itemDone();
+				} else {
+					job.itemFailed();
+					trace.tag("error", "Prediction is not stored");
+				}
+			} finally {
+				itemLock.unlock();
+			}
+		}
 
 		long end = System.currentTimeMillis();
 		LOG.info("Prediction finished in {}", PerformanceUtils.convertToHumanReadable(end - start));
+	}
+
+	private KickOffPriorityQueue priorityQueue(List<FootballMatch> matches) {
+		return new KickOffPriorityQueue(matches, LocalDateTime.now(ZoneOffset.UTC),
+				Duration.ofMinutes(matchDurationMinutes), backfillShare);
+	}
+
+	private long oldestUpcomingAgeSeconds() {
+
+		long age = 0;
+		for (KickOffPriorityQueue queue : Arrays.asList(metadataQueue, predictionQueue)) {
+			if (queue != null)
+				age = Math.max(age, queue.oldestUpcomingAge().getSeconds());
+		}
 
-		footballMatchService.updateMatches(predicted);
+		return age;
 	}
 }
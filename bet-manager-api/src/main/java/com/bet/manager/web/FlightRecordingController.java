@@ -0,0 +1,48 @@
+package com.bet.manager.web;
+
+import com.bet.manager.model.FlightRecording;
+import com.bet.manager.services.FlightRecordingService;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.*;
+
+@RestController
+@RequestMapping(value = "/recordings", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+public class FlightRecordingController {
+
+	@Autowired
+	private FlightRecordingService flightRecordingService;
+
+	@ResponseBody
+	@RequestMapping(method = RequestMethod.GET)
+	@ApiOperation(value = "Get the running or the last stopped flight recording.")
+	public ResponseEntity<FlightRecording> getRecording() {
+
+		FlightRecording recording = flightRecordingService.getRecording();
+		return recording == null ? ResponseEntity.notFound().build() : ResponseEntity.ok(recording);
+	}
+
+	@ResponseBody
+	@RequestMapping(value = "/start", method = RequestMethod.POST)
+	@ResponseStatus(HttpStatus.OK)
+	@ApiOperation(value = "Start flight recording, only one recording can run at a time.")
+	public FlightRecording startRecording(
+			@ApiParam(name = "settings", value = "Name of the jdk settings, default or profile")
+			@RequestParam(value = "settings", required = false) String settings) {
+
+		return flightRecordingService.start(settings);
+	}
+
+	@ResponseBody
+	@RequestMapping(value = "/stop", method = RequestMethod.POST)
+	@ResponseStatus(HttpStatus.OK)
+	@ApiOperation(value = "Stop the running flight recording and dump it to file on the server.")
+	public FlightRecording stopRecording() {
+
+		return flightRecordingService.stop();
+	}
+}
@@ -1,23 +1,50 @@
 package com.bet.manager.web;
 
+import com.bet.manager.model.ImportSummary;
 import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.entity.MatchStatus;
+import com.bet.manager.model.entity.PredictionType;
+import com.bet.manager.model.search.MatchSearchFilter;
+import com.bet.manager.services.ExportService;
+import com.bet.manager.services.DataVersionService;
 import com.bet.manager.services.FootballMatchService;
+import com.bet.manager.services.ImportService;
+import com.bet.manager.services.ResponseCache;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import springfox.documentation.annotations.ApiIgnore;
 
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletResponse;
+import java.io.IOException;
 import java.util.List;
 
 @RestController
 @RequestMapping(value = "/matches", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
 public class FootballMatchController {
 
+	public static final String NDJSON_VALUE = "application/x-ndjson";
+
 	@Autowired
 	private FootballMatchService footballMatchService;
 
+	@Autowired
+	private ResponseCache responseCache;
+
+	@Autowired
+	private DataVersionService dataVersionService;
+
+	@Autowired
+	private ExportService exportService;
+
+	@Autowired
+	private ImportService importService;
+
 	@ResponseBody
 	@RequestMapping(method = RequestMethod.POST)
 	@ResponseStatus(HttpStatus.CREATED)
@@ -29,6 +56,16 @@ public class FootballMatchController {
 		footballMatchService.createMatches(matches);
 	}
 
+	@ResponseBody
+	@RequestMapping(method = RequestMethod.POST, consumes = NDJSON_VALUE)
+	@ResponseStatus(HttpStatus.OK)
+	@ApiOperation(value = "Import matches from newline delimited JSON, one match per line. The matches are saved "
+			+ "in batches and the outcome of every line is summarized in the response.")
+	public ImportSummary importMatches(@ApiIgnore HttpServletRequest request) throws IOException {
+
+		return importService.importMatches(request.getInputStream());
+	}
+
 	@ResponseBody
 	@RequestMapping(method = RequestMethod.PUT)
 	@ResponseStatus(HttpStatus.OK)
@@ -42,11 +79,48 @@ public class FootballMatchController {
 
 	@ResponseBody
 	@RequestMapping(value = "/count", method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
-	@ApiOperation(value = "Return matches count in the database.")
-	public long matchesCount() {
+	@ApiOperation(value = "Return matches count in the database. Supports conditional requests with ETag.")
+	public Long matchesCount(@ApiIgnore WebRequest request) {
+
+		if (request.checkNotModified(dataVersionService.etag()))
+			return null;
+
+		return responseCache.get("matches/count",
+				change -> change.isCreated() || change.isDeleted(),
+				footballMatchService::matchesCount);
+	}
+
+	@RequestMapping(value = "/export", method = RequestMethod.GET, produces = NDJSON_VALUE)
+	@ApiOperation(value = "Export the matches as newline delimited JSON, one match per line ordered by year, round and id.")
+	public void exportMatches(
+			@ApiParam(name = "homeTeam", value = "First team name")
+			@RequestParam(name = "homeTeam", required = false) String homeTeam,
+
+			@ApiParam(name = "awayTeam", value = "Second team name")
+			@RequestParam(name = "awayTeam", required = false) String awayTeam,
+
+			@ApiParam(name = "year", value = "Year of the match")
+			@RequestParam(name = "year", required = false) Integer year,
+
+			@ApiParam(name = "round", value = "Round of the match")
+			@RequestParam(name = "round", required = false) Integer round,
+
+			@ApiParam(name = "predictionType", value = "Prediction type of a match", allowableValues = "CORRECT, NOT_PREDICTED, INCORRECT")
+			@RequestParam(name = "predictionType", required = false) PredictionType predictionType,
+
+			@ApiParam(name = "matchStatus", value = "Status of a match", allowableValues = "NOT_STARTED, STARTED, FINISHED")
+			@RequestParam(name = "matchStatus", required = false) MatchStatus matchStatus,
+
+			@ApiIgnore HttpServletResponse response) throws IOException {
+
+		response.setContentType(NDJSON_VALUE);
+		response.setCharacterEncoding("UTF-8");
+
+		exportService.exportMatches(
+				new MatchSearchFilter(homeTeam, awayTeam, year, round, predictionType, matchStatus),
+				response.getOutputStream());
 
-		return footballMatchService.matchesCount();
+		response.flushBuffer();
 	}
 
 	@ResponseBody
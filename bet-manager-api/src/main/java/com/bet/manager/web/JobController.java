@@ -0,0 +1,51 @@
+package com.bet.manager.web;
+
+import com.bet.manager.model.Job;
+import com.bet.manager.services.JobManager;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/jobs", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+public class JobController {
+
+	@Autowired
+	private JobManager jobManager;
+
+	@ResponseBody
+	@RequestMapping(method = RequestMethod.GET)
+	@ResponseStatus(HttpStatus.OK)
+	@ApiOperation(value = "Get the latest jobs.")
+	public List<Job> getJobs() {
+
+		return jobManager.getJobs();
+	}
+
+	@ResponseBody
+	@RequestMapping(value = "/{id}", method = RequestMethod.GET)
+	@ResponseStatus(HttpStatus.OK)
+	@ApiOperation(value = "Get progress of the job.")
+	public Job getJob(
+			@ApiParam(name = "id", value = "Job id")
+			@PathVariable("id") String id) {
+
+		return jobManager.getJob(id);
+	}
+
+	@ResponseBody
+	@RequestMapping(value = "/{id}/cancel", method = RequestMethod.POST)
+	@ResponseStatus(HttpStatus.OK)
+	@ApiOperation(value = "Cancel the job. Running job stops after the item it currently processes.")
+	public Job cancelJob(
+			@ApiParam(name = "id", value = "Job id")
+			@PathVariable("id") String id) {
+
+		return jobManager.cancel(id);
+	}
+}
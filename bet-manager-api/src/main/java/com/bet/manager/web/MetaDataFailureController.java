@@ -0,0 +1,42 @@
+package com.bet.manager.web;
+
+import com.bet.manager.model.entity.MetaDataFailure;
+import com.bet.manager.services.MetaDataRetryService;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/metadata/failures", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+public class MetaDataFailureController {
+
+	@Autowired
+	private MetaDataRetryService metaDataRetryService;
+
+	@ResponseBody
+	@RequestMapping(method = RequestMethod.GET)
+	@ResponseStatus(HttpStatus.OK)
+	@ApiOperation(value = "Get the failed metadata creations, the quarantined ones are never retried.")
+	public List<MetaDataFailure> getFailures(
+			@ApiParam(name = "quarantined", value = "Only the quarantined failures if true, only the retried ones if false")
+			@RequestParam(value = "quarantined", required = false) Boolean quarantined) {
+
+		return metaDataRetryService.getFailures(quarantined);
+	}
+
+	@ResponseBody
+	@RequestMapping(value = "/{matchId}", method = RequestMethod.DELETE)
+	@ResponseStatus(HttpStatus.OK)
+	@ApiOperation(value = "Delete the failure, the metadata of the match is created again by the next sweep.")
+	public MetaDataFailure releaseFailure(
+			@ApiParam(name = "matchId", value = "Id of the failed match")
+			@PathVariable("matchId") Long matchId) {
+
+		return metaDataRetryService.release(matchId);
+	}
+}
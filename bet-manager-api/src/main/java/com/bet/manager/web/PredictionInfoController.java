@@ -1,12 +1,14 @@
 package com.bet.manager.web;
 
 import com.bet.manager.model.PredictionsInfo;
+import com.bet.manager.services.DataVersionService;
 import com.bet.manager.services.PredictionInfoService;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import springfox.documentation.annotations.ApiIgnore;
 
 @RestController
 @RequestMapping(value = "/predictions", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
@@ -15,27 +17,39 @@ public class PredictionInfoController {
 	@Autowired
 	private PredictionInfoService predictionInfoService;
 
+	@Autowired
+	private DataVersionService dataVersionService;
+
 	@ResponseBody
 	@RequestMapping(value = "/info/correct", method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
 	@ApiOperation(value = "Get number of correctly predicted matches.")
-	public int getIncorrectMatchesCount() {
+	public Integer getIncorrectMatchesCount(@ApiIgnore WebRequest request) {
+
+		if (request.checkNotModified(dataVersionService.etag()))
+			return null;
+
 		return predictionInfoService.correctPredictedMatchesCount();
 	}
 
 	@ResponseBody
 	@RequestMapping(value = "/info/incorrect", method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
 	@ApiOperation(value = "Get number of not correctly predicted matches.")
-	public int getCorrectMatchesCount() {
+	public Integer getCorrectMatchesCount(@ApiIgnore WebRequest request) {
+
+		if (request.checkNotModified(dataVersionService.etag()))
+			return null;
+
 		return predictionInfoService.incorrectPredictedMatchesCount();
 	}
 
 	@ResponseBody
 	@RequestMapping(value = "/info", method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
-	@ApiOperation(value = "Get predictions statistics.")
-	public PredictionsInfo getPredictionsInfo() {
+	@ApiOperation(value = "Get predictions statistics. Supports conditional requests with ETag.")
+	public PredictionsInfo getPredictionsInfo(@ApiIgnore WebRequest request) {
+
+		if (request.checkNotModified(dataVersionService.etag()))
+			return null;
+
 		return predictionInfoService.getPredictionsInfo();
 	}
 }
@@ -1,16 +1,21 @@
 package com.bet.manager.web;
 
-import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.SearchPage;
 import com.bet.manager.model.entity.MatchStatus;
 import com.bet.manager.model.entity.PredictionType;
+import com.bet.manager.model.search.MatchSearchFilter;
+import com.bet.manager.services.DataVersionService;
+import com.bet.manager.services.ResponseCache;
 import com.bet.manager.services.SearchService;
 import io.swagger.annotations.ApiOperation;
 import io.swagger.annotations.ApiParam;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Controller;
 import org.springframework.web.bind.annotation.*;
+import org.springframework.web.context.request.WebRequest;
+import springfox.documentation.annotations.ApiIgnore;
 
 import java.util.List;
 
@@ -18,14 +23,22 @@ import java.util.List;
 @RequestMapping(value = "/search", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
 public class SearchController {
 
+	public static final String CONTINUATION_TOKEN_HEADER = "X-Continuation-Token";
+
 	@Autowired
 	private SearchService searchService;
 
+	@Autowired
+	private ResponseCache responseCache;
+
+	@Autowired
+	private DataVersionService dataVersionService;
+
 	@ResponseBody
 	@RequestMapping(method = RequestMethod.GET)
-	@ResponseStatus(HttpStatus.OK)
-	@ApiOperation(value = "Search for specific matches.")
-	public List<FootballMatch> retrieveMatches(
+	@ApiOperation(value = "Search for specific matches. When there are more results the token for the next page "
+			+ "is returned in the " + CONTINUATION_TOKEN_HEADER + " header. Supports conditional requests with ETag.")
+	public ResponseEntity<List<?>> retrieveMatches(
 			@ApiParam(name = "homeTeam", value = "First team name")
 			@RequestParam(name = "homeTeam", required = false) String homeTeam,
 
@@ -47,9 +60,41 @@ public class SearchController {
 			@ApiParam(name = "limit", value = "Limit of the result", defaultValue = "10")
 			@RequestParam(name = "limit", defaultValue = "10", required = false) int limit,
 
-			@ApiParam(name = "offset", value = "Offset of the result", defaultValue = "0")
-			@RequestParam(name = "offset", defaultValue = "0", required = false) int offset) {
+			@ApiParam(name = "offset", value = "Offset of the result (max 1000)", defaultValue = "0")
+			@RequestParam(name = "offset", defaultValue = "0", required = false) int offset,
+
+			@ApiParam(name = "continuation", value = "Continuation token from the previous page")
+			@RequestParam(name = "continuation", required = false) String continuation,
+
+			@ApiParam(name = "includeMetaData", value = "Return the matches together with their metadata", defaultValue = "false")
+			@RequestParam(name = "includeMetaData", defaultValue = "false", required = false) boolean includeMetaData,
+
+			@ApiIgnore WebRequest request) {
+
+		if (request.checkNotModified(dataVersionService.etag()))
+			return null;
+
+		SearchPage<?> page;
+
+		if (includeMetaData) {
+			// Not cached, the metadata of a single page can take megabytes
+			page = searchService.retrieveMatchesWithMetaData(
+					homeTeam, awayTeam, year, round, predictionType, matchStatus, limit, offset, continuation);
+		} else {
+			MatchSearchFilter filter = new MatchSearchFilter(homeTeam, awayTeam, year, round, predictionType, matchStatus);
+			String key = "search?" + filter + "&limit=" + limit + "&offset=" + offset + "&continuation=" + continuation;
+
+			page = responseCache.get(key,
+					change -> filter.matches(change.getBefore()) || filter.matches(change.getAfter()),
+					() -> searchService.retrieveMatches(
+							homeTeam, awayTeam, year, round, predictionType, matchStatus, limit, offset, continuation));
+		}
+
+		ResponseEntity.BodyBuilder response = ResponseEntity.ok();
+
+		if (page.getContinuationToken() != null)
+			response.header(CONTINUATION_TOKEN_HEADER, page.getContinuationToken());
 
-		return searchService.retrieveMatches(homeTeam, awayTeam, year, round, predictionType, matchStatus, limit, offset);
+		return response.body(page.getItems());
 	}
 }
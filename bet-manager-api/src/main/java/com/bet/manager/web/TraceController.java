@@ -0,0 +1,42 @@
+package com.bet.manager.web;
+
+import com.bet.manager.commons.trace.Trace;
+import com.bet.manager.services.TraceService;
+import io.swagger.annotations.ApiOperation;
+import io.swagger.annotations.ApiParam;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.*;
+
+import java.util.List;
+
+@RestController
+@RequestMapping(value = "/traces", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
+public class TraceController {
+
+	@Autowired
+	private TraceService traceService;
+
+	@ResponseBody
+	@RequestMapping(method = RequestMethod.GET)
+	@ResponseStatus(HttpStatus.OK)
+	@ApiOperation(value = "Get the latest traces of the jobs and the matches, the newest first.")
+	public List<Trace> getTraces(
+			@ApiParam(name = "limit", value = "Maximum number of traces")
+			@RequestParam(value = "limit", defaultValue = "20") int limit) {
+
+		return traceService.getTraces(limit);
+	}
+
+	@ResponseBody
+	@RequestMapping(value = "/{traceId}", method = RequestMethod.GET)
+	@ResponseStatus(HttpStatus.OK)
+	@ApiOperation(value = "Get the trace with its spans and the latency of each source.")
+	public Trace getTrace(
+			@ApiParam(name = "traceId", value = "Trace id")
+			@PathVariable("traceId") String traceId) {
+
+		return traceService.getTrace(traceId);
+	}
+}
@@ -1,45 +1,49 @@
 package com.bet.manager.web;
 
-import com.bet.manager.services.UpdateManagerService;
+import com.bet.manager.model.Job;
+import com.bet.manager.services.PipelineCoordinator;
+import com.bet.manager.services.PipelineStage;
 import io.swagger.annotations.ApiOperation;
 import org.springframework.beans.factory.annotation.Autowired;
-import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestMethod;
-import org.springframework.web.bind.annotation.ResponseStatus;
 import org.springframework.web.bind.annotation.RestController;
-
-import java.net.MalformedURLException;
+import org.springframework.web.servlet.support.ServletUriComponentsBuilder;
 
 @RestController
 @RequestMapping(value = "/matches", produces = MediaType.APPLICATION_JSON_UTF8_VALUE)
 public class UpdateManagerController {
 
 	@Autowired
-	private UpdateManagerService updateManagerService;
+	private PipelineCoordinator pipelineCoordinator;
 
 	@RequestMapping(value = "/fetch", method = RequestMethod.POST)
-	@ResponseStatus(value = HttpStatus.OK)
-	@ApiOperation(value = "Fetch the new matches and update that already exists.")
-	public void update() throws MalformedURLException, InterruptedException {
+	@ApiOperation(value = "Fetch the new matches and update that already exists. Returns the submitted job or the queued one the request is merged into.")
+	public ResponseEntity<Job> update() {
 
-		updateManagerService.fetch();
+		return accepted(pipelineCoordinator.trigger(PipelineStage.FETCH));
 	}
 
 	@RequestMapping(value = "/process", method = RequestMethod.POST)
-	@ResponseStatus(value = HttpStatus.OK)
-	@ApiOperation(value = "Create metadata for the matches that does not have already.")
-	public void process() {
+	@ApiOperation(value = "Create metadata for the matches that does not have already. Returns the submitted job.")
+	public ResponseEntity<Job> process() {
 
-		updateManagerService.process();
+		return accepted(pipelineCoordinator.trigger(PipelineStage.PROCESS));
 	}
 
 	@RequestMapping(value = "/predict", method = RequestMethod.POST)
-	@ResponseStatus(value = HttpStatus.OK)
-	@ApiOperation(value = "Create predictions for the matches that are not predicted yet.")
-	public void predict() {
+	@ApiOperation(value = "Create predictions for the matches that are not predicted yet. Returns the submitted job.")
+	public ResponseEntity<Job> predict() {
+
+		return accepted(pipelineCoordinator.trigger(PipelineStage.PREDICT));
+	}
 
-		updateManagerService.predict();
+	private static ResponseEntity<Job> accepted(Job job) {
+		return ResponseEntity
+				.accepted()
+				.location(ServletUriComponentsBuilder.fromCurrentContextPath().path("/jobs/{id}").buildAndExpand(job.getId()).toUri())
+				.body(job);
 	}
 }
@@ -0,0 +1,234 @@
+package com.bet.manager.web.filter;
+
+import javax.servlet.*;
+import javax.servlet.http.HttpServletRequest;
+import javax.servlet.http.HttpServletRequestWrapper;
+import javax.servlet.http.HttpServletResponse;
+import javax.servlet.http.HttpServletResponseWrapper;
+import java.io.IOException;
+import java.io.OutputStreamWriter;
+import java.io.PrintWriter;
+import java.util.Collections;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Locale;
+import java.util.stream.Collectors;
+import java.util.zip.GZIPOutputStream;
+
+/**
+ * Compress the response body with gzip when the client accepts it. The compressed representation
+ * has its own strong ETag, the suffix is appended to the tag on the way out and removed from
+ * If-None-Match on the way in.
+ */
+public class GzipResponseFilter implements Filter {
+
+	private static final String GZIP = "gzip";
+	private static final String ETAG_SUFFIX = "-" + GZIP + "\"";
+
+	@Override
+	public void init(FilterConfig filterConfig) throws ServletException {
+	}
+
+	@Override
+	public void doFilter(ServletRequest req, ServletResponse res, FilterChain chain) throws IOException, ServletException {
+
+		HttpServletRequest request = (HttpServletRequest) req;
+		HttpServletResponse response = (HttpServletResponse) res;
+
+		response.addHeader("Vary", "Accept-Encoding");
+
+		if (!acceptsGzip(request.getHeader("Accept-Encoding"))) {
+			chain.doFilter(request, response);
+			return;
+		}
+
+		GzipResponseWrapper gzipResponse = new GzipResponseWrapper(response);
+		chain.doFilter(new GzipRequestWrapper(request), gzipResponse);
+		gzipResponse.finish();
+	}
+
+	@Override
+	public void destroy() {
+	}
+
+	/**
+	 * Gzip is accepted when it is listed, or covered by "*", with non-zero q-value. Coding listed with
+	 * {@code q=0} or with invalid q-value is refused.
+	 */
+	static boolean acceptsGzip(String acceptEncoding) {
+
+		if (acceptEncoding == null)
+			return false;
+
+		Double gzipQuality = null;
+		Double anyQuality = null;
+
+		for (String element : acceptEncoding.split(",")) {
+			String[] parts = element.split(";");
+			String coding = parts[0].trim().toLowerCase(Locale.ROOT);
+
+			if (GZIP.equals(coding) || ("x-" + GZIP).equals(coding))
+				gzipQuality = Math.max(gzipQuality == null ? 0 : gzipQuality, quality(parts));
+			else if ("*".equals(coding))
+				anyQuality = quality(parts);
+		}
+
+		if (gzipQuality != null)
+			return gzipQuality > 0;
+
+		return anyQuality != null && anyQuality > 0;
+	}
+
+	private static double quality(String[] parts) {
+
+		for (int i = 1; i < parts.length; i++) {
+			String[] param = parts[i].split("=", 2);
+			if (param.length < 2 || !"q".equalsIgnoreCase(param[0].trim()))
+				continue;
+
+			try {
+				double q = Double.parseDouble(param[1].trim());
+				return q >= 0 && q <= 1 ? q : 0;
+			} catch (NumberFormatException e) {
+				return 0;
+			}
+		}
+
+		return 1;
+	}
+
+	private static final class GzipRequestWrapper extends HttpServletRequestWrapper {
+
+		private GzipRequestWrapper(HttpServletRequest request) {
+			super(request);
+		}
+
+		@Override
+		public String getHeader(String name) {
+			String value = super.getHeader(name);
+			return "If-None-Match".equalsIgnoreCase(name) && value != null ? value.replace(ETAG_SUFFIX, "\"") : value;
+		}
+
+		@Override
+		@SuppressWarnings("unchecked")
+		public Enumeration getHeaders(String name) {
+			if (!"If-None-Match".equalsIgnoreCase(name))
+				return super.getHeaders(name);
+
+			List<String> values = ((List<String>) Collections.list(super.getHeaders(name))).stream()
+					.map(value -> value.replace(ETAG_SUFFIX, "\""))
+					.collect(Collectors.toList());
+
+			return Collections.enumeration(values);
+		}
+	}
+
+	private static final class GzipResponseWrapper extends HttpServletResponseWrapper {
+
+		private GZIPOutputStream gzipStream;
+		private ServletOutputStream outputStream;
+		private PrintWriter writer;
+
+		private GzipResponseWrapper(HttpServletResponse response) {
+			super(response);
+		}
+
+		@Override
+		public void setHeader(String name, String value) {
+			if ("ETag".equalsIgnoreCase(name))
+				super.setHeader(name, gzipEtag(value));
+			else if (!"Content-Length".equalsIgnoreCase(name))
+				super.setHeader(name, value);
+		}
+
+		@Override
+		public void addHeader(String name, String value) {
+			if ("ETag".equalsIgnoreCase(name))
+				super.addHeader(name, gzipEtag(value));
+			else if (!"Content-Length".equalsIgnoreCase(name))
+				super.addHeader(name, value);
+		}
+
+		@Override
+		public void setContentLength(int len) {
+			// Length of the compressed body is not known
+		}
+
+		@Override
+		public ServletOutputStream getOutputStream() throws IOException {
+			if (writer != null)
+				throw new IllegalStateException("getWriter() has already been called for this response");
+
+			if (outputStream == null) {
+				outputStream = new ServletOutputStream() {
+					@Override
+					public void write(int b) throws IOException {
+						gzipStream().write(b);
+					}
+
+					@Override
+					public void write(byte[] b, int off, int len) throws IOException {
+						gzipStream().write(b, off, len);
+					}
+
+					@Override
+					public void flush() throws IOException {
+						if (gzipStream != null)
+							gzipStream.flush();
+					}
+				};
+			}
+
+			return outputStream;
+		}
+
+		@Override
+		public PrintWriter getWriter() throws IOException {
+			if (writer == null) {
+				if (outputStream != null)
+					throw new IllegalStateException("getOutputStream() has already been called for this response");
+
+				writer = new PrintWriter(new OutputStreamWriter(getOutputStream(), getCharacterEncoding()));
+				outputStream = null;
+			}
+
+			return writer;
+		}
+
+		@Override
+		public void flushBuffer() throws IOException {
+			if (writer != null)
+				writer.flush();
+			else if (outputStream != null)
+				outputStream.flush();
+
+			super.flushBuffer();
+		}
+
+		/**
+		 * Write the gzip trailer. Responses without body, e.g. 304, are left untouched.
+		 */
+		private void finish() throws IOException {
+			if (writer != null)
+				writer.flush();
+
+			if (gzipStream != null)
+				gzipStream.finish();
+		}
+
+		// Compression starts with the first byte of the body, before that the headers are not committed
+		private GZIPOutputStream gzipStream() throws IOException {
+			if (gzipStream == null) {
+				super.setHeader("Content-Encoding", GZIP);
+				gzipStream = new GZIPOutputStream(getResponse().getOutputStream(), true);
+			}
+
+			return gzipStream;
+		}
+
+		private static String gzipEtag(String etag) {
+			return etag != null && etag.endsWith("\"") && !etag.startsWith("W/") ?
+					etag.substring(0, etag.length() - 1) + ETAG_SUFFIX : etag;
+		}
+	}
+}
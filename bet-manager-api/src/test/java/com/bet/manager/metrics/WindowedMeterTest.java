@@ -0,0 +1,83 @@
+package com.bet.manager.metrics;
+
+import com.codahale.metrics.Clock;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.concurrent.TimeUnit;
+
+public class WindowedMeterTest {
+
+	private final ManualClock clock = new ManualClock();
+	private final WindowedMeter success = new WindowedMeter(2, TimeUnit.HOURS, 12, clock);
+	private final WindowedMeter fail = new WindowedMeter(2, TimeUnit.HOURS, 12, clock);
+
+	@Test
+	public void testCountsTheMarksOfTheWindow() {
+
+		success.mark(3);
+		clock.advance(30);
+		success.mark();
+		fail.mark();
+
+		Assert.assertEquals(4, success.getWindowCount());
+		Assert.assertEquals(1, fail.getWindowCount());
+		Assert.assertEquals(4, success.getCount());
+	}
+
+	@Test
+	public void testOldMarksLeaveTheWindow() {
+
+		success.mark(5);
+		clock.advance(60);
+		success.mark(2);
+		clock.advance(70);
+
+		Assert.assertEquals(2, success.getWindowCount());
+		Assert.assertEquals(7, success.getCount());
+
+		clock.advance(60);
+		Assert.assertEquals(0, success.getWindowCount());
+	}
+
+	@Test
+	public void testRatioFollowsTheWindowWhenTheActivityStops() {
+
+		SuccessRatioGauge ratio = new SuccessRatioGauge(success, fail);
+		Assert.assertEquals(1, ratio.getValue(), 1e-9);
+
+		success.mark();
+		fail.mark(3);
+		Assert.assertEquals(0.25, ratio.getValue(), 1e-9);
+
+		// Nothing happens for the whole window
+		clock.advance(121);
+		Assert.assertEquals(1, ratio.getValue(), 1e-9);
+		Assert.assertEquals(120, ratio.getWindowMinutes());
+	}
+
+	@Test
+	public void testWorksWithNegativeTicks() {
+
+		clock.tick = -TimeUnit.MINUTES.toNanos(5);
+		success.mark();
+		clock.advance(10);
+		success.mark();
+
+		Assert.assertEquals(2, success.getWindowCount());
+	}
+
+	private static final class ManualClock extends Clock {
+
+		private long tick = TimeUnit.DAYS.toNanos(1);
+
+		@Override
+		public long getTick() {
+			return tick;
+		}
+
+		private void advance(long minutes) {
+			tick += TimeUnit.MINUTES.toNanos(minutes);
+		}
+	}
+}
@@ -0,0 +1,186 @@
+package com.bet.manager.services;
+
+import com.bet.manager.exceptions.JobRejectedException;
+import com.bet.manager.model.Job;
+import com.bet.manager.model.JobStatus;
+import com.bet.manager.model.repository.FootballMatchRepository;
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.time.LocalDateTime;
+import java.time.ZoneOffset;
+import java.util.Collections;
+import java.util.List;
+
+public class FetchSchedulerTest {
+
+	private final PipelineCoordinator pipelineCoordinator = Mockito.mock(PipelineCoordinator.class);
+	private final FootballMatchRepository repository = Mockito.mock(FootballMatchRepository.class);
+	private final MetricRegistry metricRegistry = new MetricRegistry();
+
+	// Next fetch planned by fetched(...)
+	private Instant nextFetch;
+
+	@Test
+	public void testZeroBudgetSkipsTheFetch() {
+
+		FetchScheduler scheduler = scheduler(0, 0);
+		scheduler.init();
+
+		scheduler.tick();
+		scheduler.tick();
+
+		Mockito.verifyZeroInteractions(pipelineCoordinator);
+		Assert.assertEquals(0, overBudgetCount());
+		Assert.assertEquals(0, remainingBudget());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testNegativeBudgetIsRejected() {
+		scheduler(-1, 0).init();
+	}
+
+	@Test
+	public void testNoFetchAfterTheBudgetIsUsedUp() {
+
+		FetchScheduler scheduler = scheduler(1, 0);
+		scheduler.init();
+		Job job = triggers(false);
+
+		scheduler.tick();
+		run(job);
+		scheduler.tick();
+
+		Mockito.verify(pipelineCoordinator).submit(PipelineStage.FETCH);
+		Assert.assertEquals(1, overBudgetCount());
+	}
+
+	@Test
+	public void testMergedTriggerIsNotCharged() {
+
+		FetchScheduler scheduler = scheduler(1, 0);
+		scheduler.init();
+		Job job = triggers(true);
+
+		scheduler.tick();
+		run(job);
+		scheduler.tick();
+
+		Mockito.verify(pipelineCoordinator, Mockito.times(2)).submit(PipelineStage.FETCH);
+		Assert.assertEquals(1, remainingBudget());
+		Assert.assertEquals(0, overBudgetCount());
+	}
+
+	@Test
+	public void testRejectedTriggerIsNotCharged() {
+
+		FetchScheduler scheduler = scheduler(1, 0);
+		scheduler.init();
+		Mockito.when(pipelineCoordinator.submit(PipelineStage.FETCH))
+				.thenThrow(new JobRejectedException("Job queue is full", null));
+
+		scheduler.tick();
+
+		Assert.assertEquals(1, remainingBudget());
+	}
+
+	@Test
+	public void testNoPlanUntilTheFetchHasRun() {
+
+		FetchScheduler scheduler = scheduler(10, 0);
+		scheduler.init();
+		triggers(false);
+
+		scheduler.tick();
+		scheduler.tick();
+
+		Mockito.verify(pipelineCoordinator).submit(PipelineStage.FETCH);
+	}
+
+	@Test
+	public void testLiveMatchIsFetchedEveryLiveInterval() {
+
+		Job job = fetched(Collections.singletonList(LocalDateTime.now(ZoneOffset.UTC).minusMinutes(30)));
+
+		Assert.assertEquals(job.getStarted().plus(Duration.ofMinutes(3)), nextFetch);
+	}
+
+	@Test
+	public void testNextKickOffIsFetched() {
+
+		LocalDateTime kickOff = LocalDateTime.now(ZoneOffset.UTC).plusHours(2).withNano(0);
+		fetched(Collections.singletonList(kickOff));
+
+		Assert.assertEquals(kickOff.toInstant(ZoneOffset.UTC), nextFetch);
+	}
+
+	@Test
+	public void testIdleIntervalWithoutMatches() {
+
+		Job job = fetched(Collections.emptyList());
+
+		Assert.assertEquals(job.getStarted().plus(Duration.ofMinutes(360)), nextFetch);
+	}
+
+	/**
+	 * Runs one scheduled fetch and plans the next one from it.
+	 */
+	private Job fetched(List<LocalDateTime> kickOffs) {
+
+		FetchScheduler scheduler = scheduler(10, 360);
+		scheduler.init();
+		Job job = triggers(false);
+
+		scheduler.tick();
+		Mockito.when(repository.findStartDatesBetween(Matchers.any(), Matchers.any())).thenReturn(kickOffs);
+		run(job);
+		scheduler.tick();
+
+		nextFetch = (Instant) ReflectionTestUtils.getField(scheduler, "nextFetch");
+		return job;
+	}
+
+	private Job triggers(boolean merged) {
+		Job job = new Job("fetch-1", "fetch");
+		Mockito.when(pipelineCoordinator.submit(PipelineStage.FETCH))
+				.thenReturn(new PipelineCoordinator.Triggered(job, merged));
+		return job;
+	}
+
+	private static void run(Job job) {
+		job.started();
+		job.finished(JobStatus.SUCCEEDED, null);
+	}
+
+	private long overBudgetCount() {
+		return metricRegistry.meter(MetricRegistry.name(FetchScheduler.class, "over-budget")).getCount();
+	}
+
+	private Object remainingBudget() {
+		return metricRegistry.getGauges().get(MetricRegistry.name(FetchScheduler.class, "budget-remaining")).getValue();
+	}
+
+	private FetchScheduler scheduler(int budgetPerDay, long idleIntervalMinutes) {
+
+		Mockito.when(repository.findStartDatesBetween(Matchers.any(), Matchers.any()))
+				.thenReturn(Collections.emptyList());
+
+		FetchScheduler scheduler = new FetchScheduler();
+		ReflectionTestUtils.setField(scheduler, "pipelineCoordinator", pipelineCoordinator);
+		ReflectionTestUtils.setField(scheduler, "footballMatchRepository", repository);
+		ReflectionTestUtils.setField(scheduler, "metricRegistry", metricRegistry);
+		// Zero idle interval makes every tick due
+		ReflectionTestUtils.setField(scheduler, "idleIntervalMinutes", idleIntervalMinutes);
+		ReflectionTestUtils.setField(scheduler, "liveIntervalMinutes", 3L);
+		ReflectionTestUtils.setField(scheduler, "matchDurationMinutes", 110L);
+		ReflectionTestUtils.setField(scheduler, "resultGraceMinutes", 30L);
+		ReflectionTestUtils.setField(scheduler, "budgetPerDay", budgetPerDay);
+		return scheduler;
+	}
+}
@@ -0,0 +1,112 @@
+package com.bet.manager.services;
+
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.entity.MatchMetaData;
+import com.bet.manager.model.entity.MatchStatus;
+import com.bet.manager.model.entity.PredictionType;
+import com.bet.manager.model.repository.MatchMetaDataRepository;
+import com.bet.manager.model.util.FootballMatchBuilder;
+import org.junit.AfterClass;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.BeforeClass;
+import org.junit.Test;
+import org.springframework.context.support.GenericXmlApplicationContext;
+
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.List;
+import java.util.TreeMap;
+
+public class FootballMatchServiceTest {
+
+	private static GenericXmlApplicationContext context;
+
+	private FootballMatchService service;
+	private MatchMetaDataRepository metaDataRepository;
+
+	@BeforeClass
+	public static void startContext() {
+		context = new GenericXmlApplicationContext("classpath:META-INF/spring/persistenceTestContext.xml");
+	}
+
+	@AfterClass
+	public static void closeContext() {
+		context.close();
+	}
+
+	@Before
+	public void setUp() {
+		service = context.getBean(FootballMatchService.class);
+		metaDataRepository = context.getBean(MatchMetaDataRepository.class);
+		service.deleteAll();
+	}
+
+	@Test
+	public void testRecomputedMetaDataReplacesTheStoredRow() {
+
+		service.createMatches(Collections.singletonList(match(null)));
+		service.updateMatches(Collections.singletonList(match(metaData(1))));
+
+		// Stale metadata is created again from the match without it, the same way the pipeline does
+		service.updateMatches(Collections.singletonList(match(metaData(2))));
+		service.updateMatches(Collections.singletonList(match(metaData(3))));
+
+		List<MatchMetaData> rows = metaDataRepository.findAll();
+		Assert.assertEquals(1, rows.size());
+		Assert.assertEquals(metaData(3), rows.get(0));
+	}
+
+	@Test
+	public void testMetaDataAndPredictionKeepTheLaterResult() {
+
+		FootballMatch started = new FootballMatchBuilder(match(null))
+				.setStatus(MatchStatus.STARTED)
+				.setResult("1-0")
+				.build();
+		service.createMatches(Collections.singletonList(started));
+
+		// Fetched while the snapshot waits in the pipeline
+		service.updateMatches(Collections.singletonList(new FootballMatchBuilder(started)
+				.setStatus(MatchStatus.FINISHED)
+				.setResult("2-1")
+				.build()));
+
+		Assert.assertNotNull(service.updateMetaData(started, metaData(1)));
+		FootballMatch stored = service.updatePrediction(started, "Hamburger SV");
+
+		Assert.assertEquals(MatchStatus.FINISHED, stored.getMatchStatus());
+		Assert.assertEquals("2-1", stored.getResult());
+		Assert.assertEquals(PredictionType.CORRECT, stored.getPredictionType());
+		Assert.assertEquals(1, metaDataRepository.count());
+	}
+
+	@Test
+	public void testUpdateOfMissingMatchFails() {
+		Assert.assertNull(service.updatePrediction(match(null), "Hamburger SV"));
+	}
+
+	private static FootballMatch match(MatchMetaData metaData) {
+		return new FootballMatchBuilder()
+				.setHomeTeamName("Hamburger SV")
+				.setAwayTeamName("FC Schalke 04")
+				.setYear(2016)
+				.setRound(5)
+				.setStartDate(LocalDateTime.of(2016, 9, 20, 18, 30))
+				.setStatus(MatchStatus.NOT_STARTED)
+				.setMatchMetaData(metaData)
+				.build();
+	}
+
+	private static MatchMetaData metaData(int points) {
+		TreeMap<String, Object> first = new TreeMap<>();
+		first.put("points", points);
+		TreeMap<String, Object> second = new TreeMap<>();
+		second.put("points", points + 1);
+
+		MatchMetaData metaData = new MatchMetaData();
+		metaData.setFirstTeamMetaData(first);
+		metaData.setSecondTeamMetaData(second);
+		return metaData;
+	}
+}
@@ -0,0 +1,166 @@
+package com.bet.manager.services;
+
+import com.bet.manager.exceptions.MetaDataFailureNotFoundException;
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.entity.MetaDataFailure;
+import com.bet.manager.model.exceptions.MetaDataCreationException;
+import com.bet.manager.model.repository.FootballMatchRepository;
+import com.bet.manager.model.repository.MetaDataFailureRepository;
+import com.bet.manager.model.util.FootballMatchBuilder;
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.Map;
+
+public class MetaDataRetryServiceTest {
+
+	private static final long MATCH_ID = 7L;
+
+	private final MetaDataFailureRepository repository = Mockito.mock(MetaDataFailureRepository.class);
+	private final MetricRegistry metricRegistry = new MetricRegistry();
+	private final MetaDataRetryService service = new MetaDataRetryService();
+
+	// Failures saved to the mocked repository by match id
+	private final Map<Long, MetaDataFailure> saved = new HashMap<>();
+
+	private FootballMatch match;
+
+	@Before
+	public void setUp() {
+
+		ReflectionTestUtils.setField(service, "metaDataFailureRepository", repository);
+		ReflectionTestUtils.setField(service, "footballMatchRepository", Mockito.mock(FootballMatchRepository.class));
+		ReflectionTestUtils.setField(service, "metricRegistry", metricRegistry);
+		ReflectionTestUtils.setField(service, "initialBackoffMinutes", 60L);
+		ReflectionTestUtils.setField(service, "maxBackoffMinutes", 2880L);
+		ReflectionTestUtils.setField(service, "maxAttempts", 8);
+		service.init();
+
+		Mockito.when(repository.findOne(Matchers.anyLong())).then(invocation -> saved.get(invocation.getArguments()[0]));
+		Mockito.when(repository.exists(Matchers.anyLong())).then(invocation -> saved.containsKey(invocation.getArguments()[0]));
+		Mockito.when(repository.save(Matchers.any(MetaDataFailure.class))).then(invocation -> {
+			MetaDataFailure failure = (MetaDataFailure) invocation.getArguments()[0];
+			saved.put(failure.getMatchId(), failure);
+			return failure;
+		});
+
+		match = new FootballMatchBuilder()
+				.setHomeTeamName("Hamburger SV")
+				.setAwayTeamName("FC Schalke 04")
+				.setYear(2016)
+				.setRound(5)
+				.build();
+		match.setId(MATCH_ID);
+	}
+
+	@Test
+	public void testBackoffDoublesUpToTheMax() {
+
+		long[] expectedBackoffs = { 60, 120, 240, 480, 960, 1920, 2880 };
+
+		for (int attempt = 0; attempt < expectedBackoffs.length; attempt++) {
+			LocalDateTime before = LocalDateTime.now();
+			service.failed(match, new IOException("Connection reset"));
+			LocalDateTime after = LocalDateTime.now();
+
+			MetaDataFailure failure = saved.get(MATCH_ID);
+			Assert.assertEquals(attempt + 1, failure.getAttempts());
+			Assert.assertFalse(failure.isQuarantined());
+			assertBetween(before.plusMinutes(expectedBackoffs[attempt]), after.plusMinutes(expectedBackoffs[attempt]),
+					failure.getNextAttempt());
+		}
+
+		Assert.assertEquals(0, quarantinedCount());
+	}
+
+	@Test
+	public void testQuarantinedAfterMaxAttempts() {
+
+		for (int attempt = 1; attempt < 8; attempt++)
+			service.failed(match, new IOException("Connection reset"));
+		Assert.assertFalse(saved.get(MATCH_ID).isQuarantined());
+
+		service.failed(match, new IOException("Connection reset"));
+
+		MetaDataFailure failure = saved.get(MATCH_ID);
+		Assert.assertEquals(8, failure.getAttempts());
+		Assert.assertTrue(failure.isQuarantined());
+		Assert.assertNull(failure.getNextAttempt());
+		Assert.assertEquals(1, quarantinedCount());
+	}
+
+	@Test
+	public void testMetaDataCreationExceptionQuarantinesAtOnce() {
+
+		service.failed(match, new MetaDataCreationException("Team not found in the standings"));
+
+		MetaDataFailure failure = saved.get(MATCH_ID);
+		Assert.assertEquals(1, failure.getAttempts());
+		Assert.assertTrue(failure.isQuarantined());
+		Assert.assertNull(failure.getNextAttempt());
+		Assert.assertEquals("Team not found in the standings", failure.getError());
+		Assert.assertEquals(1, quarantinedCount());
+	}
+
+	@Test
+	public void testSuccessDeletesTheFailure() {
+
+		service.failed(match, new IOException("Connection reset"));
+		service.succeeded(Collections.singletonList(match));
+
+		Mockito.verify(repository).delete(MATCH_ID);
+	}
+
+	@Test
+	public void testReleaseDeletesTheFailure() {
+
+		service.failed(match, new MetaDataCreationException("Team not found in the standings"));
+		MetaDataFailure failure = saved.get(MATCH_ID);
+
+		Assert.assertSame(failure, service.release(MATCH_ID));
+		Mockito.verify(repository).delete(failure);
+	}
+
+	@Test
+	public void testMatchIsBlockedDuringTheBackoff() {
+
+		Assert.assertFalse(service.isBlocked(match));
+
+		service.failed(match, new IOException("Connection reset"));
+		Assert.assertTrue(service.isBlocked(match));
+
+		ReflectionTestUtils.setField(saved.get(MATCH_ID), "nextAttempt", LocalDateTime.now().minusMinutes(1));
+		Assert.assertFalse(service.isBlocked(match));
+	}
+
+	@Test
+	public void testQuarantinedMatchIsBlocked() {
+
+		service.failed(match, new MetaDataCreationException("Team not found in the standings"));
+
+		Assert.assertTrue(service.isBlocked(match));
+	}
+
+	@Test(expected = MetaDataFailureNotFoundException.class)
+	public void testReleaseOfUnknownFailureThrows() {
+		service.release(MATCH_ID);
+	}
+
+	private long quarantinedCount() {
+		return metricRegistry.meter(MetricRegistry.name(MetaDataRetryService.class, "quarantined")).getCount();
+	}
+
+	private static void assertBetween(LocalDateTime from, LocalDateTime to, LocalDateTime actual) {
+		Assert.assertFalse(actual + " is before " + from, actual.isBefore(from));
+		Assert.assertFalse(actual + " is after " + to, actual.isAfter(to));
+	}
+}
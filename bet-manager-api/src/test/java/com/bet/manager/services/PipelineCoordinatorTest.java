@@ -0,0 +1,106 @@
+package com.bet.manager.services;
+
+import com.bet.manager.model.Job;
+import com.bet.manager.model.JobStatus;
+import com.codahale.metrics.MetricRegistry;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Matchers;
+import org.mockito.Mockito;
+import org.springframework.scheduling.concurrent.ThreadPoolTaskExecutor;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.Lock;
+
+public class PipelineCoordinatorTest {
+
+	private final UpdateManagerService updateManagerService = Mockito.mock(UpdateManagerService.class);
+	private final ThreadPoolTaskExecutor fetchExecutor = executor();
+	private final ThreadPoolTaskExecutor sweepExecutor = executor();
+	private final PipelineCoordinator coordinator = new PipelineCoordinator();
+
+	private final CountDownLatch sweepStarted = new CountDownLatch(1);
+	private final CountDownLatch sweepReleased = new CountDownLatch(1);
+
+	@Before
+	public void setUp() throws Exception {
+
+		ReflectionTestUtils.setField(coordinator, "updateManagerService", updateManagerService);
+		ReflectionTestUtils.setField(coordinator, "jobManager", new JobManager());
+		ReflectionTestUtils.setField(coordinator, "fetchExecutor", fetchExecutor);
+		ReflectionTestUtils.setField(coordinator, "sweepExecutor", sweepExecutor);
+		ReflectionTestUtils.setField(coordinator, "metricRegistry", new MetricRegistry());
+		coordinator.init();
+
+		Mockito.doAnswer(invocation -> {
+			sweepStarted.countDown();
+			sweepReleased.await();
+			return null;
+		}).when(updateManagerService).process(Matchers.any(Job.class), Matchers.any(Lock.class));
+	}
+
+	@After
+	public void tearDown() {
+		sweepReleased.countDown();
+		fetchExecutor.shutdown();
+		sweepExecutor.shutdown();
+	}
+
+	@Test
+	public void testFetchRunsDuringTheSweep() throws Exception {
+
+		Job sweep = coordinator.trigger(PipelineStage.PROCESS);
+		Assert.assertTrue(sweepStarted.await(5, TimeUnit.SECONDS));
+
+		Job fetch = coordinator.trigger(PipelineStage.FETCH);
+
+		awaitFinished(fetch);
+		Assert.assertEquals(JobStatus.SUCCEEDED, fetch.getStatus());
+		Assert.assertEquals(JobStatus.RUNNING, sweep.getStatus());
+	}
+
+	@Test
+	public void testPipelineItemIsHandledDuringTheSweep() throws Exception {
+
+		coordinator.trigger(PipelineStage.PROCESS);
+		Assert.assertTrue(sweepStarted.await(5, TimeUnit.SECONDS));
+
+		// The sweep holds the exclusive side only while it handles a match
+		Lock itemLock = coordinator.getPipelineItemLock();
+		Assert.assertTrue(itemLock.tryLock(5, TimeUnit.SECONDS));
+		itemLock.unlock();
+	}
+
+	@Test
+	public void testSweepsQueuedDuringTheSweepAreMerged() throws Exception {
+
+		coordinator.trigger(PipelineStage.PROCESS);
+		Assert.assertTrue(sweepStarted.await(5, TimeUnit.SECONDS));
+
+		Job predict = coordinator.trigger(PipelineStage.PREDICT);
+		Assert.assertTrue(coordinator.submit(PipelineStage.PREDICT).isMerged());
+
+		sweepReleased.countDown();
+		awaitFinished(predict);
+		Mockito.verify(updateManagerService).predict(Matchers.eq(predict), Matchers.any(Lock.class));
+	}
+
+	private static void awaitFinished(Job job) throws InterruptedException {
+		for (int i = 0; i < 500 && !job.getStatus().isFinished(); i++)
+			Thread.sleep(10);
+	}
+
+	private static ThreadPoolTaskExecutor executor() {
+		ThreadPoolTaskExecutor executor = new ThreadPoolTaskExecutor();
+		executor.setCorePoolSize(1);
+		executor.setMaxPoolSize(1);
+		executor.setQueueCapacity(20);
+		executor.setWaitForTasksToCompleteOnShutdown(true);
+		executor.initialize();
+		return executor;
+	}
+}
@@ -0,0 +1,166 @@
+package com.bet.manager.services;
+
+import com.bet.manager.model.entity.MatchStatus;
+import com.bet.manager.model.entity.PredictionType;
+import com.bet.manager.model.projection.PredictionTypeCount;
+import com.bet.manager.model.repository.FootballMatchRepository;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.transaction.support.TransactionSynchronization;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.util.Arrays;
+import java.util.List;
+
+public class PredictionInfoServiceTest {
+
+	private final FootballMatchRepository repository = Mockito.mock(FootballMatchRepository.class);
+	private final PredictionInfoService service = new PredictionInfoService();
+
+	@Before
+	public void setUp() {
+		ReflectionTestUtils.setField(service, "footballMatchRepository", repository);
+		ReflectionTestUtils.setField(service, "dataVersionService", new DataVersionService());
+		databaseCounts(0, 0);
+		service.reconcile();
+	}
+
+	@After
+	public void tearDown() {
+		if (TransactionSynchronizationManager.isSynchronizationActive())
+			TransactionSynchronizationManager.clear();
+	}
+
+	@Test
+	public void testChangesOutsideOfTransactionAreAppliedImmediately() {
+
+		service.predictionTypeChanged(PredictionType.NOT_PREDICTED, PredictionType.CORRECT);
+		service.predictionTypeChanged(PredictionType.CORRECT, PredictionType.INCORRECT);
+		service.predictionTypeChanged(PredictionType.NOT_PREDICTED, PredictionType.CORRECT);
+
+		Assert.assertEquals(1, service.correctPredictedMatchesCount());
+		Assert.assertEquals(1, service.incorrectPredictedMatchesCount());
+	}
+
+	@Test
+	public void testChangesInTransactionAreAppliedAfterCommit() {
+
+		beginTransaction();
+		service.predictionTypeChanged(PredictionType.NOT_PREDICTED, PredictionType.CORRECT);
+		service.predictionTypeChanged(PredictionType.NOT_PREDICTED, PredictionType.INCORRECT);
+
+		Assert.assertEquals(0, service.correctPredictedMatchesCount());
+		Assert.assertEquals(0, service.incorrectPredictedMatchesCount());
+
+		commit();
+		Assert.assertEquals(1, service.correctPredictedMatchesCount());
+		Assert.assertEquals(1, service.incorrectPredictedMatchesCount());
+	}
+
+	@Test
+	public void testChangesOfRolledBackTransactionAreDropped() {
+
+		beginTransaction();
+		service.predictionTypeChanged(PredictionType.NOT_PREDICTED, PredictionType.CORRECT);
+		rollback();
+
+		Assert.assertEquals(0, service.correctPredictedMatchesCount());
+
+		// The next transaction starts without the dropped changes
+		beginTransaction();
+		service.predictionTypeChanged(PredictionType.NOT_PREDICTED, PredictionType.INCORRECT);
+		commit();
+
+		Assert.assertEquals(0, service.correctPredictedMatchesCount());
+		Assert.assertEquals(1, service.incorrectPredictedMatchesCount());
+	}
+
+	@Test
+	public void testResetInTransactionDropsTheEarlierChanges() {
+
+		service.predictionTypeChanged(PredictionType.NOT_PREDICTED, PredictionType.CORRECT);
+
+		beginTransaction();
+		service.predictionTypeChanged(PredictionType.NOT_PREDICTED, PredictionType.CORRECT);
+		service.reset();
+		service.predictionTypeChanged(PredictionType.NOT_PREDICTED, PredictionType.INCORRECT);
+
+		Assert.assertEquals(1, service.correctPredictedMatchesCount());
+		commit();
+
+		Assert.assertEquals(0, service.correctPredictedMatchesCount());
+		Assert.assertEquals(1, service.incorrectPredictedMatchesCount());
+	}
+
+	@Test
+	public void testReconcileSetsTheDatabaseCounts() {
+
+		service.predictionTypeChanged(PredictionType.NOT_PREDICTED, PredictionType.CORRECT);
+		databaseCounts(5, 2);
+
+		service.reconcile();
+
+		Assert.assertEquals(5, service.correctPredictedMatchesCount());
+		Assert.assertEquals(2, service.incorrectPredictedMatchesCount());
+	}
+
+	@Test
+	public void testReconcileWaitsForTheCommittingTransaction() throws InterruptedException {
+
+		beginTransaction();
+		service.predictionTypeChanged(PredictionType.NOT_PREDICTED, PredictionType.CORRECT);
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		for (TransactionSynchronization synchronization : synchronizations)
+			synchronization.beforeCommit(false);
+
+		// The transaction is committed, but the counters are not updated yet
+		databaseCounts(1, 0);
+		Thread reconcile = new Thread(service::reconcile);
+		reconcile.start();
+		reconcile.join(200);
+		Assert.assertTrue("Reconcile should wait for the counters of the commit", reconcile.isAlive());
+
+		for (TransactionSynchronization synchronization : synchronizations)
+			synchronization.afterCommit();
+		for (TransactionSynchronization synchronization : synchronizations)
+			synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		TransactionSynchronizationManager.clear();
+
+		reconcile.join(5000);
+		Assert.assertFalse(reconcile.isAlive());
+		Assert.assertEquals(1, service.correctPredictedMatchesCount());
+	}
+
+	private void databaseCounts(long correct, long incorrect) {
+		List<PredictionTypeCount> counts = Arrays.asList(
+				new PredictionTypeCount(PredictionType.CORRECT, correct),
+				new PredictionTypeCount(PredictionType.INCORRECT, incorrect));
+		Mockito.when(repository.countGroupedByPredictionType(MatchStatus.FINISHED)).thenReturn(counts);
+	}
+
+	private static void beginTransaction() {
+		TransactionSynchronizationManager.initSynchronization();
+		TransactionSynchronizationManager.setActualTransactionActive(true);
+	}
+
+	private static void commit() {
+		List<TransactionSynchronization> synchronizations = TransactionSynchronizationManager.getSynchronizations();
+		for (TransactionSynchronization synchronization : synchronizations)
+			synchronization.beforeCommit(false);
+		for (TransactionSynchronization synchronization : synchronizations)
+			synchronization.afterCommit();
+		for (TransactionSynchronization synchronization : synchronizations)
+			synchronization.afterCompletion(TransactionSynchronization.STATUS_COMMITTED);
+		TransactionSynchronizationManager.clear();
+	}
+
+	private static void rollback() {
+		for (TransactionSynchronization synchronization : TransactionSynchronizationManager.getSynchronizations())
+			synchronization.afterCompletion(TransactionSynchronization.STATUS_ROLLED_BACK);
+		TransactionSynchronizationManager.clear();
+	}
+}
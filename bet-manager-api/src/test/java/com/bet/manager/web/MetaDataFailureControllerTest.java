@@ -0,0 +1,64 @@
+package com.bet.manager.web;
+
+import com.bet.manager.exceptions.MetaDataFailureNotFoundException;
+import com.bet.manager.model.entity.MetaDataFailure;
+import com.bet.manager.services.MetaDataRetryService;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+import org.mockito.Mockito;
+import org.springframework.http.HttpStatus;
+import org.springframework.test.util.ReflectionTestUtils;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestMethod;
+import org.springframework.web.bind.annotation.ResponseStatus;
+
+/**
+ * The request mapping is checked on the annotations, the servlet api of the project is older than the one
+ * of the spring-test mock requests.
+ */
+public class MetaDataFailureControllerTest {
+
+	private final MetaDataRetryService service = Mockito.mock(MetaDataRetryService.class);
+	private final MetaDataFailureController controller = new MetaDataFailureController();
+
+	@Before
+	public void setUp() {
+		ReflectionTestUtils.setField(controller, "metaDataRetryService", service);
+	}
+
+	@Test
+	public void testDeleteIsMappedToTheMatchId() throws NoSuchMethodException {
+
+		RequestMapping controllerMapping = MetaDataFailureController.class.getAnnotation(RequestMapping.class);
+		RequestMapping mapping = MetaDataFailureController.class.getMethod("releaseFailure", Long.class)
+				.getAnnotation(RequestMapping.class);
+
+		Assert.assertArrayEquals(new String[] { "/metadata/failures" }, controllerMapping.value());
+		Assert.assertArrayEquals(new String[] { "/{matchId}" }, mapping.value());
+		Assert.assertArrayEquals(new RequestMethod[] { RequestMethod.DELETE }, mapping.method());
+	}
+
+	@Test
+	public void testDeleteReleasesTheFailure() {
+
+		MetaDataFailure failure = new MetaDataFailure(7L, "Hamburger SV - FC Schalke 04");
+		Mockito.when(service.release(7L)).thenReturn(failure);
+
+		Assert.assertSame(failure, controller.releaseFailure(7L));
+		Mockito.verify(service).release(7L);
+	}
+
+	@Test
+	public void testDeleteOfUnknownFailureIsNotFound() {
+
+		Mockito.when(service.release(7L)).thenThrow(new MetaDataFailureNotFoundException("No failure for match [7]"));
+
+		try {
+			controller.releaseFailure(7L);
+			Assert.fail("Release of unknown failure should fail");
+		} catch (MetaDataFailureNotFoundException e) {
+			Assert.assertEquals(HttpStatus.NOT_FOUND, e.getClass().getAnnotation(ResponseStatus.class).value());
+		}
+	}
+}
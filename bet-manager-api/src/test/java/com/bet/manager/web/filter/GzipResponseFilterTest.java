@@ -0,0 +1,41 @@
+package com.bet.manager.web.filter;
+
+import org.junit.Assert;
+import org.junit.Test;
+
+public class GzipResponseFilterTest {
+
+	@Test
+	public void testListedGzipIsAccepted() {
+		Assert.assertTrue(GzipResponseFilter.acceptsGzip("gzip"));
+		Assert.assertTrue(GzipResponseFilter.acceptsGzip("deflate, GZIP;q=0.5"));
+		Assert.assertTrue(GzipResponseFilter.acceptsGzip("x-gzip"));
+	}
+
+	@Test
+	public void testZeroQualityRefusesGzip() {
+		Assert.assertFalse(GzipResponseFilter.acceptsGzip("gzip;q=0"));
+		Assert.assertFalse(GzipResponseFilter.acceptsGzip("deflate, gzip ; q=0.000"));
+		Assert.assertFalse(GzipResponseFilter.acceptsGzip("*, gzip;q=0"));
+	}
+
+	@Test
+	public void testWildcardCoversGzip() {
+		Assert.assertTrue(GzipResponseFilter.acceptsGzip("deflate, *"));
+		Assert.assertFalse(GzipResponseFilter.acceptsGzip("*;q=0"));
+	}
+
+	@Test
+	public void testOtherCodingsDoNotAcceptGzip() {
+		Assert.assertFalse(GzipResponseFilter.acceptsGzip(null));
+		Assert.assertFalse(GzipResponseFilter.acceptsGzip(""));
+		Assert.assertFalse(GzipResponseFilter.acceptsGzip("identity, deflate"));
+		Assert.assertFalse(GzipResponseFilter.acceptsGzip("gzipped"));
+	}
+
+	@Test
+	public void testInvalidQualityRefusesGzip() {
+		Assert.assertFalse(GzipResponseFilter.acceptsGzip("gzip;q=high"));
+		Assert.assertFalse(GzipResponseFilter.acceptsGzip("gzip;q=2"));
+	}
+}
@@ -0,0 +1,45 @@
+package com.bet.manager.benchmarks;
+
+import com.bet.manager.core.data.FootballDataManager;
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.util.FootballMatchBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metadata creation of one match from pages which are all in the page map, so every crawl is a cache hit
+ * and only the parsing and the assembly of the metadata are measured.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class CreateDataBenchmark {
+
+	private final FootballDataManager dataManager = new FootballDataManager(new FixturePages());
+
+	@Benchmark
+	public FootballMatch createData() throws Exception {
+
+		// The creation can swap the teams of the match, so every invocation gets a fresh one
+		FootballMatch match = new FootballMatchBuilder()
+				.setHomeTeamName("FC Bayern München")
+				.setAwayTeamName("VfB Stuttgart")
+				.setYear(2012)
+				.setRound(10)
+				.build();
+
+		return dataManager.createData(match);
+	}
+}
@@ -0,0 +1,51 @@
+package com.bet.manager.benchmarks;
+
+import com.bet.manager.commons.util.ClasspathUtils;
+import com.bet.manager.core.CrawlSource;
+import com.bet.manager.core.stub.RecordedFixtures;
+
+import java.net.URL;
+import java.util.AbstractMap;
+import java.util.Collections;
+import java.util.Set;
+
+/**
+ * Page map of the crawler which has a page for every url of the sources, so the metadata is created
+ * without crawling. The pages are the ones of {@link RecordedFixtures}.
+ */
+final class FixturePages extends AbstractMap<URL, String> {
+
+	static final String BUNDESLIGA_STANDINGS = ClasspathUtils.getContentUTF8(RecordedFixtures.BUNDESLIGA_STANDINGS);
+	static final String BUNDESLIGA_TEAM_STATS = ClasspathUtils.getContentUTF8(RecordedFixtures.BUNDESLIGA_TEAM_STATS);
+	static final String RESULTDB_MATCHES = ClasspathUtils.getContentUTF8(RecordedFixtures.RESULTDB_BAYERN_MATCHES);
+	static final String ESPNFC_MATCHES_HTML = RecordedFixtures.espnfcFixturesHtml("Home FC", "Away FC", 34);
+
+	private static final String ESPNFC_MATCHES = RecordedFixtures.espnfcFixtures("Home FC", "Away FC", 34);
+
+	@Override
+	public boolean containsKey(Object key) {
+		return get(key) != null;
+	}
+
+	@Override
+	public String get(Object key) {
+
+		if (!(key instanceof URL))
+			return null;
+
+		URL url = (URL) key;
+		if (url.getHost().equals(CrawlSource.BUNDESLIGA.getHost()))
+			return url.getPath().contains("team_stats_round") ? BUNDESLIGA_TEAM_STATS : BUNDESLIGA_STANDINGS;
+		if (url.getHost().equals(CrawlSource.ESPNFC.getHost()))
+			return ESPNFC_MATCHES;
+		if (url.getHost().equals(CrawlSource.RESULTDB.getHost()))
+			return RESULTDB_MATCHES;
+
+		return null;
+	}
+
+	@Override
+	public Set<Entry<URL, String>> entrySet() {
+		return Collections.emptySet();
+	}
+}
@@ -0,0 +1,194 @@
+package com.bet.manager.benchmarks;
+
+import com.bet.manager.model.entity.MatchStatus;
+import com.bet.manager.model.entity.PredictionType;
+import com.bet.manager.model.projection.FootballMatchView;
+import com.bet.manager.model.search.MatchIndex;
+import com.bet.manager.model.search.MatchSearchFilter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * One page of the match search from the in-memory {@link MatchIndex} and from the database, with the same
+ * matches, filter and order. The database is embedded H2 with the table and the index of the application,
+ * queried over plain JDBC, so the database side has neither the network round trip nor the ORM of the
+ * application and its time is the lower bound of the real one.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class MatchSearchBenchmark {
+
+	private static final int TEAMS = 100;
+	private static final int ROUNDS = 34;
+	private static final int FIRST_YEAR = 2000;
+	private static final int PAGE = 20;
+
+	// The SQL the search query of the application is translated to, absent filters compare the column to itself
+	private static final String SEARCH_SQL = "SELECT id, home_team, away_team, year, round, start_date, matchStatus, "
+			+ "result, winner, prediction, predictionType FROM matches WHERE "
+			+ "home_team = %s AND away_team = %s AND round = %s AND year = %s AND predictionType = %s AND matchStatus = %s "
+			+ "ORDER BY year, round, id LIMIT " + PAGE;
+
+	@Param({ "10000", "100000" })
+	private int matches;
+
+	@Param({ "none", "homeTeam", "yearAndRound", "statusAndPrediction" })
+	private String filter;
+
+	private MatchIndex index;
+	private MatchSearchFilter searchFilter;
+
+	private Connection connection;
+	private PreparedStatement query;
+
+	@Setup
+	public void setUp() throws SQLException {
+
+		List<FootballMatchView> views = generate(matches, new Random(42));
+		index = MatchIndex.build(views);
+
+		connection = DriverManager.getConnection("jdbc:h2:mem:matches;MODE=MySQL");
+		try (Statement statement = connection.createStatement()) {
+			statement.execute("CREATE TABLE matches (id BIGINT PRIMARY KEY, home_team VARCHAR(255), "
+					+ "away_team VARCHAR(255), year INT, round INT, start_date TIMESTAMP, matchStatus INT, "
+					+ "result VARCHAR(255), winner VARCHAR(255), prediction VARCHAR(255), predictionType INT)");
+			statement.execute("CREATE INDEX matches_year_round_id_idx ON matches (year, round, id)");
+		}
+		insert(views);
+
+		switch (filter) {
+			case "none":
+				searchFilter = new MatchSearchFilter(null, null, null, null, null, null);
+				break;
+			case "homeTeam":
+				searchFilter = new MatchSearchFilter(team(7), null, null, null, null, null);
+				break;
+			case "yearAndRound":
+				searchFilter = new MatchSearchFilter(null, null, FIRST_YEAR + 1, 12, null, null);
+				break;
+			case "statusAndPrediction":
+				searchFilter = new MatchSearchFilter(null, null, null, null, PredictionType.INCORRECT, MatchStatus.FINISHED);
+				break;
+			default:
+				throw new IllegalArgumentException("Unknown filter " + filter);
+		}
+
+		query = connection.prepareStatement(String.format(SEARCH_SQL,
+				searchFilter.getHomeTeam() == null ? "home_team" : "?",
+				"away_team",
+				searchFilter.getRound() == null ? "round" : searchFilter.getRound(),
+				searchFilter.getYear() == null ? "year" : searchFilter.getYear(),
+				searchFilter.getPredictionType() == null ? "predictionType" : searchFilter.getPredictionType().ordinal(),
+				searchFilter.getMatchStatus() == null ? "matchStatus" : searchFilter.getMatchStatus().ordinal()));
+		if (searchFilter.getHomeTeam() != null)
+			query.setString(1, searchFilter.getHomeTeam());
+	}
+
+	@TearDown(Level.Trial)
+	public void tearDown() throws SQLException {
+		query.close();
+		connection.close();
+	}
+
+	@Benchmark
+	public List<FootballMatchView> index() {
+		return index.search(searchFilter, null, 0, PAGE);
+	}
+
+	@Benchmark
+	public List<FootballMatchView> sql() throws SQLException {
+
+		List<FootballMatchView> result = new ArrayList<>(PAGE);
+		try (ResultSet rs = query.executeQuery()) {
+			while (rs.next())
+				result.add(new FootballMatchView(rs.getLong(1), rs.getString(2), rs.getString(3), rs.getInt(4),
+						rs.getInt(5), rs.getTimestamp(6).toLocalDateTime(), MatchStatus.values()[rs.getInt(7)],
+						rs.getString(8), rs.getString(9), rs.getString(10), PredictionType.values()[rs.getInt(11)]));
+		}
+		return result;
+	}
+
+	private void insert(List<FootballMatchView> views) throws SQLException {
+
+		try (PreparedStatement insert = connection.prepareStatement(
+				"INSERT INTO matches VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)")) {
+
+			for (FootballMatchView view : views) {
+				insert.setLong(1, view.getId());
+				insert.setString(2, view.getHomeTeam());
+				insert.setString(3, view.getAwayTeam());
+				insert.setInt(4, view.getYear());
+				insert.setInt(5, view.getRound());
+				insert.setTimestamp(6, Timestamp.valueOf(view.getStartDate()));
+				insert.setInt(7, view.getMatchStatus().ordinal());
+				insert.setString(8, view.getResult());
+				insert.setString(9, view.getWinner());
+				insert.setString(10, view.getPrediction());
+				insert.setInt(11, view.getPredictionType().ordinal());
+				insert.addBatch();
+			}
+			insert.executeBatch();
+		}
+	}
+
+	/**
+	 * Matches of random pairs of teams, the rounds follow each other and the old seasons are finished and predicted
+	 */
+	private static List<FootballMatchView> generate(int count, Random random) {
+
+		int perRound = TEAMS / 2;
+		List<FootballMatchView> views = new ArrayList<>(count);
+
+		for (int i = 0; i < count; i++) {
+			int roundIndex = i / perRound;
+			int year = FIRST_YEAR + roundIndex / ROUNDS;
+			int round = roundIndex % ROUNDS + 1;
+
+			int home = random.nextInt(TEAMS);
+			int away = (home + 1 + random.nextInt(TEAMS - 1)) % TEAMS;
+
+			boolean finished = i < count * 9 / 10;
+			PredictionType predictionType = !finished ? PredictionType.NOT_PREDICTED
+					: random.nextBoolean() ? PredictionType.CORRECT : PredictionType.INCORRECT;
+
+			views.add(new FootballMatchView((long) i + 1, team(home), team(away), year, round,
+					LocalDateTime.of(year, 8, 1, 15, 30).plusWeeks(round), finished ? MatchStatus.FINISHED
+					: MatchStatus.NOT_STARTED, finished ? "1-0" : "-", finished ? team(home) : "-",
+					random.nextBoolean() ? "1" : "2", predictionType));
+		}
+
+		return views;
+	}
+
+	private static String team(int index) {
+		return "Team " + index;
+	}
+}
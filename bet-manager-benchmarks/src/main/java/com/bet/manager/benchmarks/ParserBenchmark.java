@@ -0,0 +1,83 @@
+package com.bet.manager.benchmarks;
+
+import com.bet.manager.commons.util.ClasspathUtils;
+import com.bet.manager.commons.util.DocumentUtils;
+import com.bet.manager.core.FootballDataMatchParser;
+import com.bet.manager.core.data.sources.Bundesliga;
+import com.bet.manager.core.data.sources.Espnfc;
+import com.bet.manager.core.data.sources.ResultDB;
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.entity.MatchStatus;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.w3c.dom.Document;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Parsing of the crawled pages of every source.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ParserBenchmark {
+
+	private static final String TEAM = "FC Bayern München";
+	private static final int ROUND = 10;
+
+	private final FootballDataMatchParser footballDataMatchParser = new FootballDataMatchParser();
+
+	private Document standings;
+	private Map<String, Integer> averageRoundStats;
+	private String footballDataMatches;
+
+	@Setup
+	public void setUp() {
+		standings = DocumentUtils.parse(FixturePages.BUNDESLIGA_STANDINGS);
+		averageRoundStats = Bundesliga.parseAverageRoundStats(FixturePages.BUNDESLIGA_TEAM_STATS);
+		footballDataMatches = ClasspathUtils.getContentUTF8("footballData-matches-samples.txt");
+	}
+
+	@Benchmark
+	public Document parseXml() {
+		return DocumentUtils.parse(FixturePages.BUNDESLIGA_STANDINGS);
+	}
+
+	@Benchmark
+	public Map<String, Integer> bundesligaCreateRankingTable() {
+		return Bundesliga.createRankingTable(standings);
+	}
+
+	@Benchmark
+	public Map<String, Integer> bundesligaParseTeamPerformance() {
+		return Bundesliga.parseTeamPerformance(FixturePages.BUNDESLIGA_TEAM_STATS, TEAM, averageRoundStats);
+	}
+
+	@Benchmark
+	public Map<String, Integer> espnfcParseLastFiveGames() {
+		return Espnfc.parseLastFiveGamesForTeam(FixturePages.ESPNFC_MATCHES_HTML, "Home FC", 2012, ROUND);
+	}
+
+	@Benchmark
+	public Map<String, Integer> resultDBParseLastFiveGames() {
+		return ResultDB.parseLastFiveGamesForTeam(FixturePages.RESULTDB_MATCHES, ROUND);
+	}
+
+	@Benchmark
+	public Map<MatchStatus, List<FootballMatch>> footballDataParse() {
+		return footballDataMatchParser.parse(footballDataMatches);
+	}
+}
@@ -0,0 +1,68 @@
+package com.bet.manager.benchmarks;
+
+import com.bet.manager.core.PrometheusTextWriter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
+import org.apache.commons.io.output.NullWriter;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Cost of single scrape of registry with the given number of metrics, evenly split between
+ * gauges, counters, meters, histograms and timers.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class PrometheusTextWriterBenchmark {
+
+	@Param({ "100", "300", "500" })
+	private int metrics;
+
+	private final PrometheusTextWriter textWriter = new PrometheusTextWriter();
+	private final MetricRegistry registry = new MetricRegistry();
+
+	@Setup
+	public void setUp() {
+
+		Random random = new Random(42);
+		for (int i = 0; i < metrics / 5; i++) {
+			String name = MetricRegistry.name(PrometheusTextWriterBenchmark.class, "metric-" + i);
+			int value = i;
+
+			registry.register(MetricRegistry.name(name, "gauge"), (Gauge<Integer>) () -> value);
+			registry.counter(MetricRegistry.name(name, "counter")).inc(i);
+			registry.meter(MetricRegistry.name(name, "meter")).mark(i);
+
+			Histogram histogram = registry.histogram(MetricRegistry.name(name, "histogram"));
+			Timer timer = registry.timer(MetricRegistry.name(name, "timer"));
+			for (int j = 0; j < 1000; j++) {
+				histogram.update(random.nextInt(100_000));
+				timer.update(random.nextInt(1_000_000), TimeUnit.MICROSECONDS);
+			}
+		}
+	}
+
+	@Benchmark
+	public void write() throws IOException {
+		textWriter.write(registry, NullWriter.NULL_WRITER);
+	}
+}
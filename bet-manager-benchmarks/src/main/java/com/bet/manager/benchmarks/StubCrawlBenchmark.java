@@ -0,0 +1,80 @@
+package com.bet.manager.benchmarks;
+
+import com.bet.manager.core.WebCrawler;
+import com.bet.manager.core.data.FootballDataManager;
+import com.bet.manager.core.stub.SourceStubServer;
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.util.FootballMatchBuilder;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.io.IOException;
+import java.util.HashMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Metadata creation of matches crawled from the local stub server of the sources, without the sleep between
+ * the requests. Every match is created with empty page map, so all of its pages are crawled.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Threads(4)
+@Fork(1)
+public class StubCrawlBenchmark {
+
+	@Param({ "0", "20" })
+	private int latencyMillis;
+
+	@Param({ "0", "0.05" })
+	private double errorRatio;
+
+	private SourceStubServer server;
+
+	@Setup
+	public void setUp() throws IOException {
+		server = SourceStubServer.withRecordedFixtures()
+				.latency(latencyMillis, latencyMillis)
+				.errorRatio(errorRatio)
+				.start()
+				.redirect();
+		WebCrawler.setSleep(0, 0);
+	}
+
+	@TearDown
+	public void tearDown() {
+		WebCrawler.setSleep(WebCrawler.DEFAULT_MIN_SLEEP_MILLIS, WebCrawler.DEFAULT_MAX_SLEEP_MILLIS);
+		server.close();
+	}
+
+	@Benchmark
+	public FootballMatch createData() throws Exception {
+
+		FootballMatch match = new FootballMatchBuilder()
+				.setHomeTeamName("FC Bayern München")
+				.setAwayTeamName("VfB Stuttgart")
+				.setYear(2012)
+				.setRound(10)
+				.build();
+
+		try {
+			return new FootballDataManager(new HashMap<>()).createData(match);
+		} catch (IllegalStateException e) {
+			// Injected error of the stub, the failed creations are counted in the throughput as well
+			return null;
+		}
+	}
+}
@@ -0,0 +1,13 @@
+package com.bet.manager.commons.jfr;
+
+/**
+ * Operations recorded as Java Flight Recorder events.
+ */
+public enum FlightEventType {
+
+	CRAWL,
+	XML_PARSE,
+	HTML_PARSE,
+	METADATA,
+	PREDICTION
+}
@@ -0,0 +1,124 @@
+package com.bet.manager.commons.jfr;
+
+import java.io.IOException;
+import java.lang.reflect.Constructor;
+import java.lang.reflect.InvocationTargetException;
+import java.text.ParseException;
+import java.util.function.Function;
+
+/**
+ * Entry point of the Java Flight Recorder events and recordings. The events are recorded only when a recording
+ * is running, on a JVM without Flight Recorder the operations are no-op.
+ * <p>
+ * Only the classes in this package named Jfr* and {@link OperationEvent} use the jdk.jfr api. They are loaded
+ * reflectively once the api is found, so this class and its callers link on any Java 8 runtime.
+ */
+public final class FlightEvents {
+
+	private static final FlightOperation NOOP = new FlightOperation() {
+		@Override
+		public FlightOperation url(String url) {
+			return this;
+		}
+
+		@Override
+		public FlightOperation team(String team) {
+			return this;
+		}
+
+		@Override
+		public FlightOperation round(int round) {
+			return this;
+		}
+
+		@Override
+		public FlightOperation bytes(long bytes) {
+			return this;
+		}
+
+		@Override
+		public void close() {
+		}
+	};
+
+	private static final boolean AVAILABLE = isFlightRecorderPresent();
+
+	private static final String OPERATION_FACTORY_CLASS = "com.bet.manager.commons.jfr.JfrFlightOperation$Factory";
+	private static final String RECORDING_CONTROL_CLASS = "com.bet.manager.commons.jfr.JfrRecordingControl";
+
+	private static final Function<FlightEventType, FlightOperation> FACTORY = operationFactory();
+
+	private FlightEvents() {
+	}
+
+	public static boolean isAvailable() {
+		return AVAILABLE;
+	}
+
+	/**
+	 * Starts timing of the operation, use it in try-with-resources.
+	 */
+	public static FlightOperation begin(FlightEventType type) {
+		return FACTORY.apply(type);
+	}
+
+	/**
+	 * Starts recording with the settings, the name of the predefined configuration like "profile"
+	 *
+	 * @throws UnsupportedOperationException if the JVM has no Flight Recorder
+	 * @throws IOException                   if the settings cannot be read
+	 * @throws ParseException                if the settings are not valid
+	 */
+	public static FlightRecordingControl startRecording(String name, String settings)
+			throws IOException, ParseException {
+
+		if (!AVAILABLE)
+			throw new UnsupportedOperationException("Flight Recorder is not supported by this JVM");
+
+		Constructor<?> constructor;
+		try {
+			constructor = Class.forName(RECORDING_CONTROL_CLASS).getDeclaredConstructor(String.class, String.class);
+		} catch (ReflectiveOperationException | LinkageError e) {
+			throw new UnsupportedOperationException("Flight Recorder api cannot be loaded", e);
+		}
+
+		try {
+			return (FlightRecordingControl) constructor.newInstance(name, settings);
+		} catch (InvocationTargetException e) {
+			Throwable cause = e.getCause();
+			if (cause instanceof IOException)
+				throw (IOException) cause;
+			if (cause instanceof ParseException)
+				throw (ParseException) cause;
+			if (cause instanceof RuntimeException)
+				throw (RuntimeException) cause;
+			if (cause instanceof Error)
+				throw (Error) cause;
+			throw new IllegalStateException(cause);
+		} catch (ReflectiveOperationException e) {
+			throw new IllegalStateException("Cannot create recording", e);
+		}
+	}
+
+	@SuppressWarnings("unchecked")
+	private static Function<FlightEventType, FlightOperation> operationFactory() {
+		if (!AVAILABLE)
+			return type -> NOOP;
+
+		try {
+			return (Function<FlightEventType, FlightOperation>) Class.forName(OPERATION_FACTORY_CLASS).newInstance();
+		} catch (ReflectiveOperationException | LinkageError e) {
+			// The api is incomplete, e.g. without the event classes
+			return type -> NOOP;
+		}
+	}
+
+	private static boolean isFlightRecorderPresent() {
+		try {
+			Class.forName("jdk.jfr.FlightRecorder");
+			return true;
+		} catch (ClassNotFoundException e) {
+			return false;
+		}
+	}
+}
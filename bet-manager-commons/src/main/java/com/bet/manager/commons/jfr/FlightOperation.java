@@ -0,0 +1,18 @@
+package com.bet.manager.commons.jfr;
+
+/**
+ * Single recorded operation, the event is committed on close. Not thread safe.
+ */
+public interface FlightOperation extends AutoCloseable {
+
+	FlightOperation url(String url);
+
+	FlightOperation team(String team);
+
+	FlightOperation round(int round);
+
+	FlightOperation bytes(long bytes);
+
+	@Override
+	void close();
+}
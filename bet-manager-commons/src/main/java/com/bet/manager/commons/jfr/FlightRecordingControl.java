@@ -0,0 +1,22 @@
+package com.bet.manager.commons.jfr;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.time.Instant;
+
+/**
+ * Running recording of the Flight Recorder, created by {@link FlightEvents#startRecording(String, String)}.
+ * Keeps the jdk.jfr types out of the callers. Not thread safe.
+ */
+public interface FlightRecordingControl extends AutoCloseable {
+
+	Instant getStartTime();
+
+	/**
+	 * Stops the recording and dumps it to the file
+	 */
+	void stop(Path file) throws IOException;
+
+	@Override
+	void close();
+}
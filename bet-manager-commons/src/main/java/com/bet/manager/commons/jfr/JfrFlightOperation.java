@@ -0,0 +1,75 @@
+package com.bet.manager.commons.jfr;
+
+import java.util.function.Function;
+
+/**
+ * Loaded by {@link FlightEvents} only when the jdk.jfr api is present.
+ */
+final class JfrFlightOperation implements FlightOperation {
+
+	/**
+	 * Created reflectively, so the callers do not link the event classes
+	 */
+	static final class Factory implements Function<FlightEventType, FlightOperation> {
+
+		@Override
+		public FlightOperation apply(FlightEventType type) {
+			return new JfrFlightOperation(type);
+		}
+	}
+
+	private final OperationEvent event;
+
+	JfrFlightOperation(FlightEventType type) {
+		switch (type) {
+		case CRAWL:
+			event = new OperationEvent.Crawl();
+			break;
+		case XML_PARSE:
+			event = new OperationEvent.XmlParse();
+			break;
+		case HTML_PARSE:
+			event = new OperationEvent.HtmlParse();
+			break;
+		case METADATA:
+			event = new OperationEvent.MetaData();
+			break;
+		case PREDICTION:
+			event = new OperationEvent.Prediction();
+			break;
+		default:
+			throw new IllegalArgumentException("Unknown event type " + type);
+		}
+
+		event.begin();
+	}
+
+	@Override
+	public FlightOperation url(String url) {
+		event.url = url;
+		return this;
+	}
+
+	@Override
+	public FlightOperation team(String team) {
+		event.team = team;
+		return this;
+	}
+
+	@Override
+	public FlightOperation round(int round) {
+		event.round = round;
+		return this;
+	}
+
+	@Override
+	public FlightOperation bytes(long bytes) {
+		event.bytes = bytes;
+		return this;
+	}
+
+	@Override
+	public void close() {
+		event.commit();
+	}
+}
@@ -0,0 +1,45 @@
+package com.bet.manager.commons.jfr;
+
+import jdk.jfr.Configuration;
+import jdk.jfr.Recording;
+
+import java.io.IOException;
+import java.nio.file.Path;
+import java.text.ParseException;
+import java.time.Instant;
+
+/**
+ * Loaded by {@link FlightEvents} only when the jdk.jfr api is present.
+ */
+final class JfrRecordingControl implements FlightRecordingControl {
+
+	private final Recording recording;
+
+	JfrRecordingControl(String name, String settings) throws IOException, ParseException {
+		recording = new Recording(Configuration.getConfiguration(settings));
+		try {
+			recording.setName(name);
+			recording.setToDisk(true);
+			recording.start();
+		} catch (RuntimeException e) {
+			recording.close();
+			throw e;
+		}
+	}
+
+	@Override
+	public Instant getStartTime() {
+		return recording.getStartTime();
+	}
+
+	@Override
+	public void stop(Path file) throws IOException {
+		recording.stop();
+		recording.dump(file);
+	}
+
+	@Override
+	public void close() {
+		recording.close();
+	}
+}
@@ -0,0 +1,54 @@
+package com.bet.manager.commons.jfr;
+
+import jdk.jfr.Category;
+import jdk.jfr.DataAmount;
+import jdk.jfr.Event;
+import jdk.jfr.Label;
+import jdk.jfr.Name;
+import jdk.jfr.StackTrace;
+
+/**
+ * The custom events, the fields not known by the operation stay empty.
+ */
+@Category("Bet Manager")
+@StackTrace(false)
+abstract class OperationEvent extends Event {
+
+	@Label("URL")
+	String url;
+
+	@Label("Team")
+	String team;
+
+	@Label("Round")
+	int round;
+
+	@Label("Size")
+	@DataAmount
+	long bytes;
+
+	@Name("com.bet.manager.Crawl")
+	@Label("Crawl")
+	static class Crawl extends OperationEvent {
+	}
+
+	@Name("com.bet.manager.XmlParse")
+	@Label("XML Parse")
+	static class XmlParse extends OperationEvent {
+	}
+
+	@Name("com.bet.manager.HtmlParse")
+	@Label("HTML Parse")
+	static class HtmlParse extends OperationEvent {
+	}
+
+	@Name("com.bet.manager.MetaData")
+	@Label("Metadata Creation")
+	static class MetaData extends OperationEvent {
+	}
+
+	@Name("com.bet.manager.Prediction")
+	@Label("Prediction")
+	static class Prediction extends OperationEvent {
+	}
+}
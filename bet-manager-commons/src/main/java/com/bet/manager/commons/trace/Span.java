@@ -0,0 +1,90 @@
+package com.bet.manager.commons.trace;
+
+import java.util.Collections;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Timed part of a {@link Trace}, started by {@link Tracer} and finished on close. Spans are used only
+ * by the thread which started them.
+ */
+public final class Span implements AutoCloseable {
+
+	static final Span NOOP = new Span(null, null, null);
+
+	private final Trace trace;
+	private final Span parent;
+	private final int id;
+	private final String name;
+	private final long startNanos = System.nanoTime();
+	private final Map<String, String> tags;
+
+	// The span which was current before this one was started
+	Span previous;
+
+	private long durationNanos = -1;
+
+	Span(Trace trace, Span parent, String name) {
+		this.trace = trace;
+		this.parent = parent;
+		this.name = name;
+		this.id = trace == null ? 0 : trace.nextSpanId();
+		this.tags = trace == null ? Collections.emptyMap() : new LinkedHashMap<>();
+	}
+
+	public Span tag(String key, Object value) {
+		if (trace != null && value != null)
+			tags.put(key, value.toString());
+		return this;
+	}
+
+	@Override
+	public void close() {
+		if (trace == null || durationNanos >= 0)
+			return;
+
+		durationNanos = System.nanoTime() - startNanos;
+		trace.finished(this);
+		Tracer.closed(this);
+	}
+
+	Trace getTrace() {
+		return trace;
+	}
+
+	boolean isRoot() {
+		return parent == null;
+	}
+
+	public int getId() {
+		return id;
+	}
+
+	public Integer getParentId() {
+		return parent == null ? null : parent.id;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return start of the span since the start of the trace
+	 */
+	public double getStartMillis() {
+		return toMillis(startNanos - trace.getStartNanos());
+	}
+
+	public double getDurationMillis() {
+		return toMillis(durationNanos);
+	}
+
+	public Map<String, String> getTags() {
+		return tags;
+	}
+
+	private static double toMillis(long nanos) {
+		return nanos / (double) TimeUnit.MILLISECONDS.toNanos(1);
+	}
+}
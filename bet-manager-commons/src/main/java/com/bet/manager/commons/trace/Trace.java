@@ -0,0 +1,90 @@
+package com.bet.manager.commons.trace;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+
+/**
+ * Spans of single operation, for example metadata creation of a match or run of a job. The spans
+ * tagged with {@link #SOURCE_TAG} are summed up per source, so it is visible where the time went.
+ */
+public final class Trace {
+
+	public static final String SOURCE_TAG = "source";
+
+	private final String traceId;
+	private final String name;
+	private final long startedAt = System.currentTimeMillis();
+	private final long startNanos = System.nanoTime();
+	private final List<Span> spans = new ArrayList<>();
+
+	private int lastSpanId;
+	private Span root;
+
+	Trace(String traceId, String name) {
+		this.traceId = traceId;
+		this.name = name;
+	}
+
+	int nextSpanId() {
+		return ++lastSpanId;
+	}
+
+	void finished(Span span) {
+		spans.add(span);
+		if (span.isRoot())
+			root = span;
+	}
+
+	long getStartNanos() {
+		return startNanos;
+	}
+
+	public String getTraceId() {
+		return traceId;
+	}
+
+	public String getName() {
+		return name;
+	}
+
+	/**
+	 * @return start of the trace in epoch millis
+	 */
+	public long getStartedAt() {
+		return startedAt;
+	}
+
+	public double getDurationMillis() {
+		return root == null ? 0 : root.getDurationMillis();
+	}
+
+	public Map<String, String> getTags() {
+		return root == null ? Collections.emptyMap() : root.getTags();
+	}
+
+	/**
+	 * @return the spans ordered by their start
+	 */
+	public List<Span> getSpans() {
+		List<Span> ordered = new ArrayList<>(spans);
+		ordered.sort(Comparator.comparingDouble(Span::getStartMillis));
+		return ordered;
+	}
+
+	/**
+	 * @return milliseconds spent in the spans of each source
+	 */
+	public Map<String, Double> getLatencyBySource() {
+		Map<String, Double> latency = new TreeMap<>();
+		for (Span span : spans) {
+			String source = span.getTags().get(SOURCE_TAG);
+			if (source != null)
+				latency.merge(source, span.getDurationMillis(), Double::sum);
+		}
+		return latency;
+	}
+}
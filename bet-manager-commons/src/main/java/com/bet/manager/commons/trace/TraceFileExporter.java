@@ -0,0 +1,108 @@
+package com.bet.manager.commons.trace;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Writer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Map;
+
+/**
+ * Appends every trace to a file as single line of json.
+ */
+public class TraceFileExporter implements TraceSink, Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(TraceFileExporter.class);
+
+	private final Path file;
+	private final Writer writer;
+
+	public TraceFileExporter(Path file) throws IOException {
+		this.file = file;
+		this.writer = Files.newBufferedWriter(file, StandardCharsets.UTF_8,
+				StandardOpenOption.CREATE, StandardOpenOption.APPEND);
+	}
+
+	@Override
+	public synchronized void accept(Trace trace) {
+		try {
+			writer.write(toJson(trace));
+			writer.write('\n');
+			writer.flush();
+		} catch (IOException e) {
+			LOG.warn("Cannot export trace {} to {}", trace.getTraceId(), file, e);
+		}
+	}
+
+	@Override
+	public synchronized void close() throws IOException {
+		writer.close();
+	}
+
+	static String toJson(Trace trace) {
+		StringBuilder json = new StringBuilder(256);
+		json.append("{\"traceId\":");
+		appendString(json, trace.getTraceId());
+		json.append(",\"name\":");
+		appendString(json, trace.getName());
+		json.append(",\"startedAt\":").append(trace.getStartedAt());
+		json.append(",\"durationMillis\":").append(trace.getDurationMillis());
+		json.append(",\"latencyBySource\":{");
+		boolean first = true;
+		for (Map.Entry<String, Double> latency : trace.getLatencyBySource().entrySet()) {
+			if (!first)
+				json.append(',');
+			first = false;
+			appendString(json, latency.getKey());
+			json.append(':').append(latency.getValue());
+		}
+		json.append("},\"spans\":[");
+		first = true;
+		for (Span span : trace.getSpans()) {
+			if (!first)
+				json.append(',');
+			first = false;
+			appendSpan(json, span);
+		}
+		return json.append("]}").toString();
+	}
+
+	private static void appendSpan(StringBuilder json, Span span) {
+		json.append("{\"id\":").append(span.getId());
+		json.append(",\"parentId\":").append(span.getParentId());
+		json.append(",\"name\":");
+		appendString(json, span.getName());
+		json.append(",\"startMillis\":").append(span.getStartMillis());
+		json.append(",\"durationMillis\":").append(span.getDurationMillis());
+		json.append(",\"tags\":{");
+		boolean first = true;
+		for (Map.Entry<String, String> tag : span.getTags().entrySet()) {
+			if (!first)
+				json.append(',');
+			first = false;
+			appendString(json, tag.getKey());
+			json.append(':');
+			appendString(json, tag.getValue());
+		}
+		json.append("}}");
+	}
+
+	private static void appendString(StringBuilder json, String value) {
+		json.append('"');
+		for (int i = 0; i < value.length(); i++) {
+			char c = value.charAt(i);
+			if (c == '"' || c == '\\')
+				json.append('\\').append(c);
+			else if (c < 0x20)
+				json.append(String.format("\\u%04x", (int) c));
+			else
+				json.append(c);
+		}
+		json.append('"');
+	}
+}
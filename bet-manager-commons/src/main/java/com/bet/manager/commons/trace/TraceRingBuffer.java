@@ -0,0 +1,50 @@
+package com.bet.manager.commons.trace;
+
+import java.util.ArrayList;
+import java.util.List;
+
+/**
+ * Keeps the latest finished traces, the oldest one is overwritten when the buffer is full.
+ */
+public class TraceRingBuffer implements TraceSink {
+
+	private final Trace[] traces;
+	private int next;
+	private int size;
+
+	public TraceRingBuffer(int capacity) {
+		if (capacity <= 0)
+			throw new IllegalArgumentException("Capacity " + capacity + " should be positive");
+
+		this.traces = new Trace[capacity];
+	}
+
+	@Override
+	public synchronized void accept(Trace trace) {
+		traces[next] = trace;
+		next = (next + 1) % traces.length;
+		size = Math.min(size + 1, traces.length);
+	}
+
+	/**
+	 * @return at most limit traces, the newest first
+	 */
+	public synchronized List<Trace> recent(int limit) {
+		int count = Math.min(limit, size);
+		List<Trace> recent = new ArrayList<>(count);
+		for (int i = 1; i <= count; i++)
+			recent.add(traces[(next - i + traces.length) % traces.length]);
+		return recent;
+	}
+
+	/**
+	 * @return the trace or null if it is not in the buffer anymore
+	 */
+	public synchronized Trace find(String traceId) {
+		for (int i = 0; i < size; i++) {
+			if (traces[i].getTraceId().equals(traceId))
+				return traces[i];
+		}
+		return null;
+	}
+}
@@ -0,0 +1,10 @@
+package com.bet.manager.commons.trace;
+
+/**
+ * Receives the traces when their root span is closed.
+ */
+@FunctionalInterface
+public interface TraceSink {
+
+	void accept(Trace trace);
+}
@@ -0,0 +1,94 @@
+package com.bet.manager.commons.trace;
+
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+import org.slf4j.MDC;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ThreadLocalRandom;
+
+/**
+ * In-process tracing. Trace is started per operation and the code called by it opens nested spans, the
+ * current span is kept per thread. The id of the current trace is put in the logging context as
+ * {@value #TRACE_ID_KEY}. Without registered sinks nothing is traced.
+ */
+public final class Tracer {
+
+	private static final Logger LOG = LoggerFactory.getLogger(Tracer.class);
+
+	public static final String TRACE_ID_KEY = "traceId";
+
+	private static final ThreadLocal<Span> CURRENT = new ThreadLocal<>();
+	private static final List<TraceSink> SINKS = new CopyOnWriteArrayList<>();
+
+	private Tracer() {
+	}
+
+	public static void addSink(TraceSink sink) {
+		SINKS.add(sink);
+	}
+
+	public static void removeSink(TraceSink sink) {
+		SINKS.remove(sink);
+	}
+
+	/**
+	 * Starts new trace in the current thread, use it in try-with-resources. The span which is current
+	 * now becomes current again when the trace is closed.
+	 */
+	public static Span startTrace(String name) {
+		if (SINKS.isEmpty())
+			return Span.NOOP;
+
+		String traceId = Long.toHexString(ThreadLocalRandom.current().nextLong());
+		return open(new Span(new Trace(traceId, name), null, name));
+	}
+
+	/**
+	 * Starts span nested in the current one, no-op outside of trace.
+	 */
+	public static Span startSpan(String name) {
+		Span parent = CURRENT.get();
+		if (parent == null)
+			return Span.NOOP;
+
+		return open(new Span(parent.getTrace(), parent, name));
+	}
+
+	/**
+	 * @return id of the trace of the current thread or null
+	 */
+	public static String currentTraceId() {
+		Span current = CURRENT.get();
+		return current == null ? null : current.getTrace().getTraceId();
+	}
+
+	private static Span open(Span span) {
+		span.previous = CURRENT.get();
+		CURRENT.set(span);
+		MDC.put(TRACE_ID_KEY, span.getTrace().getTraceId());
+		return span;
+	}
+
+	static void closed(Span span) {
+		if (span.previous == null) {
+			CURRENT.remove();
+			MDC.remove(TRACE_ID_KEY);
+		} else {
+			CURRENT.set(span.previous);
+			MDC.put(TRACE_ID_KEY, span.previous.getTrace().getTraceId());
+		}
+
+		if (!span.isRoot())
+			return;
+
+		for (TraceSink sink : SINKS) {
+			try {
+				sink.accept(span.getTrace());
+			} catch (RuntimeException e) {
+				LOG.warn("Trace sink {} failed", sink, e);
+			}
+		}
+	}
+}
@@ -1,5 +1,8 @@
 package com.bet.manager.commons.util;
 
+import com.bet.manager.commons.jfr.FlightEventType;
+import com.bet.manager.commons.jfr.FlightEvents;
+import com.bet.manager.commons.jfr.FlightOperation;
 import org.w3c.dom.Document;
 import org.xml.sax.InputSource;
 import org.xml.sax.SAXException;
@@ -12,18 +15,18 @@ import java.io.StringReader;
 
 public class DocumentUtils {
 
-    private static final DocumentBuilder dBuilder;
-    private static final DocumentBuilderFactory dbFactory;
-
-    static {
-        dbFactory = DocumentBuilderFactory.newInstance();
+    private static final DocumentBuilderFactory dbFactory = DocumentBuilderFactory.newInstance();
 
+    // The builder is not thread safe and the metadata is created by several threads
+    private static final ThreadLocal<DocumentBuilder> dBuilder = ThreadLocal.withInitial(() -> {
         try {
-            dBuilder = dbFactory.newDocumentBuilder();
+            synchronized (dbFactory) {
+                return dbFactory.newDocumentBuilder();
+            }
         } catch (ParserConfigurationException e) {
             throw new IllegalStateException("Failed to create document builder.");
         }
-    }
+    });
 
     private DocumentUtils() {
     }
@@ -38,8 +41,8 @@ public class DocumentUtils {
         is.setCharacterStream(new StringReader(xml));
         Document doc;
 
-        try {
-            doc = dBuilder.parse(is);
+        try (FlightOperation ignored = FlightEvents.begin(FlightEventType.XML_PARSE).bytes(xml.length())) {
+            doc = dBuilder.get().parse(is);
         } catch (SAXException | IOException e) {
             throw new DocumentParseException("Failed to parse document from xml.");
         }
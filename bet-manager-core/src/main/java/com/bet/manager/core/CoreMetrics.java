@@ -0,0 +1,20 @@
+package com.bet.manager.core;
+
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.SharedMetricRegistries;
+
+/**
+ * Registry of the metrics measured in the core. The application using the core
+ * should publish this registry, not its own one.
+ */
+public final class CoreMetrics {
+
+	public static final String REGISTRY_NAME = "bet-manager";
+
+	private CoreMetrics() {
+	}
+
+	public static MetricRegistry registry() {
+		return SharedMetricRegistries.getOrCreate(REGISTRY_NAME);
+	}
+}
@@ -0,0 +1,66 @@
+package com.bet.manager.core;
+
+import org.apache.commons.lang.StringUtils;
+
+import java.net.MalformedURLException;
+import java.net.URL;
+
+/**
+ * Sites the data is crawled from. The base url of every site can be changed, for example to crawl a stub
+ * server instead of the live site, the urls of the sources are built from it on every request.
+ */
+public enum CrawlSource {
+
+	BUNDESLIGA("http://www.bundesliga.com/"),
+	ESPNFC("http://www.espnfc.us/"),
+	RESULTDB("http://www.resultdb.com/"),
+	FOOTBALL_DATA("http://api.football-data.org/");
+
+	private final String defaultBaseUrl;
+
+	private volatile String baseUrl;
+	private volatile String host;
+
+	CrawlSource(String defaultBaseUrl) {
+		this.defaultBaseUrl = defaultBaseUrl;
+		setBaseUrl(defaultBaseUrl);
+	}
+
+	/**
+	 * @return url of the site ending with slash
+	 */
+	public String getBaseUrl() {
+		return baseUrl;
+	}
+
+	public String getHost() {
+		return host;
+	}
+
+	public String getDefaultBaseUrl() {
+		return defaultBaseUrl;
+	}
+
+	/**
+	 * @param baseUrl url of the site, blank restores the default one
+	 */
+	public synchronized void setBaseUrl(String baseUrl) {
+
+		if (StringUtils.isBlank(baseUrl))
+			baseUrl = defaultBaseUrl;
+		else if (!baseUrl.endsWith("/"))
+			baseUrl = baseUrl + "/";
+
+		try {
+			this.host = new URL(baseUrl).getHost();
+		} catch (MalformedURLException e) {
+			throw new IllegalArgumentException("Invalid base url " + baseUrl + " of " + name(), e);
+		}
+		this.baseUrl = baseUrl;
+	}
+
+	public static void resetBaseUrls() {
+		for (CrawlSource source : values())
+			source.setBaseUrl(null);
+	}
+}
@@ -0,0 +1,118 @@
+package com.bet.manager.core;
+
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.RatioGauge;
+import com.codahale.metrics.Timer;
+
+import java.net.URL;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Crawl metrics of single host: latency of the requests, transferred bytes, cache hits and misses,
+ * errors and the time spent sleeping between the requests. Registered in {@link CoreMetrics#registry()}
+ * as WebCrawler.&lt;host&gt;.*
+ */
+public final class CrawlTelemetry {
+
+	private static final ConcurrentMap<String, CrawlTelemetry> BY_HOST = new ConcurrentHashMap<>();
+
+	private final String host;
+
+	private final Timer latency;
+	private final Meter bytes;
+	private final Meter cacheHits;
+	private final Meter cacheMisses;
+	private final Meter errors;
+	private final Timer throttle;
+
+	private volatile String lastError;
+
+	private CrawlTelemetry(String host, MetricRegistry registry) {
+		this.host = host;
+
+		latency = registry.timer(MetricRegistry.name(WebCrawler.class, host, "latency"));
+		bytes = registry.meter(MetricRegistry.name(WebCrawler.class, host, "bytes"));
+		cacheHits = registry.meter(MetricRegistry.name(WebCrawler.class, host, "cache-hits"));
+		cacheMisses = registry.meter(MetricRegistry.name(WebCrawler.class, host, "cache-misses"));
+		errors = registry.meter(MetricRegistry.name(WebCrawler.class, host, "errors"));
+		throttle = registry.timer(MetricRegistry.name(WebCrawler.class, host, "throttle"));
+
+		registry.register(MetricRegistry.name(WebCrawler.class, host, "cache-hit-ratio"), new RatioGauge() {
+			@Override
+			protected Ratio getRatio() {
+				return Ratio.of(cacheHits.getCount(), cacheHits.getCount() + cacheMisses.getCount());
+			}
+		});
+		registry.register(MetricRegistry.name(WebCrawler.class, host, "error-ratio"), new RatioGauge() {
+			@Override
+			protected Ratio getRatio() {
+				return errorRatio();
+			}
+		});
+	}
+
+	public static CrawlTelemetry of(URL url) {
+		return forHost(url.getHost());
+	}
+
+	public static CrawlTelemetry forHost(String host) {
+		return BY_HOST.computeIfAbsent(host, h -> new CrawlTelemetry(h, CoreMetrics.registry()));
+	}
+
+	void cacheHit() {
+		cacheHits.mark();
+	}
+
+	void cacheMiss() {
+		cacheMisses.mark();
+	}
+
+	void throttled(long millis) {
+		throttle.update(millis, TimeUnit.MILLISECONDS);
+	}
+
+	void succeeded(long nanos, long transferredBytes) {
+		latency.update(nanos, TimeUnit.NANOSECONDS);
+		bytes.mark(transferredBytes);
+	}
+
+	void failed(long nanos, Exception e) {
+		latency.update(nanos, TimeUnit.NANOSECONDS);
+		errors.mark();
+		lastError = e.getMessage();
+	}
+
+	/**
+	 * Share of the failed requests in the last fifteen minutes. The rates are zero until the first tick of
+	 * the meters, all requests so far are used till then.
+	 */
+	public RatioGauge.Ratio errorRatio() {
+		double requestRate = latency.getFifteenMinuteRate();
+		if (requestRate == 0)
+			return RatioGauge.Ratio.of(errors.getCount(), latency.getCount());
+
+		return RatioGauge.Ratio.of(errors.getFifteenMinuteRate(), requestRate);
+	}
+
+	public String getHost() {
+		return host;
+	}
+
+	/**
+	 * Every request, failed ones included.
+	 */
+	public Timer getLatency() {
+		return latency;
+	}
+
+	public Meter getErrors() {
+		return errors;
+	}
+
+	public String getLastError() {
+		return lastError;
+	}
+}
@@ -0,0 +1,183 @@
+package com.bet.manager.core;
+
+import com.codahale.metrics.Counter;
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Meter;
+import com.codahale.metrics.Metric;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Snapshot;
+import com.codahale.metrics.Timer;
+
+import java.io.IOException;
+import java.io.Writer;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Renders the metrics of {@link MetricRegistry} in the Prometheus text exposition format. Counters and meters
+ * are counters, gauges with numeric or boolean value are gauges. The rates of the meters and timers are left
+ * out, Prometheus computes them from the counts.
+ * <p>
+ * Histograms and timers, the timers in seconds, are written as untyped quantiles and a {@code _count} counter.
+ * They are not summaries, because the summary requires {@code _sum} and the reservoirs do not keep the sum.
+ * <p>
+ * The metrics are written in the order of their names. When several names are the same after the conversion,
+ * only the first metric is written, because the scrapers reject repeated metric families.
+ * <p>
+ * The writer is meant to be scraped every few seconds, so the converted names are cached and the values are
+ * written straight to the writer. Most of the cost are the snapshots of the histograms and timers.
+ */
+public final class PrometheusTextWriter {
+
+	private static final double[] QUANTILES = { 0.5, 0.75, 0.95, 0.98, 0.99, 0.999 };
+	private static final String[] QUANTILE_LABELS = { "{quantile=\"0.5\"} ", "{quantile=\"0.75\"} ",
+			"{quantile=\"0.95\"} ", "{quantile=\"0.98\"} ", "{quantile=\"0.99\"} ", "{quantile=\"0.999\"} " };
+
+	private static final double SECONDS_PER_NANO = 1.0 / TimeUnit.SECONDS.toNanos(1);
+
+	// Converted names by the metric name, the meters and timers get suffix
+	private final ConcurrentMap<String, String> names = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, String> meterNames = new ConcurrentHashMap<>();
+	private final ConcurrentMap<String, String> timerNames = new ConcurrentHashMap<>();
+
+	public void write(MetricRegistry registry, Writer writer) throws IOException {
+		// Names of the metric families already written
+		Set<String> written = new HashSet<>();
+
+		for (Map.Entry<String, Metric> entry : new TreeMap<>(registry.getMetrics()).entrySet()) {
+			Metric metric = entry.getValue();
+
+			if (metric instanceof Gauge) {
+				String name = name(entry.getKey());
+				if (written.add(name))
+					writeGauge(writer, name, (Gauge) metric);
+			} else if (metric instanceof Counter) {
+				String name = name(entry.getKey());
+				if (written.add(name))
+					writeCounter(writer, name, ((Counter) metric).getCount());
+			} else if (metric instanceof Meter) {
+				String name = meterNames.computeIfAbsent(entry.getKey(), n -> sanitize(n) + "_total");
+				if (written.add(name))
+					writeCounter(writer, name, ((Meter) metric).getCount());
+			} else if (metric instanceof Histogram) {
+				String name = name(entry.getKey());
+				if (addQuantiles(written, name)) {
+					Histogram histogram = (Histogram) metric;
+					writeQuantiles(writer, name, histogram.getSnapshot(), histogram.getCount(), 1);
+				}
+			} else if (metric instanceof Timer) {
+				String name = timerNames.computeIfAbsent(entry.getKey(), n -> sanitize(n) + "_seconds");
+				if (addQuantiles(written, name)) {
+					Timer timer = (Timer) metric;
+					writeQuantiles(writer, name, timer.getSnapshot(), timer.getCount(), SECONDS_PER_NANO);
+				}
+			}
+		}
+	}
+
+	/**
+	 * @return true if neither the quantiles nor their count are written yet
+	 */
+	private static boolean addQuantiles(Set<String> written, String name) {
+		String countName = name + "_count";
+		if (written.contains(name) || written.contains(countName))
+			return false;
+
+		written.add(name);
+		written.add(countName);
+		return true;
+	}
+
+	private static void writeGauge(Writer writer, String name, Gauge gauge) throws IOException {
+
+		Object value;
+		try {
+			value = gauge.getValue();
+		} catch (RuntimeException e) {
+			// Single broken gauge must not fail the whole scrape
+			return;
+		}
+
+		double number;
+		if (value instanceof Number)
+			number = ((Number) value).doubleValue();
+		else if (value instanceof Boolean)
+			number = (Boolean) value ? 1 : 0;
+		else
+			return;
+
+		writeType(writer, name, "gauge");
+		writer.write(name);
+		writer.write(' ');
+		writeDouble(writer, number);
+		writer.write('\n');
+	}
+
+	private static void writeCounter(Writer writer, String name, long count) throws IOException {
+		writeType(writer, name, "counter");
+		writer.write(name);
+		writer.write(' ');
+		writer.write(Long.toString(count));
+		writer.write('\n');
+	}
+
+	private static void writeQuantiles(Writer writer, String name, Snapshot snapshot, long count, double factor)
+			throws IOException {
+
+		writeType(writer, name, "untyped");
+		for (int i = 0; i < QUANTILES.length; i++) {
+			writer.write(name);
+			writer.write(QUANTILE_LABELS[i]);
+			writeDouble(writer, snapshot.getValue(QUANTILES[i]) * factor);
+			writer.write('\n');
+		}
+
+		writeCounter(writer, name + "_count", count);
+	}
+
+	private static void writeType(Writer writer, String name, String type) throws IOException {
+		writer.write("# TYPE ");
+		writer.write(name);
+		writer.write(' ');
+		writer.write(type);
+		writer.write('\n');
+	}
+
+	private static void writeDouble(Writer writer, double value) throws IOException {
+		if (Double.isNaN(value))
+			writer.write("NaN");
+		else if (Double.isInfinite(value))
+			writer.write(value > 0 ? "+Inf" : "-Inf");
+		else
+			writer.write(Double.toString(value));
+	}
+
+	private String name(String metricName) {
+		return names.computeIfAbsent(metricName, PrometheusTextWriter::sanitize);
+	}
+
+	/**
+	 * Replaces the characters not allowed in the Prometheus metric names with underscore.
+	 */
+	static String sanitize(String metricName) {
+
+		StringBuilder name = new StringBuilder(metricName.length() + 1);
+		if (metricName.isEmpty() || Character.isDigit(metricName.charAt(0)))
+			name.append('_');
+
+		for (int i = 0; i < metricName.length(); i++) {
+			char c = metricName.charAt(i);
+			boolean allowed = (c >= 'a' && c <= 'z') || (c >= 'A' && c <= 'Z') || (c >= '0' && c <= '9') ||
+					c == '_' || c == ':';
+			name.append(allowed ? c : '_');
+		}
+
+		return name.toString();
+	}
+}
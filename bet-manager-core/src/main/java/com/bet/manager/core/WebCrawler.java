@@ -1,16 +1,26 @@
 package com.bet.manager.core;
 
+import com.bet.manager.commons.jfr.FlightEventType;
+import com.bet.manager.commons.jfr.FlightEvents;
+import com.bet.manager.commons.jfr.FlightOperation;
+import com.bet.manager.commons.trace.Span;
+import com.bet.manager.commons.trace.Trace;
+import com.bet.manager.commons.trace.Tracer;
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.MetricRegistry;
+import com.codahale.metrics.Timer;
 import org.apache.commons.lang.StringUtils;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.io.BufferedReader;
 import java.io.InputStreamReader;
+import java.io.UnsupportedEncodingException;
 import java.net.HttpURLConnection;
 import java.net.URL;
 import java.util.Collections;
 import java.util.Map;
-import java.util.Random;
+import java.util.concurrent.ThreadLocalRandom;
 
 public class WebCrawler {
 
@@ -18,9 +28,37 @@ public class WebCrawler {
 
 	private static final String USER_AGENT = "Mozilla/5.0";
 
+	// Time of the requests without the sleep between them
+	private static final Timer CRAWL_TIMER =
+			CoreMetrics.registry().timer(MetricRegistry.name(WebCrawler.class, "crawl"));
+	private static final Histogram PAGE_SIZE =
+			CoreMetrics.registry().histogram(MetricRegistry.name(WebCrawler.class, "page-size"));
+
+	public static final int DEFAULT_MIN_SLEEP_MILLIS = 3000;
+	public static final int DEFAULT_MAX_SLEEP_MILLIS = 5000;
+
+	// Random sleep before every request of crawl_UTF8 and crawl_ISO8858_9, so the sites do not block us
+	private static volatile int minSleepMillis = DEFAULT_MIN_SLEEP_MILLIS;
+	private static volatile int maxSleepMillis = DEFAULT_MAX_SLEEP_MILLIS;
+
 	private WebCrawler() {
 	}
 
+	/**
+	 * Changes the sleep before every request, zero turns it off for crawling a local stub server.
+	 *
+	 * @param minMillis minimum sleep time in milliseconds
+	 * @param maxMillis maximum sleep time in milliseconds
+	 */
+	public static synchronized void setSleep(int minMillis, int maxMillis) {
+		if (minMillis < 0 || maxMillis < minMillis)
+			throw new IllegalArgumentException(
+					"Sleep range [" + minMillis + ".." + maxMillis + "] should be non negative and not empty");
+
+		minSleepMillis = minMillis;
+		maxSleepMillis = maxMillis;
+	}
+
 	/**
 	 * This method crawls with UTF-8 encoding.
 	 *
@@ -32,7 +70,7 @@ public class WebCrawler {
 	}
 
 	public static String crawl_UTF8(URL url, Map<URL, String> crawledPages) throws InterruptedException {
-		return crawl(url, crawledPages, "UTF-8", 3, 5);
+		return crawlWithSleep(url, crawledPages, "UTF-8", minSleepMillis, maxSleepMillis);
 	}
 
 	/**
@@ -46,7 +84,7 @@ public class WebCrawler {
 	}
 
 	public static String crawl_ISO8858_9(URL url, Map<URL, String> crawledPages) throws InterruptedException {
-		return crawl(url, crawledPages, "ISO8859_9", 3, 5);
+		return crawlWithSleep(url, crawledPages, "ISO8859_9", minSleepMillis, maxSleepMillis);
 	}
 
 	/**
@@ -61,25 +99,64 @@ public class WebCrawler {
 	 */
 	public static String crawl(URL url, Map<URL, String> crawledPages, String encoding, int minSecondsSleep, int maxSecondsSleep)
 			throws InterruptedException {
+		return crawlWithSleep(url, crawledPages, encoding, minSecondsSleep * 1000, maxSecondsSleep * 1000);
+	}
+
+	private static String crawlWithSleep(URL url, Map<URL, String> crawledPages, String encoding, int minSleepMillis,
+			int maxSleepMillis) throws InterruptedException {
+		CrawlTelemetry telemetry = CrawlTelemetry.of(url);
+
 		if (crawledPages.containsKey(url)) {
 			LOG.debug("Returning cached copy of '{}'", url);
+			telemetry.cacheHit();
 			return crawledPages.get(url);
 		}
 
-		// Put asleep the thread for [minSecondsSleep,maxSecondsSleep] seconds
-		Thread.sleep(
-				new Random().nextInt((maxSecondsSleep - minSecondsSleep) * 1000) + minSecondsSleep * 1000);
+		telemetry.cacheMiss();
 
-		String contentOfPage = getContent(url, encoding);
+		// Put asleep the thread for [minSleepMillis,maxSleepMillis] milliseconds. The sleep has its own span
+		// without the source, so the latency of the source is of the request only.
+		int sleepMillis = minSleepMillis + ThreadLocalRandom.current().nextInt(maxSleepMillis - minSleepMillis + 1);
+		if (sleepMillis > 0) {
+			try (Span ignored = Tracer.startSpan("throttle").tag("url", url)) {
+				Thread.sleep(sleepMillis);
+			}
+			telemetry.throttled(sleepMillis);
+		}
 
-		try {
-			crawledPages.put(url, contentOfPage);
-		} catch (Exception e) {
-			// This catch block is leaved empty not incidentally.
-			// If the collection is Collections.emptyMap() items cannot be added and will throw exception
+		try (Span span = Tracer.startSpan("crawl").tag(Trace.SOURCE_TAG, url.getHost()).tag("url", url)) {
+			String contentOfPage;
+			long start = System.nanoTime();
+			try (Timer.Context ignored = CRAWL_TIMER.time();
+				 FlightOperation event = FlightEvents.begin(FlightEventType.CRAWL).url(url.toString())) {
+				contentOfPage = getContent(url, encoding);
+				event.bytes(contentOfPage.length());
+			} catch (IllegalStateException e) {
+				telemetry.failed(System.nanoTime() - start, e);
+				span.tag("error", e.getMessage());
+				throw e;
+			}
+
+			telemetry.succeeded(System.nanoTime() - start, transferredBytes(contentOfPage, encoding));
+			PAGE_SIZE.update(contentOfPage.length());
+
+			try {
+				crawledPages.put(url, contentOfPage);
+			} catch (Exception e) {
+				// This catch block is leaved empty not incidentally.
+				// If the collection is Collections.emptyMap() items cannot be added and will throw exception
+			}
+
+			return contentOfPage;
 		}
+	}
 
-		return contentOfPage;
+	private static long transferredBytes(String content, String encoding) {
+		try {
+			return content.getBytes(encoding).length;
+		} catch (UnsupportedEncodingException e) {
+			return content.length();
+		}
 	}
 
 	private static String getContent(URL page, String encoding) {
@@ -13,4 +13,9 @@ public interface DataManager<T extends FootballMatch> {
 	 * @throws Exception if cannot create data for the match
 	 */
 	T createData(T match) throws Exception;
+
+	/**
+	 * Forget the crawled source pages, so the data created next reflects the current state of the sources.
+	 */
+	void clearCache();
 }
\ No newline at end of file
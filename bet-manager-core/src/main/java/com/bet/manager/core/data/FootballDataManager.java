@@ -1,5 +1,10 @@
 package com.bet.manager.core.data;
 
+import com.bet.manager.commons.jfr.FlightEventType;
+import com.bet.manager.commons.jfr.FlightEvents;
+import com.bet.manager.commons.jfr.FlightOperation;
+import com.bet.manager.commons.trace.Span;
+import com.bet.manager.commons.trace.Tracer;
 import com.bet.manager.model.entity.MatchVenueType;
 import com.bet.manager.model.entity.FootballMatch;
 import com.bet.manager.model.entity.MatchMetaData;
@@ -11,9 +16,9 @@ import org.slf4j.LoggerFactory;
 
 import java.net.URL;
 import java.util.Calendar;
-import java.util.HashMap;
 import java.util.Map;
 import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
 
 import static com.bet.manager.core.data.sources.FootballDataUtils.*;
 
@@ -35,8 +40,11 @@ public class FootballDataManager implements DataManager<FootballMatch> {
 
 	private Map<URL, String> crawledPages;
 
+	/**
+	 * The crawled pages are shared by the threads creating metadata concurrently
+	 */
 	public FootballDataManager() {
-		this(new HashMap<>());
+		this(new ConcurrentHashMap<>());
 	}
 
 	public FootballDataManager(Map<URL, String> crawledPages) {
@@ -54,6 +62,14 @@ public class FootballDataManager implements DataManager<FootballMatch> {
 	 */
 	@Override
 	public FootballMatch createData(FootballMatch match) throws Exception {
+		try (Span span = Tracer.startSpan("create-data").tag("match", match.getSummary());
+			 FlightOperation event = FlightEvents.begin(FlightEventType.METADATA)
+					 .team(match.getHomeTeam() + " - " + match.getAwayTeam()).round(match.getRound())) {
+			return createMetaData(match);
+		}
+	}
+
+	private FootballMatch createMetaData(FootballMatch match) throws Exception {
 
 		String firstTeam = match.getHomeTeam();
 		String secondTeam = match.getAwayTeam();
@@ -120,7 +136,8 @@ public class FootballDataManager implements DataManager<FootballMatch> {
 		currentMatchMetaData.setSecondTeamMetaData(firstTeamMetData);
 	}
 
-	private void clearCache() {
+	@Override
+	public void clearCache() {
 		crawledPages.clear();
 	}
 }
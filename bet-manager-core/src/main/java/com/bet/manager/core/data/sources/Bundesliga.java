@@ -1,7 +1,11 @@
 package com.bet.manager.core.data.sources;
 
+import com.bet.manager.commons.trace.Span;
+import com.bet.manager.commons.trace.Trace;
+import com.bet.manager.commons.trace.Tracer;
 import com.bet.manager.commons.util.DocumentUtils;
 import com.bet.manager.commons.util.URLUtils;
+import com.bet.manager.core.CrawlSource;
 import com.bet.manager.core.TeamsMapping;
 import com.bet.manager.core.WebCrawler;
 import com.bet.manager.core.exceptions.InvalidMappingException;
@@ -24,7 +28,6 @@ public final class Bundesliga {
 
 	private static final Logger LOG = LoggerFactory.getLogger(Bundesliga.class);
 
-	private static final String BUNDESLIGA_DOMAIN = "http://www.bundesliga.com/";
 	private static final String ROUND_MATCHES_URL = "data/feed/51/%s/post_standing/post_standing_%s.xml?cb=517837";
 	private static final String TEAM_STATS_URL = "data/feed/51/%s/team_stats_round/team_stats_round_%s.xml?cb=544329";
 
@@ -52,7 +55,7 @@ public final class Bundesliga {
 		LOG.debug("Getting information about '{}' rank in round {} year {}", bundesLigaTeam, round, year);
 		String currentRoundMatchesContent = Bundesliga.getMatches(year, round, crawledPages);
 
-		Document currentRoundMatchesXML = DocumentUtils.parse(currentRoundMatchesContent);
+		Document currentRoundMatchesXML = parse(currentRoundMatchesContent);
 
 		LOG.debug("Creating ranking table for round {} year {}", round, year);
 		Map<String, Integer> currentRoundRanking = Bundesliga.createRankingTable(currentRoundMatchesXML);
@@ -78,7 +81,7 @@ public final class Bundesliga {
 			throws MalformedURLException, InterruptedException {
 
 		URL prevRoundMatchesURL =
-				URLUtils.createSafeURL(String.format(BUNDESLIGA_DOMAIN + ROUND_MATCHES_URL, year, round));
+				URLUtils.createSafeURL(String.format(CrawlSource.BUNDESLIGA.getBaseUrl() + ROUND_MATCHES_URL, year, round));
 
 		return WebCrawler.crawl_ISO8858_9(prevRoundMatchesURL, crawledPages);
 	}
@@ -149,7 +152,7 @@ public final class Bundesliga {
 			throws MalformedURLException, InterruptedException {
 
 		String currentRoundMatchesContent = Bundesliga.getMatches(year, round, crawledPages);
-		Document currentRoundMatches = DocumentUtils.parse(currentRoundMatchesContent);
+		Document currentRoundMatches = parse(currentRoundMatchesContent);
 
 		return currentRoundMatches.getElementsByTagName(TEAM_ATTR);
 	}
@@ -214,7 +217,7 @@ public final class Bundesliga {
 				Bundesliga.getAverageRoundStats(year, round, crawledPages);
 
 		URL prevRoundStatsURL =
-				URLUtils.createSafeURL(String.format(BUNDESLIGA_DOMAIN + TEAM_STATS_URL, year, round));
+				URLUtils.createSafeURL(String.format(CrawlSource.BUNDESLIGA.getBaseUrl() + TEAM_STATS_URL, year, round));
 
 		String prevRoundTeamStatsXML = WebCrawler.crawl_ISO8858_9(prevRoundStatsURL, crawledPages);
 
@@ -233,7 +236,7 @@ public final class Bundesliga {
 
 		Map<String, Integer> teamPerformance = new HashMap<>();
 
-		Document doc = DocumentUtils.parse(prevRoundTeamStatsXML);
+		Document doc = parse(prevRoundTeamStatsXML);
 		NodeList teamNodes = doc.getElementsByTagName(TEAM_ATTR);
 
 		for (int i = 0; i < teamNodes.getLength(); i++) {
@@ -301,7 +304,7 @@ public final class Bundesliga {
 			throws MalformedURLException, InterruptedException {
 
 		URL prevRoundStatsURL =
-				URLUtils.createSafeURL(String.format(BUNDESLIGA_DOMAIN + TEAM_STATS_URL, year, round));
+				URLUtils.createSafeURL(String.format(CrawlSource.BUNDESLIGA.getBaseUrl() + TEAM_STATS_URL, year, round));
 		String prevRoundStatsXML = WebCrawler.crawl_ISO8858_9(prevRoundStatsURL, crawledPages);
 
 		LOG.debug("Parsing average statistics for round {} year {}", round, year);
@@ -310,7 +313,7 @@ public final class Bundesliga {
 
 	public static Map<String, Integer> parseAverageRoundStats(String prevRoundStatsXML) {
 
-		Document doc = DocumentUtils.parse(prevRoundStatsXML);
+		Document doc = parse(prevRoundStatsXML);
 		NodeList teamNodes = doc.getElementsByTagName(GROUP_STATS_ATTR);
 
 		NamedNodeMap statsAttributes = teamNodes.item(0).getAttributes();
@@ -346,8 +349,14 @@ public final class Bundesliga {
 
 		String currentRoundMatchesContent = Bundesliga.getMatches(year, round, crawledPages);
 
-		Document currentRoundMatchesXML = DocumentUtils.parse(currentRoundMatchesContent);
+		Document currentRoundMatchesXML = parse(currentRoundMatchesContent);
 
 		return currentRoundMatchesXML.getElementsByTagName(TEAM_ATTR);
 	}
+
+	private static Document parse(String xml) {
+		try (Span ignored = Tracer.startSpan("parse").tag(Trace.SOURCE_TAG, CrawlSource.BUNDESLIGA.getHost())) {
+			return DocumentUtils.parse(xml);
+		}
+	}
 }
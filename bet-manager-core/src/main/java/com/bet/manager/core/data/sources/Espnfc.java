@@ -1,7 +1,14 @@
 package com.bet.manager.core.data.sources;
 
 import com.bet.manager.commons.ResultMessages;
+import com.bet.manager.commons.jfr.FlightEventType;
+import com.bet.manager.commons.jfr.FlightEvents;
+import com.bet.manager.commons.jfr.FlightOperation;
+import com.bet.manager.commons.trace.Span;
+import com.bet.manager.commons.trace.Trace;
+import com.bet.manager.commons.trace.Tracer;
 import com.bet.manager.commons.util.URLUtils;
+import com.bet.manager.core.CrawlSource;
 import com.bet.manager.core.TeamsMapping;
 import com.bet.manager.core.WebCrawler;
 import com.bet.manager.model.entity.MatchVenueType;
@@ -21,8 +28,7 @@ public final class Espnfc {
 
 	private static final Logger LOG = LoggerFactory.getLogger(Espnfc.class);
 
-	private static final String ESPNFC_DOMAIN = "http://www.espnfc.us/club/%s";
-	private static final String ESPNFC_MATCHES_FOR_TEAM_URL = "/fixtures?leagueId=10&season=%s&xhr=1";
+	private static final String ESPNFC_MATCHES_FOR_TEAM_URL = "club/%s/fixtures?leagueId=10&season=%s&xhr=1";
 
 	private static final String HUGE_WINS = "hugeWins";
 	private static final String HUGE_LOSES = "hugeLoses";
@@ -39,7 +45,7 @@ public final class Espnfc {
 		String espnfcTeamName = TeamsMapping.bundesligaToESPNFC.get(bundesLigaTeam);
 
 		URL allMatchesForTeamURL = URLUtils.createSafeURL(
-				String.format(ESPNFC_DOMAIN + ESPNFC_MATCHES_FOR_TEAM_URL, TeamsMapping.ESPNFCToURI.get(espnfcTeamName), year));
+				String.format(CrawlSource.ESPNFC.getBaseUrl() + ESPNFC_MATCHES_FOR_TEAM_URL, TeamsMapping.ESPNFCToURI.get(espnfcTeamName), year));
 
 		String content = WebCrawler.crawl_ISO8858_9(allMatchesForTeamURL, crawledPages);
 
@@ -60,7 +66,7 @@ public final class Espnfc {
 		lastFiveMatchesHistogram.put(LOSES, 0);
 		lastFiveMatchesHistogram.put(DRAWS, 0);
 
-		Elements matches = Jsoup.parse(allMatchesHTML)
+		Elements matches = parse(allMatchesHTML, espnfcTeamName, round)
 				.getElementsByClass("games-container").get(1).getElementsByClass("score-list");
 
 		int matchesToLook = Math.min(round - 1, 5);
@@ -119,7 +125,7 @@ public final class Espnfc {
 		String espnfcTeamName = TeamsMapping.bundesligaToESPNFC.get(bundesLigaTeam);
 
 		URL allMatchesForTeamURL = URLUtils.createSafeURL(
-				String.format(ESPNFC_DOMAIN + ESPNFC_MATCHES_FOR_TEAM_URL, TeamsMapping.ESPNFCToURI.get(espnfcTeamName), year));
+				String.format(CrawlSource.ESPNFC.getBaseUrl() + ESPNFC_MATCHES_FOR_TEAM_URL, TeamsMapping.ESPNFCToURI.get(espnfcTeamName), year));
 
 		String content = WebCrawler.crawl_ISO8858_9(allMatchesForTeamURL, crawledPages);
 
@@ -132,7 +138,7 @@ public final class Espnfc {
 
 	public static String parseTeamOpponent(String allMatchesHTML, String espnfcTeamName, int round) {
 
-		Elements matches = Jsoup.parse(allMatchesHTML)
+		Elements matches = parse(allMatchesHTML, espnfcTeamName, round)
 				.getElementsByClass("games-container").get(1).getElementsByClass("score-list");
 
 		Element match = matches.get(round - 1);
@@ -155,7 +161,7 @@ public final class Espnfc {
 		String espnfcTeamName = TeamsMapping.bundesligaToESPNFC.get(bundesLigaTeam);
 
 		URL allMatchesForTeamURL = URLUtils.createSafeURL(
-				String.format(ESPNFC_DOMAIN + ESPNFC_MATCHES_FOR_TEAM_URL, TeamsMapping.ESPNFCToURI.get(espnfcTeamName), year));
+				String.format(CrawlSource.ESPNFC.getBaseUrl() + ESPNFC_MATCHES_FOR_TEAM_URL, TeamsMapping.ESPNFCToURI.get(espnfcTeamName), year));
 
 		String content = WebCrawler.crawl_ISO8858_9(allMatchesForTeamURL, crawledPages);
 
@@ -167,7 +173,7 @@ public final class Espnfc {
 	public static MatchVenueType parseMatchVenue(String allMatchesHTML, String espnfcTeamName, int round) {
 
 		LOG.debug("Getting result for the match..");
-		Element match = Jsoup.parse(allMatchesHTML)
+		Element match = parse(allMatchesHTML, espnfcTeamName, round)
 				.getElementsByClass("games-container").get(1).getElementsByClass("score-list")
 				.get(round - 1);
 
@@ -185,7 +191,7 @@ public final class Espnfc {
 		String espnfcTeamName = TeamsMapping.bundesligaToESPNFC.get(bundesLigaTeam);
 
 		URL allMatchesForTeamURL = URLUtils.createSafeURL(
-				String.format(ESPNFC_DOMAIN + ESPNFC_MATCHES_FOR_TEAM_URL, TeamsMapping.ESPNFCToURI.get(espnfcTeamName), year));
+				String.format(CrawlSource.ESPNFC.getBaseUrl() + ESPNFC_MATCHES_FOR_TEAM_URL, TeamsMapping.ESPNFCToURI.get(espnfcTeamName), year));
 
 		String content = WebCrawler.crawl_ISO8858_9(allMatchesForTeamURL, crawledPages);
 
@@ -196,7 +202,7 @@ public final class Espnfc {
 
 	public static String parseMatchResult(int round, String allMatchesHTML) {
 
-		Elements matches = Jsoup.parse(allMatchesHTML)
+		Elements matches = parse(allMatchesHTML, null, round)
 				.getElementsByClass("games-container").get(1).getElementsByClass("score-list");
 
 		Element match = matches.get(round - 1);
@@ -216,4 +222,12 @@ public final class Espnfc {
 			return ResultMessages.UNKNOWN_RESULT;
 		}
 	}
+
+	private static org.jsoup.nodes.Document parse(String allMatchesHTML, String espnfcTeamName, int round) {
+		try (Span ignored = Tracer.startSpan("parse").tag(Trace.SOURCE_TAG, CrawlSource.ESPNFC.getHost());
+			 FlightOperation event = FlightEvents.begin(FlightEventType.HTML_PARSE)
+					 .team(espnfcTeamName).round(round).bytes(allMatchesHTML.length())) {
+			return Jsoup.parse(allMatchesHTML);
+		}
+	}
 }
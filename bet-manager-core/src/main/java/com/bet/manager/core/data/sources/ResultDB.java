@@ -1,6 +1,13 @@
 package com.bet.manager.core.data.sources;
 
+import com.bet.manager.commons.jfr.FlightEventType;
+import com.bet.manager.commons.jfr.FlightEvents;
+import com.bet.manager.commons.jfr.FlightOperation;
+import com.bet.manager.commons.trace.Span;
+import com.bet.manager.commons.trace.Trace;
+import com.bet.manager.commons.trace.Tracer;
 import com.bet.manager.commons.util.URLUtils;
+import com.bet.manager.core.CrawlSource;
 import com.bet.manager.core.TeamsMapping;
 import com.bet.manager.core.WebCrawler;
 import com.bet.manager.core.exceptions.MatchResultNotFound;
@@ -19,7 +26,6 @@ public final class ResultDB {
 
 	private static final Logger LOG = LoggerFactory.getLogger(ResultDB.class);
 
-	private static final String RESULTDB_DOMAIN = "http://www.resultdb.com/";
 	private static final String RESULTDB_MATCHES_FOR_TEAM_URL = "germany/%s/%s/";
 
 	private static final String TABLE_SELECTOR = "table.results";
@@ -45,7 +51,7 @@ public final class ResultDB {
 		String resultDBTeamName = TeamsMapping.bundesligaToResultDB.get(bundesLigaTeam);
 
 		URL allMatchesForTeamURL = URLUtils.createSafeURL(
-				String.format(RESULTDB_DOMAIN + RESULTDB_MATCHES_FOR_TEAM_URL, resultDBTeamName, year));
+				String.format(CrawlSource.RESULTDB.getBaseUrl() + RESULTDB_MATCHES_FOR_TEAM_URL, resultDBTeamName, year));
 
 		String content = WebCrawler.crawl_ISO8858_9(allMatchesForTeamURL, crawledPages);
 
@@ -62,7 +68,7 @@ public final class ResultDB {
 		lastFiveMatchesHistogram.put(LOSES, 0);
 		lastFiveMatchesHistogram.put(DRAWS, 0);
 
-		org.jsoup.nodes.Document doc = Jsoup.parse(allMatchesHTML);
+		org.jsoup.nodes.Document doc = parse(allMatchesHTML, round);
 		Element e = doc.body().select(TABLE_SELECTOR).get(0);
 
 		int matchesCount = e.children().get(0).children().size() - 1;
@@ -117,7 +123,7 @@ public final class ResultDB {
 		String resultDBTeamName = TeamsMapping.bundesligaToResultDB.get(bundesLigaTeam);
 
 		URL allMatchesForTeamURL = URLUtils.createSafeURL(
-				String.format(RESULTDB_DOMAIN + RESULTDB_MATCHES_FOR_TEAM_URL, resultDBTeamName, year));
+				String.format(CrawlSource.RESULTDB.getBaseUrl() + RESULTDB_MATCHES_FOR_TEAM_URL, resultDBTeamName, year));
 
 		String content = WebCrawler.crawl_ISO8858_9(allMatchesForTeamURL, crawledPages);
 
@@ -125,7 +131,7 @@ public final class ResultDB {
 	}
 
 	public static String parseTeamOpponent(String allMatchesHTML, int round) {
-		org.jsoup.nodes.Document doc = Jsoup.parse(allMatchesHTML);
+		org.jsoup.nodes.Document doc = parse(allMatchesHTML, round);
 		Element e = doc.body().select(TABLE_SELECTOR).get(0);
 
 		int matchesCount = e.children().get(0).children().size();
@@ -143,7 +149,7 @@ public final class ResultDB {
 		String resultDBTeamName = TeamsMapping.bundesligaToResultDB.get(bundesLigaTeam);
 
 		URL allMatchesForTeamURL = URLUtils.createSafeURL(
-				String.format(RESULTDB_DOMAIN + RESULTDB_MATCHES_FOR_TEAM_URL, resultDBTeamName, year));
+				String.format(CrawlSource.RESULTDB.getBaseUrl() + RESULTDB_MATCHES_FOR_TEAM_URL, resultDBTeamName, year));
 
 		String content = WebCrawler.crawl_ISO8858_9(allMatchesForTeamURL, crawledPages);
 
@@ -151,7 +157,7 @@ public final class ResultDB {
 	}
 
 	public static MatchVenueType parseMatchVenue(String allMatchesHTML, int round) {
-		org.jsoup.nodes.Document doc = Jsoup.parse(allMatchesHTML);
+		org.jsoup.nodes.Document doc = parse(allMatchesHTML, round);
 		Element e = doc.body().select(TABLE_SELECTOR).get(0);
 
 		int matchesCount = e.children().get(0).children().size();
@@ -167,7 +173,7 @@ public final class ResultDB {
 
 		String resultDBTeam = TeamsMapping.bundesligaToResultDB.get(bundesLigaTeam);
 		URL teamMatchesURL = URLUtils.createSafeURL(
-				String.format(RESULTDB_DOMAIN + RESULTDB_MATCHES_FOR_TEAM_URL, resultDBTeam, year));
+				String.format(CrawlSource.RESULTDB.getBaseUrl() + RESULTDB_MATCHES_FOR_TEAM_URL, resultDBTeam, year));
 
 		String allMatchesHTML = WebCrawler.crawl_ISO8858_9(teamMatchesURL, crawledPages);
 
@@ -177,7 +183,7 @@ public final class ResultDB {
 	public static String parseMatchResult(int round, String allMatchesHTML) {
 
 		LOG.debug("Getting result for the match..");
-		org.jsoup.nodes.Document doc = Jsoup.parse(allMatchesHTML);
+		org.jsoup.nodes.Document doc = parse(allMatchesHTML, round);
 		Element e = doc.body().select(TABLE_SELECTOR).get(0);
 
 		int matchesCount = e.children().get(0).children().size() - 1;
@@ -192,4 +198,12 @@ public final class ResultDB {
 		LOG.debug("Result found : {}", result);
 		return result.trim();
 	}
+
+	private static org.jsoup.nodes.Document parse(String allMatchesHTML, int round) {
+		try (Span ignored = Tracer.startSpan("parse").tag(Trace.SOURCE_TAG, CrawlSource.RESULTDB.getHost());
+			 FlightOperation event = FlightEvents.begin(FlightEventType.HTML_PARSE)
+					 .round(round).bytes(allMatchesHTML.length())) {
+			return Jsoup.parse(allMatchesHTML);
+		}
+	}
 }
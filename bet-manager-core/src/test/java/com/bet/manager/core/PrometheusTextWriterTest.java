@@ -0,0 +1,98 @@
+package com.bet.manager.core;
+
+import com.codahale.metrics.Gauge;
+import com.codahale.metrics.MetricRegistry;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.io.IOException;
+import java.io.StringWriter;
+import java.util.concurrent.TimeUnit;
+
+public class PrometheusTextWriterTest {
+
+	@Test
+	public void testSanitize() {
+		Assert.assertEquals("com_bet_manager_WebCrawler_www_bundesliga_com_cache_hits",
+				PrometheusTextWriter.sanitize("com.bet.manager.WebCrawler.www.bundesliga.com.cache-hits"));
+		Assert.assertEquals("_1st_round", PrometheusTextWriter.sanitize("1st.round"));
+	}
+
+	@Test
+	public void testWrite() throws IOException {
+
+		MetricRegistry registry = new MetricRegistry();
+		registry.counter("matches.created").inc(3);
+		registry.meter("crawl.errors").mark(2);
+		registry.register("queue.size", (Gauge<Integer>) () -> 7);
+		registry.register("broken", (Gauge<Object>) () -> "not a number");
+		registry.histogram("page.size").update(100);
+		registry.timer("crawl.latency").update(2, TimeUnit.SECONDS);
+
+		StringWriter writer = new StringWriter();
+		new PrometheusTextWriter().write(registry, writer);
+		String text = writer.toString();
+
+		Assert.assertTrue(text.contains("# TYPE matches_created counter\nmatches_created 3\n"));
+		Assert.assertTrue(text.contains("# TYPE crawl_errors_total counter\ncrawl_errors_total 2\n"));
+		Assert.assertTrue(text.contains("# TYPE queue_size gauge\nqueue_size 7.0\n"));
+		Assert.assertFalse(text.contains("broken"));
+		Assert.assertTrue(text.contains("page_size{quantile=\"0.5\"} 100.0\n"));
+		Assert.assertTrue(text.contains("# TYPE page_size_count counter\npage_size_count 1\n"));
+		Assert.assertTrue(text.contains("# TYPE crawl_latency_seconds untyped\n"));
+		Assert.assertTrue(text.contains("crawl_latency_seconds{quantile=\"0.99\"} 2.0\n"));
+	}
+
+	@Test
+	public void testNoSummaryWithoutSum() throws IOException {
+
+		MetricRegistry registry = new MetricRegistry();
+		registry.histogram("page.size").update(100);
+		registry.timer("crawl.latency").update(2, TimeUnit.SECONDS);
+
+		StringWriter writer = new StringWriter();
+		new PrometheusTextWriter().write(registry, writer);
+		String text = writer.toString();
+
+		// The summary type requires the _sum series, which is not known
+		Assert.assertFalse(text.contains(" summary\n"));
+		Assert.assertFalse(text.contains("_sum"));
+	}
+
+	@Test
+	public void testSameSanitizedNamesAreWrittenOnce() throws IOException {
+
+		MetricRegistry registry = new MetricRegistry();
+		registry.counter("crawl.errors").inc(1);
+		registry.counter("crawl-errors").inc(2);
+		registry.register("crawl_errors", (Gauge<Integer>) () -> 3);
+		registry.counter("page.size.count").inc(4);
+		registry.histogram("page.size").update(100);
+
+		StringWriter writer = new StringWriter();
+		PrometheusTextWriter prometheusWriter = new PrometheusTextWriter();
+		prometheusWriter.write(registry, writer);
+		String text = writer.toString();
+
+		// The first name in order wins
+		Assert.assertEquals(1, occurrences(text, "# TYPE crawl_errors "));
+		Assert.assertTrue(text.contains("# TYPE crawl_errors counter\ncrawl_errors 2\n"));
+
+		// The counter would repeat the count of the histogram
+		Assert.assertEquals(1, occurrences(text, "# TYPE page_size_count "));
+		Assert.assertTrue(text.contains("page_size_count 1\n"));
+		Assert.assertFalse(text.contains("page_size_count 4\n"));
+
+		// The same on the next scrape, with the cached names
+		StringWriter next = new StringWriter();
+		prometheusWriter.write(registry, next);
+		Assert.assertEquals(text, next.toString());
+	}
+
+	private static int occurrences(String text, String part) {
+		int count = 0;
+		for (int i = text.indexOf(part); i >= 0; i = text.indexOf(part, i + 1))
+			count++;
+		return count;
+	}
+}
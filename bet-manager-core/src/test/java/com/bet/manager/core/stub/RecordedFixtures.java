@@ -0,0 +1,78 @@
+package com.bet.manager.core.stub;
+
+import com.bet.manager.core.CrawlSource;
+import com.bet.manager.core.TeamsMapping;
+import org.json.JSONObject;
+
+import java.util.Map;
+import java.util.regex.Matcher;
+
+/**
+ * Pages of the sources recorded in the test resources. There are no recorded espnfc pages, they are generated
+ * in the markup the parser reads.
+ */
+public final class RecordedFixtures {
+
+	public static final String BUNDESLIGA_STANDINGS = "crawl-data/bundesliga_post_standing_2.xml";
+	public static final String BUNDESLIGA_TEAM_STATS = "crawl-data/bundesliga_team_stats_round_1.xml";
+	public static final String RESULTDB_BAYERN_MATCHES = "crawl-data/bayern-munich_2012.html";
+	public static final String RESULTDB_STUTTGART_MATCHES = "crawl-data/vfb-stuttgart_2012.html";
+	public static final String FOOTBALL_DATA_MATCHES = "footballData-matches-samples.txt";
+
+	private static final int ROUNDS = 34;
+
+	private RecordedFixtures() {
+	}
+
+	/**
+	 * Routes every page crawled for the metadata of a match and the fetch of the football-data matches.
+	 * The same recorded page is served for any year and round.
+	 */
+	public static SourceStubServer register(SourceStubServer server) {
+		return server
+				.route(CrawlSource.BUNDESLIGA, "/post_standing/", BUNDESLIGA_STANDINGS)
+				.route(CrawlSource.BUNDESLIGA, "/team_stats_round/", BUNDESLIGA_TEAM_STATS)
+				.route(CrawlSource.RESULTDB, "^germany/bayern-munich/", RESULTDB_BAYERN_MATCHES)
+				.route(CrawlSource.RESULTDB, "^germany/vfb-stuttgart/", RESULTDB_STUTTGART_MATCHES)
+				.route(CrawlSource.ESPNFC, "^club/([^/]+/\\d+)/fixtures", RecordedFixtures::espnfcFixtures)
+				.route(CrawlSource.FOOTBALL_DATA, "^v1/fixtures", FOOTBALL_DATA_MATCHES);
+	}
+
+	private static String espnfcFixtures(Matcher path) {
+
+		String team = null;
+		for (Map.Entry<String, String> entry : TeamsMapping.ESPNFCToURI.entrySet()) {
+			if (entry.getValue().equals(path.group(1)))
+				team = entry.getKey();
+		}
+
+		return team == null ? null : espnfcFixtures(team, "Away FC", ROUNDS);
+	}
+
+	/**
+	 * @return the fixtures of the team in the json the espnfc site responds with, the team plays at home
+	 * and wins every match
+	 */
+	public static String espnfcFixtures(String team, String opponent, int rounds) {
+		return new JSONObject()
+				.put("content", new JSONObject().put("html", espnfcFixturesHtml(team, opponent, rounds)))
+				.toString();
+	}
+
+	public static String espnfcFixturesHtml(String team, String opponent, int rounds) {
+
+		StringBuilder html = new StringBuilder("<div class=\"games-container\"></div><div class=\"games-container\">");
+		for (int round = 1; round <= rounds; round++) {
+			html.append("<div class=\"score-list complete\">")
+					.append("<div class=\"team\"><div class=\"team-logo\"><img alt=\"").append(team).append("\"/></div>")
+					.append("<div class=\"team-name winner\">").append(team).append("</div></div>")
+					.append("<div class=\"score-result\"><div class=\"result\">")
+					.append("<span class=\"home-score\">").append(round % 4 + 1).append("</span>")
+					.append("<span class=\"away-score\">").append(round % 2).append("</span></div></div>")
+					.append("<div class=\"team\"><div class=\"team-logo\"><img alt=\"").append(opponent).append("\"/></div>")
+					.append("<div class=\"team-name\">").append(opponent).append("</div></div>")
+					.append("</div>");
+		}
+		return html.append("</div>").toString();
+	}
+}
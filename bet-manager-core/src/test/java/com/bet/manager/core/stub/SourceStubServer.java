@@ -0,0 +1,236 @@
+package com.bet.manager.core.stub;
+
+import com.bet.manager.commons.util.ClasspathUtils;
+import com.bet.manager.core.CrawlSource;
+import com.sun.net.httpserver.HttpExchange;
+import com.sun.net.httpserver.HttpServer;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.OutputStream;
+import java.io.UnsupportedEncodingException;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+
+/**
+ * Local HTTP server which replays pages of the sources, so the crawling runs without network. Every source
+ * is served under its own path, {@link #redirect()} points the sources to the server until it is closed.
+ * <p>
+ * The responses can be delayed and part of them can fail with 503, for the load tests of the crawling.
+ * The requests without a route fail with 404.
+ */
+public final class SourceStubServer implements Closeable {
+
+	private static final Logger LOG = LoggerFactory.getLogger(SourceStubServer.class);
+
+	private final HttpServer server;
+	private final ExecutorService executor = Executors.newCachedThreadPool();
+	private final Map<CrawlSource, List<Route>> routes = new ConcurrentHashMap<>();
+
+	private final AtomicLong requests = new AtomicLong();
+	private final AtomicLong errors = new AtomicLong();
+
+	private volatile int minLatencyMillis;
+	private volatile int maxLatencyMillis;
+	private volatile double errorRatio;
+	private boolean redirected;
+	private boolean closed;
+
+	/**
+	 * Server on a free port of the loopback interface
+	 */
+	public SourceStubServer() throws IOException {
+		this(0);
+	}
+
+	public SourceStubServer(int port) throws IOException {
+		server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), port), 0);
+		server.setExecutor(executor);
+
+		for (CrawlSource source : CrawlSource.values()) {
+			routes.put(source, new CopyOnWriteArrayList<>());
+			server.createContext(contextPath(source), exchange -> handle(source, exchange));
+		}
+	}
+
+	/**
+	 * @return server which serves the pages recorded in the test resources, see {@link RecordedFixtures}
+	 */
+	public static SourceStubServer withRecordedFixtures() throws IOException {
+		return RecordedFixtures.register(new SourceStubServer());
+	}
+
+	/**
+	 * Serves the classpath resource for the paths of the source matching the regex. The path is relative to
+	 * the base url of the source, without the query. The resource is read in UTF-8 like the recorded pages
+	 * are read by the tests.
+	 */
+	public SourceStubServer route(CrawlSource source, String pathRegex, String resource) {
+		if (SourceStubServer.class.getClassLoader().getResource(resource) == null)
+			throw new IllegalArgumentException("No resource " + resource);
+
+		String content = ClasspathUtils.getContentUTF8(resource);
+		return route(source, pathRegex, path -> content);
+	}
+
+	/**
+	 * Serves the page created from the matched path, null page fails with 404. The pages are encoded as
+	 * the crawler of the source decodes them.
+	 */
+	public SourceStubServer route(CrawlSource source, String pathRegex, Function<Matcher, String> page) {
+		String encoding = source == CrawlSource.FOOTBALL_DATA ? "UTF-8" : "ISO8859_9";
+		routes.get(source).add(new Route(Pattern.compile(pathRegex), path -> {
+			String content = page.apply(path);
+			return content == null ? null : bytes(content, encoding);
+		}));
+		return this;
+	}
+
+	/**
+	 * Delays every response by random time in range [minMillis, maxMillis]
+	 */
+	public SourceStubServer latency(int minMillis, int maxMillis) {
+		if (minMillis < 0 || maxMillis < minMillis)
+			throw new IllegalArgumentException("Latency range [" + minMillis + ".." + maxMillis + "] is not valid");
+
+		this.minLatencyMillis = minMillis;
+		this.maxLatencyMillis = maxMillis;
+		return this;
+	}
+
+	/**
+	 * @param errorRatio share of the requests which fail with 503
+	 */
+	public SourceStubServer errorRatio(double errorRatio) {
+		if (errorRatio < 0 || errorRatio > 1)
+			throw new IllegalArgumentException("Error ratio " + errorRatio + " should be in range [0..1]");
+
+		this.errorRatio = errorRatio;
+		return this;
+	}
+
+	public SourceStubServer start() {
+		server.start();
+		LOG.info("Stub server of the sources started on port {}", server.getAddress().getPort());
+		return this;
+	}
+
+	/**
+	 * Points the base urls of all sources to the server
+	 */
+	public synchronized SourceStubServer redirect() {
+		for (CrawlSource source : CrawlSource.values())
+			source.setBaseUrl(getBaseUrl(source));
+
+		redirected = true;
+		return this;
+	}
+
+	public String getBaseUrl(CrawlSource source) {
+		InetSocketAddress address = server.getAddress();
+		return "http://" + address.getAddress().getHostAddress() + ":" + address.getPort() + contextPath(source);
+	}
+
+	public long getRequests() {
+		return requests.get();
+	}
+
+	public long getErrors() {
+		return errors.get();
+	}
+
+	@Override
+	public synchronized void close() {
+		if (closed)
+			return;
+
+		closed = true;
+		if (redirected)
+			CrawlSource.resetBaseUrls();
+
+		server.stop(0);
+		executor.shutdownNow();
+	}
+
+	private void handle(CrawlSource source, HttpExchange exchange) throws IOException {
+
+		requests.incrementAndGet();
+
+		try {
+			int latency = minLatencyMillis + ThreadLocalRandom.current().nextInt(maxLatencyMillis - minLatencyMillis + 1);
+			if (latency > 0)
+				Thread.sleep(latency);
+
+			if (ThreadLocalRandom.current().nextDouble() < errorRatio) {
+				errors.incrementAndGet();
+				respond(exchange, 503, bytes("Injected error", "UTF-8"));
+				return;
+			}
+
+			String path = exchange.getRequestURI().getPath().substring(contextPath(source).length());
+			byte[] content = null;
+			for (Route route : routes.get(source)) {
+				Matcher matcher = route.pathPattern.matcher(path);
+				if (matcher.find()) {
+					content = route.page.apply(matcher);
+					break;
+				}
+			}
+
+			if (content == null) {
+				LOG.warn("No page of {} for path {}", source, path);
+				respond(exchange, 404, bytes("No page for " + path, "UTF-8"));
+				return;
+			}
+
+			respond(exchange, 200, content);
+		} catch (InterruptedException e) {
+			Thread.currentThread().interrupt();
+		} finally {
+			exchange.close();
+		}
+	}
+
+	private static void respond(HttpExchange exchange, int status, byte[] content) throws IOException {
+		exchange.sendResponseHeaders(status, content.length);
+		try (OutputStream os = exchange.getResponseBody()) {
+			os.write(content);
+		}
+	}
+
+	private static String contextPath(CrawlSource source) {
+		return "/" + source.name().toLowerCase().replace('_', '-') + "/";
+	}
+
+	private static byte[] bytes(String content, String encoding) {
+		try {
+			return content.getBytes(encoding);
+		} catch (UnsupportedEncodingException e) {
+			throw new IllegalStateException(e);
+		}
+	}
+
+	private static final class Route {
+
+		private final Pattern pathPattern;
+		private final Function<Matcher, byte[]> page;
+
+		private Route(Pattern pathPattern, Function<Matcher, byte[]> page) {
+			this.pathPattern = pathPattern;
+			this.page = page;
+		}
+	}
+}
@@ -0,0 +1,81 @@
+package com.bet.manager.core.stub;
+
+import com.bet.manager.commons.util.ClasspathUtils;
+import com.bet.manager.core.CrawlSource;
+import com.bet.manager.core.WebCrawler;
+import com.bet.manager.core.data.FootballDataManager;
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.util.FootballMatchBuilder;
+import org.junit.After;
+import org.junit.Assert;
+import org.junit.Before;
+import org.junit.Test;
+
+import java.net.URL;
+import java.util.Collections;
+
+public class SourceStubServerTest {
+
+	private SourceStubServer server;
+
+	@Before
+	public void setUp() throws Exception {
+		server = SourceStubServer.withRecordedFixtures().start().redirect();
+		WebCrawler.setSleep(0, 0);
+	}
+
+	@After
+	public void tearDown() {
+		WebCrawler.setSleep(WebCrawler.DEFAULT_MIN_SLEEP_MILLIS, WebCrawler.DEFAULT_MAX_SLEEP_MILLIS);
+		server.close();
+	}
+
+	@Test
+	public void testCreatingMetaDataFromTheStub() throws Exception {
+
+		FootballMatch match = new FootballDataManager().createData(new FootballMatchBuilder()
+				.setHomeTeamName("FC Bayern München")
+				.setAwayTeamName("VfB Stuttgart")
+				.setYear(2012)
+				.setRound(2)
+				.build());
+
+		Assert.assertNotNull(match.getMatchMetaData());
+		Assert.assertEquals("FC Bayern München", match.getHomeTeam());
+		// The generated espnfc fixtures of round 2
+		Assert.assertEquals("3-0", match.getResult());
+		Assert.assertTrue(server.getRequests() > 0);
+	}
+
+	@Test
+	public void testReplayingRecordedPage() throws Exception {
+
+		String content = WebCrawler.crawl_UTF8(
+				new URL(CrawlSource.FOOTBALL_DATA.getBaseUrl() + "v1/fixtures?league=BL1"), Collections.emptyMap());
+
+		Assert.assertEquals(ClasspathUtils.getContentUTF8(RecordedFixtures.FOOTBALL_DATA_MATCHES).replaceAll("\\R", ""),
+				content);
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testInjectedError() throws Exception {
+		server.errorRatio(1);
+		WebCrawler.crawl_UTF8(new URL(CrawlSource.FOOTBALL_DATA.getBaseUrl() + "v1/fixtures"));
+	}
+
+	@Test(expected = IllegalStateException.class)
+	public void testPageWithoutRoute() throws Exception {
+		WebCrawler.crawl_UTF8(new URL(CrawlSource.RESULTDB.getBaseUrl() + "germany/fc-augsburg/2012/"));
+	}
+
+	@Test
+	public void testBaseUrlsAreRestoredOnClose() {
+
+		Assert.assertEquals(server.getBaseUrl(CrawlSource.BUNDESLIGA), CrawlSource.BUNDESLIGA.getBaseUrl());
+
+		server.close();
+
+		for (CrawlSource source : CrawlSource.values())
+			Assert.assertEquals(source.getDefaultBaseUrl(), source.getBaseUrl());
+	}
+}
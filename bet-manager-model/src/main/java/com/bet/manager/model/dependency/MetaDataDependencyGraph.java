@@ -0,0 +1,106 @@
+package com.bet.manager.model.dependency;
+
+import com.bet.manager.model.projection.FootballMatchView;
+
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.Objects;
+import java.util.Set;
+import java.util.TreeMap;
+
+/**
+ * Which matches consume the statistics of a team in a season after given round. The metadata of a match
+ * in round r is created from the statistics of both teams after round r - 1, and the statistics of a team
+ * after round r depend on all its results up to round r. So when a result changes, the metadata of every
+ * later match of both teams in that season is stale.
+ * <p>
+ * The graph is not thread safe.
+ */
+public final class MetaDataDependencyGraph {
+
+	// Team and season to the round of the consumed statistics and the ids of the consuming matches
+	private final Map<TeamSeason, NavigableMap<Integer, Set<Long>>> consumers = new HashMap<>();
+
+	public static MetaDataDependencyGraph build(Collection<FootballMatchView> matches) {
+		MetaDataDependencyGraph graph = new MetaDataDependencyGraph();
+		matches.forEach(graph::add);
+		return graph;
+	}
+
+	public void add(FootballMatchView match) {
+		for (String team : teams(match))
+			consumers.computeIfAbsent(new TeamSeason(team, match.getYear()), k -> new TreeMap<>())
+					.computeIfAbsent(match.getRound() - 1, k -> new HashSet<>())
+					.add(match.getId());
+	}
+
+	public void remove(FootballMatchView match) {
+		for (String team : teams(match)) {
+			TeamSeason key = new TeamSeason(team, match.getYear());
+			NavigableMap<Integer, Set<Long>> rounds = consumers.get(key);
+			if (rounds == null)
+				continue;
+
+			Set<Long> ids = rounds.get(match.getRound() - 1);
+			if (ids != null && ids.remove(match.getId()) && ids.isEmpty()) {
+				rounds.remove(match.getRound() - 1);
+				if (rounds.isEmpty())
+					consumers.remove(key);
+			}
+		}
+	}
+
+	/**
+	 * @return ids of the matches whose metadata depends on the result of the given match
+	 */
+	public Set<Long> dependentsOf(FootballMatchView match) {
+
+		Set<Long> dependents = new HashSet<>();
+
+		for (String team : teams(match)) {
+			NavigableMap<Integer, Set<Long>> rounds = consumers.get(new TeamSeason(team, match.getYear()));
+			if (rounds != null)
+				rounds.tailMap(match.getRound(), true).values().forEach(dependents::addAll);
+		}
+
+		return dependents;
+	}
+
+	public void clear() {
+		consumers.clear();
+	}
+
+	private static String[] teams(FootballMatchView match) {
+		return new String[] { match.getHomeTeam(), match.getAwayTeam() };
+	}
+
+	private static final class TeamSeason {
+
+		private final String team;
+		private final int year;
+
+		private TeamSeason(String team, int year) {
+			this.team = team;
+			this.year = year;
+		}
+
+		@Override
+		public boolean equals(Object o) {
+			if (this == o)
+				return true;
+			if (o == null || getClass() != o.getClass())
+				return false;
+
+			TeamSeason that = (TeamSeason) o;
+			return year == that.year && team.equals(that.team);
+		}
+
+		@Override
+		public int hashCode() {
+			return Objects.hash(team, year);
+		}
+	}
+}
@@ -8,7 +8,9 @@ import java.io.Serializable;
 import java.time.LocalDateTime;
 
 @Entity
-@Table(name = "matches")
+@Table(name = "matches", indexes = {
+		@Index(name = "matches_year_round_id_idx", columnList = "year, round, id"),
+		@Index(name = "matches_start_date_idx", columnList = "start_date") })
 public class FootballMatch implements Serializable {
 
 	private static final long serialVersionUID = -7470593573172210843L;
@@ -46,7 +48,7 @@ public class FootballMatch implements Serializable {
 	@Column(name = "matchStatus")
 	private MatchStatus matchStatus;
 
-	@OneToOne(cascade = CascadeType.ALL)
+	@OneToOne(cascade = CascadeType.ALL, fetch = FetchType.LAZY)
 	@JoinColumn(name = "metadata_id")
 	private MatchMetaData matchMetaData;
 
@@ -211,7 +213,9 @@ public class FootballMatch implements Serializable {
 			return false;
 		if (matchStatus != that.matchStatus)
 			return false;
-		if (matchMetaData != null ? !matchMetaData.equals(that.matchMetaData) : that.matchMetaData != null)
+		// Compare the references first not to load the lazy metadata when it is not changed
+		if (matchMetaData != that.matchMetaData &&
+				(matchMetaData == null || !matchMetaData.equals(that.matchMetaData)))
 			return false;
 		if (result != null ? !result.equals(that.result) : that.result != null)
 			return false;
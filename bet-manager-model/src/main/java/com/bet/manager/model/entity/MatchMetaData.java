@@ -1,5 +1,6 @@
 package com.bet.manager.model.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
 import jdk.nashorn.internal.ir.annotations.Ignore;
 
 import javax.persistence.*;
@@ -10,6 +11,7 @@ import java.util.TreeMap;
 
 @Entity
 @Table(name = "match_metadata")
+@JsonIgnoreProperties({ "hibernateLazyInitializer", "handler" })
 public class MatchMetaData implements Serializable {
 
 	@Ignore
@@ -84,7 +86,9 @@ public class MatchMetaData implements Serializable {
 
 		MatchMetaData that = (MatchMetaData) o;
 
-		return firstTeamMetaData.equals(that.firstTeamMetaData) && secondTeamMetaData.equals(that.secondTeamMetaData);
+		// Use the getters, the other instance could be lazy loading proxy
+		return firstTeamMetaData.equals(that.getFirstTeamMetaData()) &&
+				secondTeamMetaData.equals(that.getSecondTeamMetaData());
 	}
 
 	@Override
@@ -0,0 +1,104 @@
+package com.bet.manager.model.entity;
+
+import com.fasterxml.jackson.annotation.JsonFormat;
+
+import javax.persistence.*;
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Failed metadata creation of a match. Failed match is retried after the next attempt time,
+ * quarantined one is never retried until the failure is deleted.
+ */
+@Entity
+@Table(name = "metadata_failures", indexes = {
+		@Index(name = "metadata_failures_next_attempt_idx", columnList = "quarantined, next_attempt") })
+public class MetaDataFailure implements Serializable {
+
+	private static final long serialVersionUID = 4728917562183374123L;
+
+	private static final int MAX_ERROR_LENGTH = 1000;
+
+	@Id
+	@Column(name = "match_id")
+	private Long matchId;
+
+	@Column(name = "summary")
+	private String summary;
+
+	@Column(name = "attempts")
+	private int attempts;
+
+	@Column(name = "error", length = MAX_ERROR_LENGTH)
+	private String error;
+
+	@Column(name = "quarantined")
+	private boolean quarantined;
+
+	@Column(name = "first_failure")
+	@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm", timezone = "EET")
+	private LocalDateTime firstFailure;
+
+	@Column(name = "last_failure")
+	@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm", timezone = "EET")
+	private LocalDateTime lastFailure;
+
+	@Column(name = "next_attempt")
+	@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm", timezone = "EET")
+	private LocalDateTime nextAttempt;
+
+	public MetaDataFailure() {
+
+	}
+
+	public MetaDataFailure(Long matchId, String summary) {
+		this.matchId = matchId;
+		this.summary = summary;
+		this.firstFailure = LocalDateTime.now();
+	}
+
+	/**
+	 * Record the failed attempt.
+	 *
+	 * @param nextAttempt time of the next attempt or null to quarantine the match
+	 */
+	public void failed(String error, LocalDateTime nextAttempt) {
+		this.attempts++;
+		this.error = error != null && error.length() > MAX_ERROR_LENGTH ? error.substring(0, MAX_ERROR_LENGTH) : error;
+		this.lastFailure = LocalDateTime.now();
+		this.nextAttempt = nextAttempt;
+		this.quarantined = nextAttempt == null;
+	}
+
+	public Long getMatchId() {
+		return matchId;
+	}
+
+	public String getSummary() {
+		return summary;
+	}
+
+	public int getAttempts() {
+		return attempts;
+	}
+
+	public String getError() {
+		return error;
+	}
+
+	public boolean isQuarantined() {
+		return quarantined;
+	}
+
+	public LocalDateTime getFirstFailure() {
+		return firstFailure;
+	}
+
+	public LocalDateTime getLastFailure() {
+		return lastFailure;
+	}
+
+	public LocalDateTime getNextAttempt() {
+		return nextAttempt;
+	}
+}
@@ -0,0 +1,121 @@
+package com.bet.manager.model.projection;
+
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.entity.MatchStatus;
+import com.bet.manager.model.entity.PredictionType;
+import com.fasterxml.jackson.annotation.JsonFormat;
+import com.fasterxml.jackson.annotation.JsonIgnore;
+
+import java.io.Serializable;
+import java.time.LocalDateTime;
+
+/**
+ * Read only projection of {@link FootballMatch} without the match metadata.
+ * Used by the list queries which does not need the metadata LOBs.
+ */
+public class FootballMatchView implements Serializable {
+
+	private static final long serialVersionUID = 2419580245207931517L;
+
+	public static final String JPQL_CONSTRUCTOR =
+			"NEW com.bet.manager.model.projection.FootballMatchView(m.id, m.homeTeam, m.awayTeam, m.year, m.round, "
+					+ "m.startDate, m.matchStatus, m.result, m.winner, m.prediction, m.predictionType)";
+
+	@JsonIgnore
+	private final Long id;
+
+	private final String homeTeam;
+	private final String awayTeam;
+	private final int year;
+	private final int round;
+
+	@JsonFormat(shape = JsonFormat.Shape.STRING, pattern = "yyyy-MM-dd HH:mm", timezone = "EET")
+	private final LocalDateTime startDate;
+
+	private final MatchStatus matchStatus;
+	private final String result;
+	private final String winner;
+	private final String prediction;
+	private final PredictionType predictionType;
+
+	public FootballMatchView(Long id, String homeTeam, String awayTeam, int year, int round, LocalDateTime startDate,
+			MatchStatus matchStatus, String result, String winner, String prediction, PredictionType predictionType) {
+		this.id = id;
+		this.homeTeam = homeTeam;
+		this.awayTeam = awayTeam;
+		this.year = year;
+		this.round = round;
+		this.startDate = startDate;
+		this.matchStatus = matchStatus;
+		this.result = result;
+		this.winner = winner;
+		this.prediction = prediction;
+		this.predictionType = predictionType;
+	}
+
+	public static FootballMatchView of(FootballMatch match) {
+		return new FootballMatchView(match.getId(), match.getHomeTeam(), match.getAwayTeam(), match.getYear(),
+				match.getRound(), match.getStartDate(), match.getMatchStatus(), match.getResult(), match.getWinner(),
+				match.getPrediction(), match.getPredictionType());
+	}
+
+	public Long getId() {
+		return id;
+	}
+
+	public String getHomeTeam() {
+		return homeTeam;
+	}
+
+	public String getAwayTeam() {
+		return awayTeam;
+	}
+
+	public int getYear() {
+		return year;
+	}
+
+	public int getRound() {
+		return round;
+	}
+
+	public LocalDateTime getStartDate() {
+		return startDate;
+	}
+
+	public MatchStatus getMatchStatus() {
+		return matchStatus;
+	}
+
+	public String getResult() {
+		return result;
+	}
+
+	public String getWinner() {
+		return winner;
+	}
+
+	public String getPrediction() {
+		return prediction;
+	}
+
+	public PredictionType getPredictionType() {
+		return predictionType;
+	}
+
+	@JsonIgnore
+	public String getSummary() {
+		return String.format("['%s' - '%s' %s round %s]", homeTeam, awayTeam, year, round);
+	}
+
+	@Override
+	public String toString() {
+		return "FootballMatchView [" +
+				"id=" + id +
+				", year=" + year +
+				", round=" + round +
+				", homeTeam='" + homeTeam + '\'' +
+				", awayTeam='" + awayTeam + '\'' +
+				" ]";
+	}
+}
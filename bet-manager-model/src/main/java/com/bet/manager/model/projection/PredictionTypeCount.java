@@ -0,0 +1,22 @@
+package com.bet.manager.model.projection;
+
+import com.bet.manager.model.entity.PredictionType;
+
+public class PredictionTypeCount {
+
+	private final PredictionType predictionType;
+	private final long count;
+
+	public PredictionTypeCount(PredictionType predictionType, long count) {
+		this.predictionType = predictionType;
+		this.count = count;
+	}
+
+	public PredictionType getPredictionType() {
+		return predictionType;
+	}
+
+	public long getCount() {
+		return count;
+	}
+}
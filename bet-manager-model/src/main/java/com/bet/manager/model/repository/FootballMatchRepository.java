@@ -3,9 +3,15 @@ package com.bet.manager.model.repository;
 import com.bet.manager.model.entity.FootballMatch;
 import com.bet.manager.model.entity.MatchStatus;
 import com.bet.manager.model.entity.PredictionType;
+import com.bet.manager.model.projection.FootballMatchView;
+import com.bet.manager.model.projection.PredictionTypeCount;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
 import org.springframework.stereotype.Repository;
 
+import java.time.LocalDateTime;
 import java.util.List;
 
 @Repository
@@ -14,4 +20,25 @@ public interface FootballMatchRepository extends JpaRepository<FootballMatch, Lo
 	List<FootballMatch> findByPredictionTypeAndMatchStatus(PredictionType predictionType, MatchStatus matchStatus);
 
 	List<FootballMatch> findByPredictionType(PredictionType predictionType);
+
+	List<FootballMatch> findByMatchMetaDataIsNull();
+
+	/**
+	 * Matches with the given prediction type together with their metadata, which otherwise is loaded lazily.
+	 */
+	@EntityGraph(attributePaths = "matchMetaData")
+	List<FootballMatch> findWithMetaDataByPredictionTypeAndMatchMetaDataIsNotNull(PredictionType predictionType);
+
+	@Query("SELECT NEW com.bet.manager.model.projection.PredictionTypeCount(m.predictionType, COUNT(m)) "
+			+ "FROM FootballMatch AS m WHERE m.matchStatus = :matchStatus GROUP BY m.predictionType")
+	List<PredictionTypeCount> countGroupedByPredictionType(@Param("matchStatus") MatchStatus matchStatus);
+
+	@Query("SELECT " + FootballMatchView.JPQL_CONSTRUCTOR + " FROM FootballMatch AS m")
+	List<FootballMatchView> findAllViews();
+
+	/**
+	 * Kick-off times in the given range in ascending order, the times are in UTC.
+	 */
+	@Query("SELECT m.startDate FROM FootballMatch AS m WHERE m.startDate BETWEEN :from AND :to ORDER BY m.startDate")
+	List<LocalDateTime> findStartDatesBetween(@Param("from") LocalDateTime from, @Param("to") LocalDateTime to);
 }
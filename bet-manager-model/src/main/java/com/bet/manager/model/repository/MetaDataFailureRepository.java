@@ -0,0 +1,24 @@
+package com.bet.manager.model.repository;
+
+import com.bet.manager.model.entity.MetaDataFailure;
+import org.springframework.data.jpa.repository.JpaRepository;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.query.Param;
+import org.springframework.stereotype.Repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+@Repository
+public interface MetaDataFailureRepository extends JpaRepository<MetaDataFailure, Long> {
+
+	/**
+	 * Ids of the matches which must not be retried at the given time.
+	 */
+	@Query("SELECT f.matchId FROM MetaDataFailure AS f WHERE f.quarantined = true OR f.nextAttempt > :now")
+	List<Long> findBlockedMatchIds(@Param("now") LocalDateTime now);
+
+	List<MetaDataFailure> findByQuarantinedOrderByLastFailureDesc(boolean quarantined);
+
+	List<MetaDataFailure> findAllByOrderByLastFailureDesc();
+}
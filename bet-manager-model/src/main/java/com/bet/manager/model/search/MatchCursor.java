@@ -0,0 +1,103 @@
+package com.bet.manager.model.search;
+
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.projection.FootballMatchView;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+/**
+ * Position in the (year, round, id) ordering of the matches table. Used for keyset pagination,
+ * the cursor is handed to the clients as an opaque continuation token.
+ */
+public final class MatchCursor {
+
+	private static final String DELIMITER = ":";
+
+	private final int year;
+	private final int round;
+	private final long id;
+
+	public MatchCursor(int year, int round, long id) {
+		this.year = year;
+		this.round = round;
+		this.id = id;
+	}
+
+	public static MatchCursor after(FootballMatch match) {
+		return new MatchCursor(match.getYear(), match.getRound(), match.getId());
+	}
+
+	public static MatchCursor after(FootballMatchView match) {
+		return new MatchCursor(match.getYear(), match.getRound(), match.getId());
+	}
+
+	/**
+	 * Decode continuation token created by {@link #encode()}
+	 *
+	 * @param token continuation token
+	 * @return the cursor
+	 * @throws IllegalArgumentException if the token is not valid
+	 */
+	public static MatchCursor decode(String token) {
+
+		String[] tokens;
+
+		try {
+			tokens = new String(Base64.getUrlDecoder().decode(token), StandardCharsets.UTF_8).split(DELIMITER);
+		} catch (IllegalArgumentException e) {
+			throw new IllegalArgumentException("Continuation token '" + token + "' is not valid.", e);
+		}
+
+		if (tokens.length != 3)
+			throw new IllegalArgumentException("Continuation token '" + token + "' is not valid.");
+
+		try {
+			return new MatchCursor(Integer.parseInt(tokens[0]), Integer.parseInt(tokens[1]), Long.parseLong(tokens[2]));
+		} catch (NumberFormatException e) {
+			throw new IllegalArgumentException("Continuation token '" + token + "' is not valid.", e);
+		}
+	}
+
+	public String encode() {
+		String position = year + DELIMITER + round + DELIMITER + id;
+		return Base64.getUrlEncoder().withoutPadding().encodeToString(position.getBytes(StandardCharsets.UTF_8));
+	}
+
+	public int getYear() {
+		return year;
+	}
+
+	public int getRound() {
+		return round;
+	}
+
+	public long getId() {
+		return id;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (!(o instanceof MatchCursor))
+			return false;
+
+		MatchCursor that = (MatchCursor) o;
+
+		return year == that.year && round == that.round && id == that.id;
+	}
+
+	@Override
+	public int hashCode() {
+		int result = year;
+		result = 31 * result + round;
+		result = 31 * result + (int) (id ^ (id >>> 32));
+		return result;
+	}
+
+	@Override
+	public String toString() {
+		return "MatchCursor [year=" + year + ", round=" + round + ", id=" + id + " ]";
+	}
+}
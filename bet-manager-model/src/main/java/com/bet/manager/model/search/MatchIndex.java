@@ -0,0 +1,214 @@
+package com.bet.manager.model.search;
+
+import com.bet.manager.model.entity.MatchStatus;
+import com.bet.manager.model.entity.PredictionType;
+import com.bet.manager.model.projection.FootballMatchView;
+
+import java.util.*;
+import java.util.function.Function;
+
+/**
+ * Immutable in-memory index of the matches. The matches are kept ordered by year, round and id,
+ * the same order as the search query, and every filterable property has posting lists with the
+ * positions of the matches in ascending order. Search with several filters intersects the posting
+ * lists starting with the shortest one.
+ * <p>
+ * Changes create new index, so the readers never need to lock.
+ */
+public final class MatchIndex {
+
+	private static final int[] EMPTY = new int[0];
+
+	private static final Comparator<FootballMatchView> ORDER = Comparator
+			.comparingInt(FootballMatchView::getYear)
+			.thenComparingInt(FootballMatchView::getRound)
+			.thenComparing(FootballMatchView::getId);
+
+	private final FootballMatchView[] matches;
+
+	private final Map<String, int[]> byHomeTeam;
+	private final Map<String, int[]> byAwayTeam;
+	private final Map<Integer, int[]> byYear;
+	private final Map<Integer, int[]> byRound;
+	private final Map<MatchStatus, int[]> byMatchStatus;
+	private final Map<PredictionType, int[]> byPredictionType;
+
+	private MatchIndex(FootballMatchView[] matches) {
+		Arrays.sort(matches, ORDER);
+
+		this.matches = matches;
+		this.byHomeTeam = postings(matches, FootballMatchView::getHomeTeam);
+		this.byAwayTeam = postings(matches, FootballMatchView::getAwayTeam);
+		this.byYear = postings(matches, FootballMatchView::getYear);
+		this.byRound = postings(matches, FootballMatchView::getRound);
+		this.byMatchStatus = postings(matches, FootballMatchView::getMatchStatus);
+		this.byPredictionType = postings(matches, FootballMatchView::getPredictionType);
+	}
+
+	public static MatchIndex build(Collection<FootballMatchView> matches) {
+		return new MatchIndex(matches.toArray(new FootballMatchView[matches.size()]));
+	}
+
+	/**
+	 * Create new index with the changes applied, this one stays untouched. Applying the same
+	 * changes more than once has no further effect.
+	 *
+	 * @param removedIds ids of the deleted matches
+	 * @param upserted   created or updated matches, they replace the matches with the same id
+	 */
+	public MatchIndex withChanges(Collection<Long> removedIds, Collection<FootballMatchView> upserted) {
+
+		Map<Long, FootballMatchView> byId = new HashMap<>(matches.length + upserted.size());
+
+		for (FootballMatchView match : matches)
+			byId.put(match.getId(), match);
+
+		removedIds.forEach(byId::remove);
+		upserted.forEach(match -> byId.put(match.getId(), match));
+
+		return build(byId.values());
+	}
+
+	/**
+	 * Search the index the same way as the database search query does.
+	 *
+	 * @param after  position after which the search starts or null to start from the beginning
+	 * @param offset number of matching matches to skip
+	 * @param limit  max number of returned matches
+	 * @return matches ordered by year, round and id
+	 */
+	public List<FootballMatchView> search(MatchSearchFilter filter, MatchCursor after, int offset, int limit) {
+
+		List<int[]> postings = new ArrayList<>(6);
+		addPostings(postings, byHomeTeam, filter.getHomeTeam());
+		addPostings(postings, byAwayTeam, filter.getAwayTeam());
+		addPostings(postings, byYear, filter.getYear());
+		addPostings(postings, byRound, filter.getRound());
+		addPostings(postings, byMatchStatus, filter.getMatchStatus());
+		addPostings(postings, byPredictionType, filter.getPredictionType());
+
+		int start = after == null ? 0 : firstAfter(after);
+		List<FootballMatchView> result = new ArrayList<>(Math.min(limit, 64));
+
+		if (postings.isEmpty()) {
+			for (int position = start + offset; position < matches.length && result.size() < limit; position++)
+				result.add(matches[position]);
+
+			return result;
+		}
+
+		postings.sort(Comparator.comparingInt(p -> p.length));
+
+		int[] shortest = postings.get(0);
+		int[] cursors = new int[postings.size()];
+		int skipped = 0;
+
+		for (int i = lowerBound(shortest, 0, start); i < shortest.length && result.size() < limit; i++) {
+			int position = shortest[i];
+			boolean inAll = true;
+
+			for (int p = 1; p < postings.size() && inAll; p++) {
+				int[] other = postings.get(p);
+				cursors[p] = lowerBound(other, cursors[p], position);
+
+				// One of the lists is exhausted, there cannot be more matches
+				if (cursors[p] == other.length)
+					return result;
+
+				inAll = other[cursors[p]] == position;
+			}
+
+			if (!inAll)
+				continue;
+
+			if (skipped < offset)
+				skipped++;
+			else
+				result.add(matches[position]);
+		}
+
+		return result;
+	}
+
+	public int size() {
+		return matches.length;
+	}
+
+	private static <K> void addPostings(List<int[]> postings, Map<K, int[]> index, K value) {
+		if (value != null)
+			postings.add(index.getOrDefault(value, EMPTY));
+	}
+
+	private static <K> Map<K, int[]> postings(FootballMatchView[] matches, Function<FootballMatchView, K> key) {
+
+		Map<K, int[]> counts = new HashMap<>();
+		for (FootballMatchView match : matches)
+			counts.computeIfAbsent(key.apply(match), k -> new int[1])[0]++;
+
+		Map<K, int[]> postings = new HashMap<>(counts.size() * 2);
+		Map<K, int[]> filled = new HashMap<>(counts.size() * 2);
+
+		counts.forEach((k, count) -> {
+			postings.put(k, new int[count[0]]);
+			filled.put(k, new int[1]);
+		});
+
+		for (int position = 0; position < matches.length; position++) {
+			K k = key.apply(matches[position]);
+			postings.get(k)[filled.get(k)[0]++] = position;
+		}
+
+		return postings;
+	}
+
+	/**
+	 * @return first index in the sorted array from the given one with value not less than the target
+	 */
+	private static int lowerBound(int[] sorted, int from, int target) {
+
+		// Gallop first, the intersection usually advances in small steps
+		int step = 1;
+		int high = from;
+		while (high < sorted.length && sorted[high] < target) {
+			from = high + 1;
+			high += step;
+			step <<= 1;
+		}
+
+		high = Math.min(high, sorted.length);
+
+		while (from < high) {
+			int middle = (from + high) >>> 1;
+			if (sorted[middle] < target)
+				from = middle + 1;
+			else
+				high = middle;
+		}
+
+		return from;
+	}
+
+	private int firstAfter(MatchCursor cursor) {
+
+		int low = 0;
+		int high = matches.length;
+
+		while (low < high) {
+			int middle = (low + high) >>> 1;
+			if (compare(matches[middle], cursor) <= 0)
+				low = middle + 1;
+			else
+				high = middle;
+		}
+
+		return low;
+	}
+
+	private static int compare(FootballMatchView match, MatchCursor cursor) {
+		if (match.getYear() != cursor.getYear())
+			return Integer.compare(match.getYear(), cursor.getYear());
+		if (match.getRound() != cursor.getRound())
+			return Integer.compare(match.getRound(), cursor.getRound());
+		return Long.compare(match.getId(), cursor.getId());
+	}
+}
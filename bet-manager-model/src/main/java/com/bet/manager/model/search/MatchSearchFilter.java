@@ -0,0 +1,98 @@
+package com.bet.manager.model.search;
+
+import com.bet.manager.model.entity.MatchStatus;
+import com.bet.manager.model.entity.PredictionType;
+import com.bet.manager.model.projection.FootballMatchView;
+
+import java.util.Objects;
+
+/**
+ * Filter of the match search. Every property which is null matches any match.
+ */
+public final class MatchSearchFilter {
+
+	private final String homeTeam;
+	private final String awayTeam;
+	private final Integer year;
+	private final Integer round;
+	private final PredictionType predictionType;
+	private final MatchStatus matchStatus;
+
+	public MatchSearchFilter(String homeTeam, String awayTeam, Integer year, Integer round,
+			PredictionType predictionType, MatchStatus matchStatus) {
+		this.homeTeam = homeTeam;
+		this.awayTeam = awayTeam;
+		this.year = year;
+		this.round = round;
+		this.predictionType = predictionType;
+		this.matchStatus = matchStatus;
+	}
+
+	/**
+	 * @return true if the match satisfies every property of the filter, false for null match
+	 */
+	public boolean matches(FootballMatchView match) {
+		return match != null &&
+				(homeTeam == null || homeTeam.equals(match.getHomeTeam())) &&
+				(awayTeam == null || awayTeam.equals(match.getAwayTeam())) &&
+				(year == null || year == match.getYear()) &&
+				(round == null || round == match.getRound()) &&
+				(predictionType == null || predictionType == match.getPredictionType()) &&
+				(matchStatus == null || matchStatus == match.getMatchStatus());
+	}
+
+	public String getHomeTeam() {
+		return homeTeam;
+	}
+
+	public String getAwayTeam() {
+		return awayTeam;
+	}
+
+	public Integer getYear() {
+		return year;
+	}
+
+	public Integer getRound() {
+		return round;
+	}
+
+	public PredictionType getPredictionType() {
+		return predictionType;
+	}
+
+	public MatchStatus getMatchStatus() {
+		return matchStatus;
+	}
+
+	@Override
+	public boolean equals(Object o) {
+		if (this == o)
+			return true;
+		if (o == null || getClass() != o.getClass())
+			return false;
+
+		MatchSearchFilter that = (MatchSearchFilter) o;
+		return Objects.equals(homeTeam, that.homeTeam) &&
+				Objects.equals(awayTeam, that.awayTeam) &&
+				Objects.equals(year, that.year) &&
+				Objects.equals(round, that.round) &&
+				predictionType == that.predictionType &&
+				matchStatus == that.matchStatus;
+	}
+
+	@Override
+	public int hashCode() {
+		return Objects.hash(homeTeam, awayTeam, year, round, predictionType, matchStatus);
+	}
+
+	@Override
+	public String toString() {
+		return "homeTeam=" + homeTeam +
+				"&awayTeam=" + awayTeam +
+				"&year=" + year +
+				"&round=" + round +
+				"&predictionType=" + predictionType +
+				"&matchStatus=" + matchStatus;
+	}
+}
@@ -0,0 +1,93 @@
+package com.bet.manager.model.util;
+
+import com.bet.manager.model.entity.FootballMatch;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.Deque;
+import java.util.Objects;
+import java.util.PriorityQueue;
+
+/**
+ * Work queue of matches ordered by kick-off proximity. Upcoming and live matches come first, the one
+ * which kicks off first is the first one. The historical matches are backfill, newest first, and while
+ * upcoming matches are pending the backfill gets at most the given share of the polled matches.
+ * <p>
+ * The methods are synchronized, so the queue can be inspected while it is worked through.
+ */
+public final class KickOffPriorityQueue {
+
+	private static final Comparator<FootballMatch> BY_START_DATE =
+			Comparator.comparing(FootballMatch::getStartDate);
+
+	private final PriorityQueue<FootballMatch> upcoming = new PriorityQueue<>(BY_START_DATE);
+	private final Deque<FootballMatch> backfill = new ArrayDeque<>();
+	private final double backfillShare;
+
+	private long polled;
+	private long polledBackfill;
+
+	/**
+	 * @param now           current time in the time zone of the start dates
+	 * @param liveDuration  how long after the kick-off the match is still considered upcoming
+	 * @param backfillShare share of the backfill in the polled matches while upcoming ones are pending
+	 */
+	public KickOffPriorityQueue(Collection<FootballMatch> matches, LocalDateTime now, Duration liveDuration,
+			double backfillShare) {
+
+		if (backfillShare < 0 || backfillShare > 1)
+			throw new IllegalArgumentException("Backfill share " + backfillShare + " should be in range [0..1]");
+
+		this.backfillShare = backfillShare;
+
+		LocalDateTime liveSince = now.minus(liveDuration);
+
+		matches.stream()
+				.filter(m -> m.getStartDate() == null || m.getStartDate().isBefore(liveSince))
+				.sorted(Comparator.comparing(FootballMatch::getStartDate,
+						Comparator.nullsLast(Comparator.<LocalDateTime> reverseOrder())))
+				.forEach(backfill::addLast);
+
+		matches.stream()
+				.filter(m -> m.getStartDate() != null && !m.getStartDate().isBefore(liveSince))
+				.forEach(upcoming::add);
+	}
+
+	/**
+	 * @return next match or null if the queue is empty
+	 */
+	public synchronized FootballMatch poll() {
+
+		boolean backfillTurn = !backfill.isEmpty() &&
+				(upcoming.isEmpty() || polledBackfill + 1 <= backfillShare * (polled + 1));
+
+		polled++;
+
+		if (backfillTurn) {
+			polledBackfill++;
+			return backfill.pollFirst();
+		}
+
+		return upcoming.poll();
+	}
+
+	public synchronized int size() {
+		return upcoming.size() + backfill.size();
+	}
+
+	/**
+	 * @return how long the longest waiting upcoming match has been in the db, zero if none is pending
+	 */
+	public synchronized Duration oldestUpcomingAge() {
+		// The creation time is in the local time zone unlike the start date
+		return upcoming.stream()
+				.map(FootballMatch::getDateCreated)
+				.filter(Objects::nonNull)
+				.min(Comparator.naturalOrder())
+				.map(created -> Duration.between(created, LocalDateTime.now()))
+				.orElse(Duration.ZERO);
+	}
+}
@@ -0,0 +1,94 @@
+package com.bet.manager.model;
+
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.util.FootballMatchBuilder;
+import com.bet.manager.model.util.KickOffPriorityQueue;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.Duration;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+
+public class KickOffPriorityQueueTest {
+
+	private static final LocalDateTime NOW = LocalDateTime.of(2017, 5, 20, 15, 0);
+	private static final Duration LIVE = Duration.ofHours(2);
+
+	@Test
+	public void testUpcomingMatchesFirstByKickOff() {
+
+		FootballMatch tomorrow = match("A", NOW.plusDays(1));
+		FootballMatch live = match("B", NOW.minusHours(1));
+		FootballMatch inHour = match("C", NOW.plusHours(1));
+		FootballMatch lastWeek = match("D", NOW.minusDays(7));
+		FootballMatch lastYear = match("E", NOW.minusYears(1));
+		FootballMatch unknown = match("F", null);
+
+		KickOffPriorityQueue queue = new KickOffPriorityQueue(
+				Arrays.asList(lastYear, tomorrow, unknown, live, lastWeek, inHour), NOW, LIVE, 0);
+
+		Assert.assertEquals(Arrays.asList(live, inHour, tomorrow, lastWeek, lastYear, unknown), drain(queue));
+	}
+
+	@Test
+	public void testBackfillShareIsCappedWhileUpcomingArePending() {
+
+		List<FootballMatch> matches = new ArrayList<>();
+		for (int i = 0; i < 8; i++)
+			matches.add(match("U" + i, NOW.plusHours(i)));
+		for (int i = 0; i < 4; i++)
+			matches.add(match("H" + i, NOW.minusDays(i + 1)));
+
+		List<FootballMatch> order = drain(new KickOffPriorityQueue(matches, NOW, LIVE, 0.25));
+
+		Assert.assertEquals(matches.size(), order.size());
+		// One in four polled matches is backfill until the upcoming ones run out
+		for (int i = 0; i < 8; i++)
+			Assert.assertEquals(i % 4 == 3, order.get(i).getHomeTeam().startsWith("H"));
+		Assert.assertTrue(order.subList(10, 12).stream().allMatch(m -> m.getHomeTeam().startsWith("H")));
+	}
+
+	@Test
+	public void testOldestUpcomingAge() {
+
+		FootballMatch upcoming = match("A", NOW.plusDays(1));
+		upcoming.setDateCreated(LocalDateTime.now().minusMinutes(30));
+		FootballMatch historical = match("B", NOW.minusDays(1));
+		historical.setDateCreated(LocalDateTime.now().minusDays(30));
+
+		KickOffPriorityQueue queue = new KickOffPriorityQueue(Arrays.asList(upcoming, historical), NOW, LIVE, 0);
+
+		Duration age = queue.oldestUpcomingAge();
+		Assert.assertTrue(age.toMinutes() >= 30 && age.toMinutes() < 35);
+
+		queue.poll();
+		Assert.assertEquals(Duration.ZERO, queue.oldestUpcomingAge());
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testInvalidShare() {
+		new KickOffPriorityQueue(Collections.emptyList(), NOW, LIVE, 1.5);
+	}
+
+	private static List<FootballMatch> drain(KickOffPriorityQueue queue) {
+		List<FootballMatch> polled = new ArrayList<>();
+		FootballMatch match;
+		while ((match = queue.poll()) != null)
+			polled.add(match);
+		return polled;
+	}
+
+	private static FootballMatch match(String homeTeam, LocalDateTime startDate) {
+		return new FootballMatchBuilder()
+				.setHomeTeamName(homeTeam)
+				.setAwayTeamName("Away")
+				.setYear(2017)
+				.setRound(1)
+				.setStartDate(startDate)
+				.build();
+	}
+}
@@ -0,0 +1,29 @@
+package com.bet.manager.model;
+
+import com.bet.manager.model.search.MatchCursor;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Base64;
+
+public class MatchCursorTest {
+
+	@Test
+	public void testEncodeAndDecodeCursor() {
+
+		MatchCursor cursor = new MatchCursor(2016, 12, 4021L);
+
+		Assert.assertEquals(cursor, MatchCursor.decode(cursor.encode()));
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDecodeNotBase64Token() {
+		MatchCursor.decode("not a token");
+	}
+
+	@Test(expected = IllegalArgumentException.class)
+	public void testDecodeTokenWithMissingPosition() {
+		MatchCursor.decode(Base64.getUrlEncoder().encodeToString("2016:12".getBytes(StandardCharsets.UTF_8)));
+	}
+}
@@ -0,0 +1,119 @@
+package com.bet.manager.model;
+
+import com.bet.manager.model.entity.MatchStatus;
+import com.bet.manager.model.entity.PredictionType;
+import com.bet.manager.model.projection.FootballMatchView;
+import com.bet.manager.model.search.MatchCursor;
+import com.bet.manager.model.search.MatchIndex;
+import com.bet.manager.model.search.MatchSearchFilter;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collectors;
+
+public class MatchIndexTest {
+
+	private static final String[] TEAMS = { "Bayern", "Dortmund", "Hamburg", "Koln", "Mainz" };
+
+	private static final List<MatchSearchFilter> FILTERS = new ArrayList<MatchSearchFilter>() {{
+		add(new MatchSearchFilter(null, null, null, null, null, null));
+		add(new MatchSearchFilter("Bayern", null, null, null, null, null));
+		add(new MatchSearchFilter(null, "Koln", 2016, null, null, null));
+		add(new MatchSearchFilter("Hamburg", null, 2015, 3, null, MatchStatus.FINISHED));
+		add(new MatchSearchFilter(null, null, null, 2, PredictionType.CORRECT, MatchStatus.FINISHED));
+		add(new MatchSearchFilter("Unknown", null, null, null, null, null));
+	}};
+
+	@Test
+	public void testSearchReturnsSameMatchesAsFullScan() {
+
+		List<FootballMatchView> matches = matches();
+		MatchIndex index = MatchIndex.build(matches);
+
+		for (MatchSearchFilter filter : FILTERS)
+			Assert.assertEquals(filter.toString(), scan(matches, filter), index.search(filter, null, 0, matches.size()));
+	}
+
+	@Test
+	public void testSearchWithCursorAndOffset() {
+
+		List<FootballMatchView> matches = matches();
+		MatchIndex index = MatchIndex.build(matches);
+
+		for (MatchSearchFilter filter : FILTERS) {
+			List<FootballMatchView> expected = scan(matches, filter);
+			List<FootballMatchView> paged = new ArrayList<>();
+
+			List<FootballMatchView> page = index.search(filter, null, 0, 4);
+			while (!page.isEmpty()) {
+				paged.addAll(page);
+				page = index.search(filter, MatchCursor.after(page.get(page.size() - 1)), 0, 4);
+			}
+
+			Assert.assertEquals(expected, paged);
+			Assert.assertEquals(expected.stream().skip(3).limit(2).collect(Collectors.toList()),
+					index.search(filter, null, 3, 2));
+		}
+	}
+
+	@Test
+	public void testWithChangesCreatesNewIndex() {
+
+		List<FootballMatchView> matches = matches();
+		MatchIndex index = MatchIndex.build(matches);
+
+		FootballMatchView updated = new FootballMatchView(1L, "Bayern", "Mainz", 2014, 1, null,
+				MatchStatus.STARTED, "0-0", "None", null, PredictionType.NOT_PREDICTED);
+
+		MatchIndex changed = index.withChanges(Collections.singletonList(2L), Collections.singletonList(updated));
+
+		Assert.assertEquals(matches.size(), index.size());
+		Assert.assertEquals(matches.size() - 1, changed.size());
+
+		MatchSearchFilter started = new MatchSearchFilter(null, null, null, null, null, MatchStatus.STARTED);
+		Assert.assertEquals(Collections.singletonList(updated), changed.search(started, null, 0, 10));
+		Assert.assertTrue(index.search(started, null, 0, 10).isEmpty());
+
+		Assert.assertEquals(changed.size(), changed.withChanges(Collections.singletonList(2L),
+				Collections.singletonList(updated)).size());
+	}
+
+	private static List<FootballMatchView> matches() {
+
+		List<FootballMatchView> matches = new ArrayList<>();
+		long id = 1;
+
+		// Created in reverse order, the index has to sort them
+		for (int year = 2016; year >= 2015; year--) {
+			for (int round = 3; round >= 1; round--) {
+				for (int home = 0; home < TEAMS.length; home++) {
+					int away = (home + round) % TEAMS.length;
+					if (away == home)
+						continue;
+
+					MatchStatus status = year == 2015 || round < 3 ? MatchStatus.FINISHED : MatchStatus.NOT_STARTED;
+					PredictionType predictionType = status != MatchStatus.FINISHED ? PredictionType.NOT_PREDICTED :
+							(home + round) % 2 == 0 ? PredictionType.CORRECT : PredictionType.INCORRECT;
+
+					matches.add(new FootballMatchView(id++, TEAMS[home], TEAMS[away], year, round, null,
+							status, "1-0", TEAMS[home], "1", predictionType));
+				}
+			}
+		}
+
+		return matches;
+	}
+
+	private static List<FootballMatchView> scan(List<FootballMatchView> matches, MatchSearchFilter filter) {
+		return matches.stream()
+				.filter(filter::matches)
+				.sorted(Comparator.comparingInt(FootballMatchView::getYear)
+						.thenComparingInt(FootballMatchView::getRound)
+						.thenComparing(FootballMatchView::getId))
+				.collect(Collectors.toList());
+	}
+}
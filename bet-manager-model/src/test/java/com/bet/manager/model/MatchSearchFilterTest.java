@@ -0,0 +1,32 @@
+package com.bet.manager.model;
+
+import com.bet.manager.model.entity.MatchStatus;
+import com.bet.manager.model.entity.PredictionType;
+import com.bet.manager.model.projection.FootballMatchView;
+import com.bet.manager.model.search.MatchSearchFilter;
+import org.junit.Assert;
+import org.junit.Test;
+
+public class MatchSearchFilterTest {
+
+	private static final FootballMatchView MATCH = new FootballMatchView(1L, "Bayern", "Dortmund", 2016, 12, null,
+			MatchStatus.FINISHED, "2-1", "Bayern", "1", PredictionType.CORRECT);
+
+	@Test
+	public void testEmptyFilterMatchesEverything() {
+		Assert.assertTrue(new MatchSearchFilter(null, null, null, null, null, null).matches(MATCH));
+	}
+
+	@Test
+	public void testFilterMatchesEveryGivenProperty() {
+		Assert.assertTrue(new MatchSearchFilter("Bayern", "Dortmund", 2016, 12, PredictionType.CORRECT,
+				MatchStatus.FINISHED).matches(MATCH));
+		Assert.assertFalse(new MatchSearchFilter("Bayern", null, 2016, 13, null, null).matches(MATCH));
+		Assert.assertFalse(new MatchSearchFilter(null, null, null, null, null, MatchStatus.STARTED).matches(MATCH));
+	}
+
+	@Test
+	public void testFilterDoesNotMatchMissingMatch() {
+		Assert.assertFalse(new MatchSearchFilter(null, null, null, null, null, null).matches(null));
+	}
+}
@@ -0,0 +1,53 @@
+package com.bet.manager.model;
+
+import com.bet.manager.model.dependency.MetaDataDependencyGraph;
+import com.bet.manager.model.entity.MatchStatus;
+import com.bet.manager.model.entity.PredictionType;
+import com.bet.manager.model.projection.FootballMatchView;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.List;
+
+public class MetaDataDependencyGraphTest {
+
+	private static final List<FootballMatchView> MATCHES = Arrays.asList(
+			match(1L, "Bayern", "Dortmund", 2016, 1),
+			match(2L, "Hamburg", "Koln", 2016, 1),
+			match(3L, "Dortmund", "Hamburg", 2016, 2),
+			match(4L, "Koln", "Bayern", 2016, 2),
+			match(5L, "Bayern", "Hamburg", 2016, 3),
+			match(6L, "Koln", "Mainz", 2016, 3),
+			match(7L, "Bayern", "Dortmund", 2017, 2));
+
+	@Test
+	public void testDependentsAreLaterMatchesOfBothTeamsInTheSeason() {
+
+		MetaDataDependencyGraph graph = MetaDataDependencyGraph.build(MATCHES);
+
+		Assert.assertEquals(new HashSet<>(Arrays.asList(3L, 4L, 5L)), graph.dependentsOf(MATCHES.get(0)));
+		Assert.assertEquals(new HashSet<>(Arrays.asList(3L, 4L, 5L, 6L)), graph.dependentsOf(MATCHES.get(1)));
+		Assert.assertEquals(new HashSet<>(Arrays.asList(5L, 6L)), graph.dependentsOf(MATCHES.get(3)));
+		Assert.assertEquals(Collections.emptySet(), graph.dependentsOf(MATCHES.get(5)));
+	}
+
+	@Test
+	public void testRemovedMatchIsNotDependent() {
+
+		MetaDataDependencyGraph graph = MetaDataDependencyGraph.build(MATCHES);
+		graph.remove(MATCHES.get(4));
+
+		Assert.assertEquals(new HashSet<>(Arrays.asList(3L, 4L)), graph.dependentsOf(MATCHES.get(0)));
+
+		graph.add(MATCHES.get(4));
+		Assert.assertEquals(new HashSet<>(Arrays.asList(3L, 4L, 5L)), graph.dependentsOf(MATCHES.get(0)));
+	}
+
+	private static FootballMatchView match(Long id, String homeTeam, String awayTeam, int year, int round) {
+		return new FootballMatchView(id, homeTeam, awayTeam, year, round, null,
+				MatchStatus.FINISHED, "1-0", homeTeam, null, PredictionType.NOT_PREDICTED);
+	}
+}
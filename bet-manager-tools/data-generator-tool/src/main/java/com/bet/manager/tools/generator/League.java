@@ -0,0 +1,89 @@
+package com.bet.manager.tools.generator;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.LocalDateTime;
+import java.time.LocalTime;
+import java.time.temporal.TemporalAdjusters;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * League of 18 teams which play each other twice in 34 rounds. The leagues are played on different
+ * days of the weekend, the season starts in August and has winter break after the first half.
+ */
+final class League {
+
+	static final int TEAMS = 18;
+	static final int ROUNDS = 2 * (TEAMS - 1);
+
+	private static final DayOfWeek[] MATCH_DAYS = { DayOfWeek.SATURDAY, DayOfWeek.SUNDAY, DayOfWeek.FRIDAY };
+	private static final LocalTime[] KICK_OFFS = { LocalTime.of(15, 30), LocalTime.of(17, 30), LocalTime.of(20, 30) };
+	private static final int WINTER_BREAK_WEEKS = 5;
+
+	private final int index;
+	private final List<Team> teams;
+
+	League(int index, List<String> teamNames, Random random) {
+		if (teamNames.size() != TEAMS)
+			throw new IllegalArgumentException("League should have " + TEAMS + " teams, not " + teamNames.size());
+
+		this.index = index;
+		this.teams = new ArrayList<>(TEAMS);
+		for (String name : teamNames)
+			teams.add(new Team(name, 0.6 * random.nextGaussian()));
+	}
+
+	List<Team> getTeams() {
+		return Collections.unmodifiableList(teams);
+	}
+
+	/**
+	 * @return kick-off of the round in the season starting in the year
+	 */
+	LocalDateTime kickOff(int year, int round) {
+
+		LocalDate firstMatchDay = LocalDate.of(year, 8, 10)
+				.with(TemporalAdjusters.nextOrSame(MATCH_DAYS[index % MATCH_DAYS.length]));
+
+		int weeks = round - 1 + (round > ROUNDS / 2 ? WINTER_BREAK_WEEKS : 0);
+		return firstMatchDay.plusWeeks(weeks).atTime(KICK_OFFS[index % KICK_OFFS.length]);
+	}
+
+	/**
+	 * Pairs of the teams, home team first, of every round by the circle method. The second half repeats
+	 * the first one with swapped venues.
+	 */
+	List<List<Team[]>> schedule(Random random) {
+
+		List<Team> order = new ArrayList<>(teams);
+		Collections.shuffle(order, random);
+
+		List<List<Team[]>> rounds = new ArrayList<>(ROUNDS);
+		for (int round = 0; round < TEAMS - 1; round++) {
+			List<Team[]> pairs = new ArrayList<>(TEAMS / 2);
+			for (int i = 0; i < TEAMS / 2; i++) {
+				Team first = order.get(i);
+				Team second = order.get(TEAMS - 1 - i);
+				// The fixed team alternates the venue, the others do by the position in the circle
+				boolean firstAtHome = i == 0 ? round % 2 == 0 : i % 2 == 1;
+				pairs.add(firstAtHome ? new Team[] { first, second } : new Team[] { second, first });
+			}
+			rounds.add(pairs);
+
+			// Rotate all but the first team
+			order.add(1, order.remove(TEAMS - 1));
+		}
+
+		for (int round = 0; round < TEAMS - 1; round++) {
+			List<Team[]> pairs = new ArrayList<>(TEAMS / 2);
+			for (Team[] pair : rounds.get(round))
+				pairs.add(new Team[] { pair[1], pair[0] });
+			rounds.add(pairs);
+		}
+
+		return rounds;
+	}
+}
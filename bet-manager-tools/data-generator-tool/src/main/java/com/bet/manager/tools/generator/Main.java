@@ -0,0 +1,92 @@
+package com.bet.manager.tools.generator;
+
+import com.bet.manager.core.TeamsMapping;
+import com.bet.manager.model.entity.FootballMatch;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.TreeMap;
+import java.util.stream.Collectors;
+
+public class Main {
+
+	private static final Logger LOG = LoggerFactory.getLogger(Main.class);
+
+	private static final long DEFAULT_SEED = 42;
+	private static final double PREDICTED_SHARE = 0.8;
+
+	public static void main(String[] args) throws SQLException {
+
+		if (args.length < 4 || args.length > 5)
+			throw new IllegalArgumentException("Arguments cannot be less than 4 or more than 5.");
+
+		String jdbcUrl = withBatchRewrite(args[0]);
+		int startYear = Integer.parseInt(args[1]);
+		int endYear = Integer.parseInt(args[2]);
+		int leagues = Integer.parseInt(args[3]);
+		long seed = args.length == 5 ? Long.parseLong(args[4]) : DEFAULT_SEED;
+
+		if (endYear < startYear || leagues < 1)
+			throw new IllegalArgumentException("Expected start year not after the end year and at least one league.");
+
+		Random random = new Random(seed);
+		List<League> allLeagues = new ArrayList<>(leagues);
+		for (int i = 0; i < leagues; i++)
+			allLeagues.add(new League(i, teamNames(i), random));
+
+		SeasonGenerator generator = new SeasonGenerator(random, LocalDateTime.now(), PREDICTED_SHARE);
+
+		long matches = 0;
+		long start = System.nanoTime();
+
+		try (MatchBatchLoader loader = new MatchBatchLoader(DriverManager.getConnection(jdbcUrl,
+				System.getProperty("db.username"), System.getProperty("db.password")))) {
+
+			for (int year = startYear; year <= endYear; year++) {
+				for (League league : allLeagues) {
+					List<FootballMatch> season = generator.play(league, year);
+					loader.load(season);
+					matches += season.size();
+				}
+				LOG.info("Loaded season {}, {} matches so far", year, matches);
+			}
+		}
+
+		double seconds = (System.nanoTime() - start) / 1e9;
+		LOG.info("Loaded {} matches of {} leagues in {} seconds ({} matches/s)", matches, leagues,
+				String.format("%.1f", seconds), String.format("%.0f", matches / seconds));
+	}
+
+	/**
+	 * The first league has the Bundesliga teams, so their names are known to the crawled sources
+	 */
+	private static List<String> teamNames(int league) {
+
+		if (league == 0)
+			return new TreeMap<>(TeamsMapping.bundesligaIdToName).values().stream()
+					.distinct()
+					.limit(League.TEAMS)
+					.collect(Collectors.toList());
+
+		List<String> names = new ArrayList<>(League.TEAMS);
+		for (int i = 1; i <= League.TEAMS; i++)
+			names.add(String.format("League %d Club %02d", league + 1, i));
+		return names;
+	}
+
+	/**
+	 * Connector/J sends the batch as single multi-row insert only with this property
+	 */
+	private static String withBatchRewrite(String jdbcUrl) {
+		if (jdbcUrl.contains("rewriteBatchedStatements"))
+			return jdbcUrl;
+
+		return jdbcUrl + (jdbcUrl.contains("?") ? "&" : "?") + "rewriteBatchedStatements=true";
+	}
+}
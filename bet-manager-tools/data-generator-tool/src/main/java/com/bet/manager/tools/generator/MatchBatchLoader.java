@@ -0,0 +1,141 @@
+package com.bet.manager.tools.generator;
+
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.entity.MatchMetaData;
+
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.sql.Connection;
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.sql.Timestamp;
+import java.sql.Types;
+import java.time.LocalDateTime;
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.List;
+
+/**
+ * Inserts the matches and their metadata with JDBC batches, one transaction per load, bypassing the
+ * persistence context. The tables must be created by the api before. The ids are generated by the auto
+ * increment columns of the database, like the api does, so the load does not collide with other writers.
+ * <p>
+ * The metadata maps are serialized like Hibernate does for the serializable lob columns and the enums are
+ * stored by their ordinal.
+ */
+final class MatchBatchLoader implements AutoCloseable {
+
+	private static final String INSERT_METADATA =
+			"INSERT INTO match_metadata (firstTeamMetaData, secondTeamMetaData) VALUES (?, ?)";
+
+	private static final String INSERT_MATCH = "INSERT INTO matches (home_team, away_team, year, round, " +
+			"start_date, date_created, last_modified, matchStatus, metadata_id, result, winner, prediction, " +
+			"predictionType) VALUES (?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?, ?)";
+
+	private final Connection connection;
+	private final PreparedStatement insertMetaData;
+	private final PreparedStatement insertMatch;
+
+	MatchBatchLoader(Connection connection) throws SQLException {
+		this.connection = connection;
+		connection.setAutoCommit(false);
+
+		insertMetaData = connection.prepareStatement(INSERT_METADATA, Statement.RETURN_GENERATED_KEYS);
+		insertMatch = connection.prepareStatement(INSERT_MATCH);
+	}
+
+	void load(List<FootballMatch> matches) throws SQLException {
+
+		try {
+			// The metadata is referenced by the matches, so it is inserted first for the generated ids
+			Deque<Long> metaDataIds = insertMetaData(matches);
+
+			for (FootballMatch match : matches) {
+				insertMatch.setString(1, match.getHomeTeam());
+				insertMatch.setString(2, match.getAwayTeam());
+				insertMatch.setInt(3, match.getYear());
+				insertMatch.setInt(4, match.getRound());
+				insertMatch.setTimestamp(5, timestamp(match.getStartDate()));
+				insertMatch.setTimestamp(6, timestamp(match.getDateCreated()));
+				insertMatch.setTimestamp(7, timestamp(match.getLastModified()));
+				insertMatch.setInt(8, match.getMatchStatus().ordinal());
+				if (match.getMatchMetaData() == null)
+					insertMatch.setNull(9, Types.BIGINT);
+				else
+					insertMatch.setLong(9, metaDataIds.removeFirst());
+				insertMatch.setString(10, match.getResult());
+				insertMatch.setString(11, match.getWinner());
+				insertMatch.setString(12, match.getPrediction());
+				insertMatch.setInt(13, match.getPredictionType().ordinal());
+				insertMatch.addBatch();
+			}
+
+			insertMatch.executeBatch();
+			connection.commit();
+		} catch (SQLException e) {
+			connection.rollback();
+			throw e;
+		}
+	}
+
+	@Override
+	public void close() throws SQLException {
+		try {
+			insertMetaData.close();
+			insertMatch.close();
+		} finally {
+			connection.close();
+		}
+	}
+
+	/**
+	 * @return the generated ids of the metadata in the order of the matches
+	 */
+	private Deque<Long> insertMetaData(List<FootballMatch> matches) throws SQLException {
+
+		int count = 0;
+		for (FootballMatch match : matches) {
+			MatchMetaData metaData = match.getMatchMetaData();
+			if (metaData == null)
+				continue;
+
+			insertMetaData.setBytes(1, serialize(metaData.getFirstTeamMetaData()));
+			insertMetaData.setBytes(2, serialize(metaData.getSecondTeamMetaData()));
+			insertMetaData.addBatch();
+			count++;
+		}
+
+		Deque<Long> ids = new ArrayDeque<>(count);
+		if (count == 0)
+			return ids;
+
+		insertMetaData.executeBatch();
+		try (ResultSet keys = insertMetaData.getGeneratedKeys()) {
+			while (keys.next())
+				ids.addLast(keys.getLong(1));
+		}
+
+		if (ids.size() != count)
+			throw new SQLException("Expected " + count + " generated metadata ids, but got " + ids.size());
+
+		return ids;
+	}
+
+	private static Timestamp timestamp(LocalDateTime dateTime) {
+		return dateTime == null ? null : Timestamp.valueOf(dateTime);
+	}
+
+	private static byte[] serialize(Serializable value) {
+		ByteArrayOutputStream bytes = new ByteArrayOutputStream(1024);
+		try (ObjectOutputStream out = new ObjectOutputStream(bytes)) {
+			out.writeObject(value);
+		} catch (IOException e) {
+			throw new IllegalStateException("Cannot serialize the metadata " + value, e);
+		}
+		return bytes.toByteArray();
+	}
+}
@@ -0,0 +1,148 @@
+package com.bet.manager.tools.generator;
+
+import com.bet.manager.commons.ResultMessages;
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.entity.MatchMetaData;
+import com.bet.manager.model.entity.MatchStatus;
+import com.bet.manager.model.util.FootballMatchBuilder;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+
+/**
+ * Plays the seasons of a league. The goals are Poisson distributed by the strength of the teams and the
+ * home advantage, so the standings and the form are consistent with the results. The metadata of every
+ * match is the standing and the form of both teams after the previous round, like the crawled one, so
+ * the first round has no metadata. The matches kicking off after now are not started.
+ */
+final class SeasonGenerator {
+
+	private static final double HOME_GOALS = 1.55;
+	private static final double AWAY_GOALS = 1.15;
+	private static final double STRENGTH_EFFECT = 0.4;
+
+	private static final Comparator<Team> STANDING = Comparator.comparingInt(Team::getPoints)
+			.thenComparingInt(Team::getGoalDifference)
+			.thenComparingInt(Team::getGoalsFor)
+			.reversed()
+			.thenComparing(Team::getName);
+
+	private final Random random;
+	private final LocalDateTime now;
+	private final double predictedShare;
+
+	/**
+	 * @param predictedShare share of the matches with metadata which are predicted
+	 */
+	SeasonGenerator(Random random, LocalDateTime now, double predictedShare) {
+		this.random = random;
+		this.now = now;
+		this.predictedShare = predictedShare;
+	}
+
+	List<FootballMatch> play(League league, int year) {
+
+		for (Team team : league.getTeams())
+			team.newSeason(random);
+
+		List<List<Team[]>> schedule = league.schedule(random);
+		List<FootballMatch> matches = new ArrayList<>(League.ROUNDS * League.TEAMS / 2);
+
+		for (int round = 1; round <= League.ROUNDS; round++) {
+			LocalDateTime kickOff = league.kickOff(year, round);
+			// The metadata is known once the previous round is played
+			boolean previousRoundPlayed = round > 1 && league.kickOff(year, round - 1).isBefore(now);
+			boolean played = kickOff.isBefore(now);
+
+			for (Team[] pair : schedule.get(round - 1))
+				matches.add(match(pair[0], pair[1], year, round, kickOff, previousRoundPlayed, played));
+
+			if (played)
+				updatePositions(league);
+		}
+
+		return matches;
+	}
+
+	private FootballMatch match(Team home, Team away, int year, int round, LocalDateTime kickOff,
+			boolean withMetaData, boolean played) {
+
+		FootballMatchBuilder builder = new FootballMatchBuilder()
+				.setHomeTeamName(home.getName())
+				.setAwayTeamName(away.getName())
+				.setYear(year)
+				.setRound(round)
+				.setStartDate(kickOff);
+
+		if (withMetaData) {
+			MatchMetaData metaData = new MatchMetaData();
+			metaData.setFirstTeamMetaData(home.metaData());
+			metaData.setSecondTeamMetaData(away.metaData());
+			builder.setMatchMetaData(metaData);
+
+			if (random.nextDouble() < predictedShare)
+				builder.setPrediction(predict(home, away));
+		}
+
+		if (!played)
+			return builder.setStatus(MatchStatus.NOT_STARTED).setResult(ResultMessages.UNKNOWN_RESULT).build();
+
+		double difference = home.getStrength() - away.getStrength();
+		int homeGoals = poisson(HOME_GOALS * Math.exp(STRENGTH_EFFECT * difference));
+		int awayGoals = poisson(AWAY_GOALS * Math.exp(-STRENGTH_EFFECT * difference));
+
+		home.played(homeGoals, awayGoals, roundStats(home));
+		away.played(awayGoals, homeGoals, roundStats(away));
+
+		return builder.setStatus(MatchStatus.FINISHED).setResult(homeGoals + "-" + awayGoals).build();
+	}
+
+	/**
+	 * Naive prediction by the standing, so part of the predictions are correct and part are not
+	 */
+	private static String predict(Team home, Team away) {
+		int difference = home.getPosition() - away.getPosition();
+		if (difference > 3)
+			return away.getName();
+		if (difference >= -1)
+			return ResultMessages.TIE_RESULT;
+		return home.getName();
+	}
+
+	private Map<String, Integer> roundStats(Team team) {
+		Map<String, Integer> stats = new LinkedHashMap<>();
+		stats.put("distance", gaussian(115000, 5000));
+		stats.put("sprints", gaussian(200, 30));
+		stats.put("passes", gaussian(450 + 60 * team.getStrength(), 60));
+		stats.put("shots", gaussian(12 + 3 * team.getStrength(), 4));
+		stats.put("fouls", gaussian(15, 4));
+		return stats;
+	}
+
+	private static void updatePositions(League league) {
+		List<Team> standing = new ArrayList<>(league.getTeams());
+		standing.sort(STANDING);
+		for (int i = 0; i < standing.size(); i++)
+			standing.get(i).setPosition(i + 1);
+	}
+
+	private int gaussian(double mean, double deviation) {
+		return (int) Math.max(0, Math.round(mean + deviation * random.nextGaussian()));
+	}
+
+	private int poisson(double mean) {
+		double limit = Math.exp(-mean);
+		double product = random.nextDouble();
+		int goals = 0;
+		while (product > limit) {
+			product *= random.nextDouble();
+			goals++;
+		}
+		return goals;
+	}
+}
@@ -0,0 +1,125 @@
+package com.bet.manager.tools.generator;
+
+import java.util.ArrayDeque;
+import java.util.Deque;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Random;
+import java.util.TreeMap;
+
+/**
+ * Team of a generated league. The strength is kept between the seasons and drifts a bit every season,
+ * the standing and the form are of the current season.
+ */
+final class Team {
+
+	private static final int FORM_MATCHES = 5;
+
+	private final String name;
+	private double strength;
+
+	private int points;
+	private int goalsFor;
+	private int goalsAgainst;
+	private int position;
+	private Map<String, Integer> lastRoundStats;
+	// Goals scored and conceded in the last matches, the oldest first
+	private final Deque<int[]> form = new ArrayDeque<>(FORM_MATCHES);
+
+	Team(String name, double strength) {
+		this.name = name;
+		this.strength = strength;
+	}
+
+	void newSeason(Random random) {
+		strength = 0.8 * strength + 0.3 * random.nextGaussian();
+		points = 0;
+		goalsFor = 0;
+		goalsAgainst = 0;
+		position = 0;
+		lastRoundStats = null;
+		form.clear();
+	}
+
+	void played(int scored, int conceded, Map<String, Integer> stats) {
+		goalsFor += scored;
+		goalsAgainst += conceded;
+		points += scored > conceded ? 3 : scored == conceded ? 1 : 0;
+		lastRoundStats = stats;
+
+		if (form.size() == FORM_MATCHES)
+			form.removeFirst();
+		form.addLast(new int[] { scored, conceded });
+	}
+
+	/**
+	 * @return the metadata of the team before the next round, in the same structure as the crawled one
+	 */
+	TreeMap<String, Object> metaData() {
+
+		TreeMap<String, Object> metaData = new TreeMap<>();
+		metaData.put("position", position);
+		metaData.put("points", points);
+		metaData.put("goalDifference", getGoalDifference());
+		metaData.put("previousRoundStats", new LinkedHashMap<>(lastRoundStats));
+		metaData.put("lastFiveGames", lastFiveGames());
+		return metaData;
+	}
+
+	private Map<String, Integer> lastFiveGames() {
+
+		Map<String, Integer> histogram = new LinkedHashMap<>();
+		histogram.put("hugeWins", 0);
+		histogram.put("hugeLoses", 0);
+		histogram.put("wins", 0);
+		histogram.put("loses", 0);
+		histogram.put("draws", 0);
+
+		for (int[] goals : form) {
+			int difference = goals[0] - goals[1];
+			String key;
+			if (difference > 1)
+				key = "hugeWins";
+			else if (difference == 1)
+				key = "wins";
+			else if (difference == 0)
+				key = "draws";
+			else if (difference == -1)
+				key = "loses";
+			else
+				key = "hugeLoses";
+
+			histogram.put(key, histogram.get(key) + 1);
+		}
+
+		return histogram;
+	}
+
+	String getName() {
+		return name;
+	}
+
+	double getStrength() {
+		return strength;
+	}
+
+	int getPoints() {
+		return points;
+	}
+
+	int getGoalsFor() {
+		return goalsFor;
+	}
+
+	int getGoalDifference() {
+		return goalsFor - goalsAgainst;
+	}
+
+	int getPosition() {
+		return position;
+	}
+
+	void setPosition(int position) {
+		this.position = position;
+	}
+}
@@ -0,0 +1,167 @@
+package com.bet.manager.tools.generator;
+
+import com.bet.manager.model.entity.FootballMatch;
+import com.bet.manager.model.entity.MatchMetaData;
+import com.bet.manager.model.entity.MatchStatus;
+import org.junit.Assert;
+import org.junit.Test;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+import java.util.TreeMap;
+
+public class SeasonGeneratorTest {
+
+	private static final int YEAR = 2015;
+	// All matches of the season are played
+	private static final LocalDateTime NOW = LocalDateTime.of(YEAR + 1, 12, 31, 0, 0);
+
+	@Test
+	public void testEveryTeamPlaysEveryOtherOnceAtHomeAndOnceAway() {
+
+		List<FootballMatch> matches = play(42);
+		Assert.assertEquals(League.ROUNDS * League.TEAMS / 2, matches.size());
+
+		Set<String> fixtures = new HashSet<>();
+		Map<Integer, Set<String>> teamsByRound = new HashMap<>();
+
+		for (FootballMatch match : matches) {
+			Assert.assertFalse(match.getHomeTeam().equals(match.getAwayTeam()));
+			Assert.assertTrue("Duplicate fixture " + match.getHomeTeam() + " - " + match.getAwayTeam(),
+					fixtures.add(match.getHomeTeam() + " - " + match.getAwayTeam()));
+
+			Set<String> teams = teamsByRound.computeIfAbsent(match.getRound(), round -> new HashSet<>());
+			Assert.assertTrue(teams.add(match.getHomeTeam()));
+			Assert.assertTrue(teams.add(match.getAwayTeam()));
+		}
+
+		Assert.assertEquals(League.TEAMS * (League.TEAMS - 1), fixtures.size());
+		Assert.assertEquals(League.ROUNDS, teamsByRound.size());
+		for (Set<String> teams : teamsByRound.values())
+			Assert.assertEquals(League.TEAMS, teams.size());
+	}
+
+	@Test
+	public void testMetaDataIsConsistentWithThePreviousResults() {
+
+		List<FootballMatch> matches = play(7);
+		Map<String, int[]> table = new HashMap<>();
+
+		for (int round = 1; round <= League.ROUNDS; round++) {
+			Map<String, Integer> positions = positions(table);
+
+			for (FootballMatch match : round(matches, round)) {
+				Assert.assertEquals(MatchStatus.FINISHED, match.getMatchStatus());
+
+				MatchMetaData metaData = match.getMatchMetaData();
+				if (round == 1) {
+					Assert.assertNull(metaData);
+				} else {
+					assertStanding(table, positions, match.getHomeTeam(), metaData.getFirstTeamMetaData());
+					assertStanding(table, positions, match.getAwayTeam(), metaData.getSecondTeamMetaData());
+				}
+			}
+
+			for (FootballMatch match : round(matches, round)) {
+				String[] goals = match.getResult().split("-");
+				int home = Integer.parseInt(goals[0]);
+				int away = Integer.parseInt(goals[1]);
+				record(table, match.getHomeTeam(), home, away);
+				record(table, match.getAwayTeam(), away, home);
+			}
+		}
+	}
+
+	@Test
+	public void testTheSameSeedGeneratesTheSameSeason() {
+
+		List<FootballMatch> first = play(123);
+		List<FootballMatch> second = play(123);
+
+		Assert.assertEquals(first.size(), second.size());
+		for (int i = 0; i < first.size(); i++) {
+			FootballMatch expected = first.get(i);
+			FootballMatch actual = second.get(i);
+
+			Assert.assertEquals(expected.getHomeTeam(), actual.getHomeTeam());
+			Assert.assertEquals(expected.getAwayTeam(), actual.getAwayTeam());
+			Assert.assertEquals(expected.getRound(), actual.getRound());
+			Assert.assertEquals(expected.getStartDate(), actual.getStartDate());
+			Assert.assertEquals(expected.getResult(), actual.getResult());
+			Assert.assertEquals(expected.getPrediction(), actual.getPrediction());
+			Assert.assertEquals(expected.getMatchMetaData(), actual.getMatchMetaData());
+		}
+	}
+
+	@Test
+	public void testMatchesAfterNowAreNotStarted() {
+
+		Random random = new Random(1);
+		League league = new League(0, teamNames(), random);
+		LocalDateTime now = league.kickOff(YEAR, 10).minusHours(1);
+
+		for (FootballMatch match : new SeasonGenerator(random, now, 1).play(league, YEAR))
+			Assert.assertEquals(match.getRound() < 10 ? MatchStatus.FINISHED : MatchStatus.NOT_STARTED,
+					match.getMatchStatus());
+	}
+
+	private static List<FootballMatch> play(long seed) {
+		Random random = new Random(seed);
+		League league = new League(0, teamNames(), random);
+		return new SeasonGenerator(random, NOW, 0.8).play(league, YEAR);
+	}
+
+	private static List<String> teamNames() {
+		List<String> names = new ArrayList<>(League.TEAMS);
+		for (int i = 1; i <= League.TEAMS; i++)
+			names.add(String.format("Club %02d", i));
+		return names;
+	}
+
+	private static List<FootballMatch> round(List<FootballMatch> matches, int round) {
+		List<FootballMatch> result = new ArrayList<>();
+		for (FootballMatch match : matches)
+			if (match.getRound() == round)
+				result.add(match);
+		return result;
+	}
+
+	/**
+	 * Points, goals for and goals against of the team
+	 */
+	private static void record(Map<String, int[]> table, String team, int scored, int conceded) {
+		int[] row = table.computeIfAbsent(team, name -> new int[3]);
+		row[0] += scored > conceded ? 3 : scored == conceded ? 1 : 0;
+		row[1] += scored;
+		row[2] += conceded;
+	}
+
+	private static Map<String, Integer> positions(Map<String, int[]> table) {
+		List<String> teams = new ArrayList<>(table.keySet());
+		teams.sort(Comparator.<String> comparingInt(team -> -table.get(team)[0])
+				.thenComparingInt(team -> table.get(team)[2] - table.get(team)[1])
+				.thenComparingInt(team -> -table.get(team)[1])
+				.thenComparing(team -> team));
+
+		Map<String, Integer> positions = new HashMap<>();
+		for (int i = 0; i < teams.size(); i++)
+			positions.put(teams.get(i), i + 1);
+		return positions;
+	}
+
+	private static void assertStanding(Map<String, int[]> table, Map<String, Integer> positions, String team,
+			TreeMap<String, Object> metaData) {
+
+		int[] row = table.get(team);
+		Assert.assertEquals(team, row[0], metaData.get("points"));
+		Assert.assertEquals(team, row[1] - row[2], metaData.get("goalDifference"));
+		Assert.assertEquals(team, positions.get(team), metaData.get("position"));
+	}
+}